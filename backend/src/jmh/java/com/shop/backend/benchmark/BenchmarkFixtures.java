@@ -0,0 +1,97 @@
+package com.shop.backend.benchmark;
+
+import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.entity.ChatRoom;
+import com.shop.backend.entity.Order;
+import com.shop.backend.entity.OrderItem;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.Review;
+import com.shop.backend.entity.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크용 엔티티 생성 (DB 없이 메모리에서만 구성)
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .email("user" + id + "@shop.com")
+                .password("password")
+                .role("USER")
+                .build();
+    }
+
+    static Product product(long id, User seller) {
+        Product product = Product.builder()
+                .id(id)
+                .name("상품 " + id)
+                .price(10_000 + (int) id)
+                .description("벤치마크용 상품 설명입니다. 상품 번호 " + id)
+                .stock(100)
+                .thumbnail("https://res.cloudinary.com/demo/image/upload/product-" + id + ".jpg")
+                .category("전자기기")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id))
+                .createdBy(seller)
+                .build();
+        // 별점 집계는 DB에서만 갱신되므로 필드를 직접 채운다
+        ReflectionTestUtils.setField(product.getRating(), "count", 3);
+        ReflectionTestUtils.setField(product.getRating(), "sum", 12L);
+        ReflectionTestUtils.setField(product.getRating(), "star4", 3);
+        return product;
+    }
+
+    static List<Product> products(int count) {
+        User seller = user(1L);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(product(i, seller));
+        }
+        return products;
+    }
+
+    static Order order(long id, int itemCount) {
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (Product product : products(itemCount)) {
+            items.add(OrderItem.createReservedOrderItem(product, 2));
+        }
+        Order order = Order.createOrder(user(2L), items);
+        order.setId(id);
+        order.setOrderDate(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return order;
+    }
+
+    static Review review(long id) {
+        Review review = new Review();
+        review.setId(id);
+        review.setUser(user(2L));
+        review.setProduct(product(1L, user(1L)));
+        review.setContent("배송도 빠르고 품질도 좋아요.");
+        review.setRating(5);
+        review.setCreatedAt(LocalDateTime.of(2025, 1, 2, 9, 30));
+        return review;
+    }
+
+    static ChatMessage chatMessage(long id) {
+        User buyer = user(2L);
+        ChatRoom room = ChatRoom.builder()
+                .product(product(1L, user(1L)))
+                .buyer(buyer)
+                .build();
+        ChatMessage message = ChatMessage.builder()
+                .chatRoom(room)
+                .sender(buyer)
+                .message("안녕하세요, 재고 있나요?")
+                .build();
+        ReflectionTestUtils.setField(message, "id", id);
+        ReflectionTestUtils.setField(message, "createdAt", LocalDateTime.of(2025, 1, 3, 18, 0));
+        return message;
+    }
+}
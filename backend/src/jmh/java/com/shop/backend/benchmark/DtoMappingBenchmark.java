@@ -0,0 +1,64 @@
+package com.shop.backend.benchmark;
+
+import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.entity.Order;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.Review;
+import com.shop.backend.response.ChatMessageResponse;
+import com.shop.backend.response.OrderResponse;
+import com.shop.backend.response.ProductResponse;
+import com.shop.backend.response.ReviewResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 엔티티 -> 응답 DTO 변환 비용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private Product product;
+    private List<Product> productPage;
+    private Order order;
+    private Review review;
+    private ChatMessage chatMessage;
+
+    @Setup
+    public void setUp() {
+        productPage = BenchmarkFixtures.products(20);
+        product = productPage.get(0);
+        order = BenchmarkFixtures.order(1L, 5);
+        review = BenchmarkFixtures.review(1L);
+        chatMessage = BenchmarkFixtures.chatMessage(1L);
+    }
+
+    @Benchmark
+    public ProductResponse productResponse() {
+        return new ProductResponse(product);
+    }
+
+    @Benchmark
+    public List<ProductResponse> productResponsePage() {
+        return productPage.stream().map(ProductResponse::new).toList();
+    }
+
+    @Benchmark
+    public OrderResponse orderResponse() {
+        return new OrderResponse(order);
+    }
+
+    @Benchmark
+    public ReviewResponse reviewResponse() {
+        return new ReviewResponse(review, true);
+    }
+
+    @Benchmark
+    public ChatMessageResponse chatMessageResponse() {
+        return new ChatMessageResponse(chatMessage);
+    }
+}
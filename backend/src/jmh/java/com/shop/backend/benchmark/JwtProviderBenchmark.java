@@ -0,0 +1,45 @@
+package com.shop.backend.benchmark;
+
+import com.shop.backend.security.JwtProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// JWT 발급/검증 비용 (요청마다 필터에서 수행되는 경로)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtProviderBenchmark {
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider(null);
+        ReflectionTestUtils.setField(jwtProvider, "jwtSecretString",
+                "benchmark-secret-key-benchmark-secret-key-benchmark-secret-key-benchmark-secret-key");
+        ReflectionTestUtils.setField(jwtProvider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtProvider, "init");
+        token = jwtProvider.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtProvider.getUsernameFromToken(token);
+    }
+}
@@ -0,0 +1,44 @@
+package com.shop.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.backend.response.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET /products 응답(Page<ProductResponse>) JSON 직렬화 비용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ProductResponse> page;
+
+    @Setup
+    public void setUp() {
+        // 스프링 부트와 같은 기본 설정 (JavaTimeModule 등록, 날짜를 문자열로 출력)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ProductResponse> content = BenchmarkFixtures.products(pageSize).stream()
+                .map(ProductResponse::new)
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
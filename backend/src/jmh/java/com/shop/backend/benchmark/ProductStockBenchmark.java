@@ -0,0 +1,106 @@
+package com.shop.backend.benchmark;
+
+import com.shop.backend.entity.Product;
+import com.shop.backend.service.StockReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 인기 상품 하나에 주문이 몰릴 때의 재고 차감 비용
+// - synchronizedRemoveStock: Product.removeStock을 한 번에 하나씩 (DB 행 잠금으로 직렬화되는 경우와 같은 형태)
+// - casReserve: 실제 StockReservationService.reserve (CAS 선점 + 확정 대기열 적재, DB는 최초 재고 조회만 하는 stub)
+// - uncontendedRemoveStock: 스레드마다 다른 상품 (경합 없는 기준값)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ProductStockBenchmark {
+
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE;
+
+    @State(Scope.Benchmark)
+    public static class SharedProduct {
+        Product product;
+        StockReservationService stockReservationService;
+        Map<Long, Integer> order;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            product = BenchmarkFixtures.product(1L, BenchmarkFixtures.user(1L));
+            product.setStock(INITIAL_STOCK);
+            // 트랜잭션 밖에서 호출하므로 선점 직후 바로 확정된다. flush는 호출하지 않아 상품 조회/이벤트 발행은 쓰이지 않는다
+            stockReservationService = new StockReservationService(null, new StockJdbcStub(), event -> { }, null, true, "none");
+            order = Map.of(product.getId(), 1);
+            stockReservationService.reserve(order); // 카운터를 미리 채워 둔다
+        }
+    }
+
+    // 최초 재고 조회(SELECT id, stock ...)에만 응답하는 JdbcTemplate
+    // 차감 기록(INSERT)은 주문 트랜잭션에 함께 실리는 DB 비용이므로 여기서는 아무것도 하지 않는다 (메모리 선점 비용만 측정)
+    static class StockJdbcStub extends JdbcTemplate {
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            return new int[batchArgs.size()];
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            for (Object id : args) {
+                try {
+                    rch.processRow(stockRow((Long) id));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        private static ResultSet stockRow(Long id) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, methodArgs) -> switch (method.getName()) {
+                        case "getLong" -> id;
+                        case "getInt" -> INITIAL_STOCK;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadProduct {
+        Product product;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            product = BenchmarkFixtures.product(1L, BenchmarkFixtures.user(1L));
+            product.setStock(INITIAL_STOCK);
+        }
+    }
+
+    @Benchmark
+    public int synchronizedRemoveStock(SharedProduct shared) {
+        synchronized (shared.product) {
+            shared.product.removeStock(1);
+            return shared.product.getStock();
+        }
+    }
+
+    @Benchmark
+    public void casReserve(SharedProduct shared) {
+        shared.stockReservationService.reserve(shared.order);
+    }
+
+    @Benchmark
+    public int uncontendedRemoveStock(ThreadProduct local) {
+        local.product.removeStock(1);
+        return local.product.getStock();
+    }
+}
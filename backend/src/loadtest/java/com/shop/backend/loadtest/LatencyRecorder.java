@@ -0,0 +1,58 @@
+package com.shop.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// 엔드포인트 하나의 응답 시간 기록 (측정 구간 동안의 모든 샘플을 보관하여 정확한 백분위를 계산)
+final class LatencyRecorder {
+
+    record Summary(String endpoint, long count, long errors, double throughputPerSecond,
+                   double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    private final String endpoint;
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    synchronized void record(long elapsedNanos, boolean success) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = elapsedNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(
+                endpoint,
+                size,
+                errors,
+                size / elapsedSeconds,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                percentile(sorted, 0.99),
+                size == 0 ? 0 : toMillis(sorted[size - 1])
+        );
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(index, 0)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,34 @@
+package com.shop.backend.loadtest;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 엔드포인트별 LatencyRecorder 모음 (워밍업 중에는 기록하지 않는다)
+final class LoadMetrics {
+
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        if (recording) {
+            recorders.computeIfAbsent(endpoint, LatencyRecorder::new).record(elapsedNanos, success);
+        }
+    }
+
+    List<LatencyRecorder.Summary> summarize(double elapsedSeconds) {
+        return recorders.values().stream()
+                .map(recorder -> recorder.summarize(elapsedSeconds))
+                .sorted(Comparator.comparing(LatencyRecorder.Summary::endpoint))
+                .toList();
+    }
+}
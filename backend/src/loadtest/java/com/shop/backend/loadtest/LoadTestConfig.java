@@ -0,0 +1,18 @@
+package com.shop.backend.loadtest;
+
+import com.shop.backend.service.CloudinaryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+// 부하 테스트용 빈 교체
+@Configuration
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public CloudinaryService stubCloudinaryService(@Value("${loadtest.upload-latency-ms:50}") long latencyMs) {
+        return new StubCloudinaryService(latencyMs);
+    }
+}
@@ -0,0 +1,226 @@
+package com.shop.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shop.backend.BackendApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 부하 테스트 실행기
+// 1. BackendApplication을 loadtest 프로필(내장 H2, Cloudinary 스텁)로 띄운다
+// 2. 판매자/상품/구매자/채팅방을 HTTP로 준비한다
+// 3. 가상 사용자들이 정해진 비율로 요청을 보내고, 워밍업 이후 구간의 응답 시간을 엔드포인트별로 기록한다
+// 4. p50/p95/p99와 처리량을 출력하고 JSON 파일로 저장한다
+//
+// 실행: mvn -Pload-test verify -Dloadtest.users=50 -Dloadtest.duration-seconds=60
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String[] CATEGORIES = {"전자기기", "의류", "식품", "도서", "생활용품"};
+
+    // 요청 비율 (합계 100)
+    enum Operation {
+        BROWSE(55),
+        PRODUCT_DETAIL(10),
+        CART_ADD(15),
+        CHECKOUT(8),
+        REVIEW(5),
+        CHAT(7);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int roll) {
+            int cumulative = 0;
+            for (Operation operation : values()) {
+                cumulative += operation.weight;
+                if (roll < cumulative) {
+                    return operation;
+                }
+            }
+            return BROWSE;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int productCount = Integer.getInteger("loadtest.products", 200);
+        long thinkTimeMs = Long.getLong("loadtest.think-time-ms", 10);
+        File resultFile = new File(System.getProperty("loadtest.result-file", "target/loadtest-result.json"));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class, LoadTestConfig.class)
+                .profiles("loadtest")
+                .run(args);
+        int exitCode = 0;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            log.info("부하 테스트 대상: {} (사용자 {}명, 워밍업 {}초, 측정 {}초)", baseUrl, users, warmupSeconds, durationSeconds);
+
+            ObjectMapper objectMapper = new ObjectMapper();
+            LoadMetrics metrics = new LoadMetrics();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            ShopApiClient api = new ShopApiClient(httpClient, objectMapper, baseUrl, metrics);
+
+            // --- 데이터 준비 ---
+            String sellerToken = api.signupAndLogin("seller");
+            List<Long> productIds = new ArrayList<>(productCount);
+            for (int i = 0; i < productCount; i++) {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("name", "부하 테스트 상품 " + i);
+                data.put("price", 1_000 + ThreadLocalRandom.current().nextInt(100_000));
+                data.put("description", "부하 테스트용 상품입니다.");
+                data.put("stock", 1_000_000);
+                data.put("category", CATEGORIES[i % CATEGORIES.length]);
+                productIds.add(api.createProduct(sellerToken, data));
+            }
+
+            WebSocketStompClient stompClient = StompChatClient.createStompClient();
+            List<VirtualUser> virtualUsers = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                String token = api.signupAndLogin("buyer" + i);
+                long roomId = api.createChatRoom(token, productIds.get(i % productIds.size()));
+                StompChatClient chat = new StompChatClient(metrics, roomId);
+                chat.connect(stompClient, baseUrl, token);
+                virtualUsers.add(new VirtualUser(api, chat, token, productIds, thinkTimeMs));
+            }
+            log.info("데이터 준비 완료: 상품 {}개, 사용자 {}명", productIds.size(), virtualUsers.size());
+
+            // --- 부하 ---
+            Instant measureStart = Instant.now().plusSeconds(warmupSeconds);
+            Instant end = measureStart.plusSeconds(durationSeconds);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (VirtualUser user : virtualUsers) {
+                    executor.submit(() -> user.runUntil(end));
+                }
+                TimeUnit.SECONDS.sleep(warmupSeconds);
+                metrics.startRecording();
+                long recordingStart = System.nanoTime();
+                TimeUnit.MILLISECONDS.sleep(Duration.between(Instant.now(), end).toMillis());
+                metrics.stopRecording();
+                double elapsedSeconds = (System.nanoTime() - recordingStart) / 1e9;
+
+                List<LatencyRecorder.Summary> summaries = metrics.summarize(elapsedSeconds);
+                printReport(summaries, elapsedSeconds);
+                writeReport(objectMapper, resultFile, summaries, users, elapsedSeconds);
+            }
+            virtualUsers.forEach(user -> user.chat.disconnect());
+        } catch (Exception e) {
+            log.error("부하 테스트 실패", e);
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static void printReport(List<LatencyRecorder.Summary> summaries, double elapsedSeconds) {
+        StringBuilder report = new StringBuilder(String.format("%n측정 구간 %.1f초%n", elapsedSeconds));
+        report.append(String.format("%-30s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+        for (LatencyRecorder.Summary s : summaries) {
+            report.append(String.format("%-30s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.endpoint(), s.count(), s.errors(), s.throughputPerSecond(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+        }
+        System.out.println(report);
+    }
+
+    private static void writeReport(ObjectMapper objectMapper, File resultFile, List<LatencyRecorder.Summary> summaries,
+                                    int users, double elapsedSeconds) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("users", users);
+        result.put("durationSeconds", elapsedSeconds);
+        result.put("endpoints", summaries);
+
+        File parent = resultFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, result);
+        log.info("결과 저장: {}", resultFile.getAbsolutePath());
+    }
+
+    // 가상 사용자 한 명: 종료 시각까지 요청 비율에 따라 요청을 반복한다
+    private static final class VirtualUser {
+        private final ShopApiClient api;
+        private final StompChatClient chat;
+        private final String token;
+        private final List<Long> productIds;
+        private final long thinkTimeMs;
+        private final List<Long> purchasedProductIds = new ArrayList<>();
+
+        VirtualUser(ShopApiClient api, StompChatClient chat, String token, List<Long> productIds, long thinkTimeMs) {
+            this.api = api;
+            this.chat = chat;
+            this.token = token;
+            this.productIds = productIds;
+            this.thinkTimeMs = thinkTimeMs;
+        }
+
+        void runUntil(Instant end) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (Instant.now().isBefore(end)) {
+                try {
+                    long productId = productIds.get(random.nextInt(productIds.size()));
+                    switch (Operation.pick(random.nextInt(100))) {
+                        case BROWSE -> api.browseProducts(random.nextInt(10),
+                                random.nextBoolean() ? CATEGORIES[random.nextInt(CATEGORIES.length)] : null);
+                        case PRODUCT_DETAIL -> api.getProduct(productId);
+                        case CART_ADD -> api.addCartItem(token, productId);
+                        case CHECKOUT -> checkout(productId);
+                        case REVIEW -> {
+                            // 구매한 상품에만 리뷰를 쓸 수 있으므로, 구매 이력이 없으면 먼저 주문한다
+                            if (purchasedProductIds.isEmpty()) {
+                                checkout(productId);
+                            } else {
+                                api.postReview(token, purchasedProductIds.get(random.nextInt(purchasedProductIds.size())), 1 + random.nextInt(5));
+                            }
+                        }
+                        case CHAT -> chat.sendAndAwaitEcho();
+                    }
+                    if (thinkTimeMs > 0) {
+                        TimeUnit.MILLISECONDS.sleep(random.nextLong(thinkTimeMs + 1));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    // 개별 요청 실패는 LoadMetrics에 오류로 기록되었으므로 계속 진행
+                }
+            }
+        }
+
+        private void checkout(long productId) throws Exception {
+            if (api.checkout(token, productId)) {
+                purchasedProductIds.add(productId);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.shop.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 부하 테스트용 REST 클라이언트
+// endpoint 이름을 넘긴 호출만 LoadMetrics에 기록된다 (데이터 준비용 호출은 null)
+final class ShopApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LoadMetrics metrics;
+
+    ShopApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, LoadMetrics metrics) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+    }
+
+    // 회원가입 후 로그인하여 토큰을 반환
+    String signupAndLogin(String username) throws IOException, InterruptedException {
+        Map<String, String> signup = Map.of("username", username, "password", "password1234", "email", username + "@loadtest.com");
+        expectSuccess(send(null, jsonRequest("/auth/signup", null).POST(body(signup)).build()));
+
+        Map<String, String> login = Map.of("username", username, "password", "password1234");
+        HttpResponse<String> response = expectSuccess(send(null, jsonRequest("/auth/login", null).POST(body(login)).build()));
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    // 상품 등록 (multipart: data JSON + 썸네일 파일)
+    long createProduct(String token, Map<String, Object> data) throws IOException, InterruptedException {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writePart(out, boundary, "Content-Disposition: form-data; name=\"data\"\r\nContent-Type: application/json",
+                objectMapper.writeValueAsBytes(data));
+        writePart(out, boundary, "Content-Disposition: form-data; name=\"thumbnail\"; filename=\"thumbnail.jpg\"\r\nContent-Type: image/jpeg",
+                new byte[2048]);
+        out.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/products"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(out.toByteArray()))
+                .build();
+        HttpResponse<String> response = expectSuccess(send(null, request));
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    long createChatRoom(String token, long productId) throws IOException, InterruptedException {
+        HttpRequest request = jsonRequest("/chat/rooms", token).POST(body(Map.of("productId", productId))).build();
+        HttpResponse<String> response = expectSuccess(send(null, request));
+        JsonNode node = objectMapper.readTree(response.body());
+        return node.get("roomId").asLong();
+    }
+
+    boolean browseProducts(int page, String category) throws IOException, InterruptedException {
+        String query = "/products?page=" + page + "&size=20"
+                + (category != null ? "&category=" + java.net.URLEncoder.encode(category, StandardCharsets.UTF_8) : "");
+        return isSuccess(send("GET /products", jsonRequest(query, null).GET().build()));
+    }
+
+    boolean getProduct(long productId) throws IOException, InterruptedException {
+        return isSuccess(send("GET /products/{id}", jsonRequest("/products/" + productId, null).GET().build()));
+    }
+
+    boolean addCartItem(String token, long productId) throws IOException, InterruptedException {
+        HttpRequest request = jsonRequest("/cart/items", token)
+                .POST(body(Map.of("productId", productId, "quantity", 1)))
+                .build();
+        return isSuccess(send("POST /cart/items", request));
+    }
+
+    boolean checkout(String token, long productId) throws IOException, InterruptedException {
+        Map<String, Object> order = Map.of("orderItems", List.of(Map.of("productId", productId, "quantity", 1)));
+        return isSuccess(send("POST /orders", jsonRequest("/orders", token).POST(body(order)).build()));
+    }
+
+    boolean postReview(String token, long productId, int rating) throws IOException, InterruptedException {
+        HttpRequest request = jsonRequest("/products/" + productId + "/reviews", token)
+                .POST(body(Map.of("content", "부하 테스트 리뷰입니다.", "rating", rating)))
+                .build();
+        return isSuccess(send("POST /products/{id}/reviews", request));
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (endpoint != null) {
+                metrics.record(endpoint, System.nanoTime() - start, isSuccess(response));
+            }
+            return response;
+        } catch (IOException e) {
+            if (endpoint != null) {
+                metrics.record(endpoint, System.nanoTime() - start, false);
+            }
+            throw e;
+        }
+    }
+
+    private HttpRequest.Builder jsonRequest(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+    private static void writePart(ByteArrayOutputStream out, String boundary, String headers, byte[] content) throws IOException {
+        out.write(("--" + boundary + "\r\n" + headers + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(content);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static HttpResponse<String> expectSuccess(HttpResponse<String> response) {
+        if (!isSuccess(response)) {
+            throw new IllegalStateException("데이터 준비 요청 실패: " + response.uri() + " -> " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+}
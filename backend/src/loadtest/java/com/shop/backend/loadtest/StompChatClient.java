@@ -0,0 +1,97 @@
+package com.shop.backend.loadtest;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 사용자 한 명의 STOMP 채팅 세션
+// 메시지를 보낸 뒤 같은 채팅방 구독으로 되돌아올 때까지의 시간을 측정한다 (저장 + 브로드캐스트 왕복)
+final class StompChatClient {
+
+    static final String ENDPOINT = "STOMP /app/chat/send";
+
+    private static final long ECHO_TIMEOUT_SECONDS = 5;
+
+    private final LoadMetrics metrics;
+    private final long roomId;
+    private final Map<String, CompletableFuture<Void>> awaitingEcho = new ConcurrentHashMap<>();
+    private StompSession session;
+
+    StompChatClient(LoadMetrics metrics, long roomId) {
+        this.metrics = metrics;
+        this.roomId = roomId;
+    }
+
+    static WebSocketStompClient createStompClient() {
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        return stompClient;
+    }
+
+    void connect(WebSocketStompClient stompClient, String baseUrl, String token) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        session = stompClient.connectAsync(baseUrl + "/ws", new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+
+        session.subscribe("/topic/chat/" + roomId, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                Object message = ((Map<?, ?>) payload).get("message");
+                CompletableFuture<Void> future = awaitingEcho.remove(String.valueOf(message));
+                if (future != null) {
+                    future.complete(null);
+                }
+            }
+        });
+    }
+
+    boolean sendAndAwaitEcho() throws InterruptedException {
+        String message = "loadtest-" + UUID.randomUUID();
+        CompletableFuture<Void> echo = new CompletableFuture<>();
+        awaitingEcho.put(message, echo);
+
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            session.send("/app/chat/send", Map.of("roomId", roomId, "message", message));
+            echo.get(ECHO_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            success = true;
+        } catch (TimeoutException | java.util.concurrent.ExecutionException | IllegalStateException e) {
+            success = false;
+        } finally {
+            awaitingEcho.remove(message);
+        }
+        metrics.record(ENDPOINT, System.nanoTime() - start, success);
+        return success;
+    }
+
+    void disconnect() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.shop.backend.loadtest;
+
+import com.cloudinary.Cloudinary;
+import com.shop.backend.service.CloudinaryService;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// 외부 업로드 없이 가짜 URL을 돌려주는 CloudinaryService
+// latencyMs만큼 대기하여 실제 업로드의 왕복 시간을 흉내낸다
+public class StubCloudinaryService extends CloudinaryService {
+
+    private final long latencyMs;
+
+    public StubCloudinaryService(long latencyMs) {
+        super(new Cloudinary());
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public String upload(Path file, String publicId) {
+        if (latencyMs > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return "https://res.cloudinary.com/loadtest/image/upload/products/" + publicId + ".jpg";
+    }
+}
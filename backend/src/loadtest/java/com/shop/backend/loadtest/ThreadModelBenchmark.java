@@ -0,0 +1,229 @@
+package com.shop.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shop.backend.BackendApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 요청 스레드 모델 비교 벤치마크 (플랫폼 스레드 Tomcat 풀 vs 가상 스레드)
+// 1. 모드마다 BackendApplication을 loadtest 프로필로 띄운다 (virtual 모드는 virtual 프로필을 더한다)
+// 2. 동시 접속 수(기본 1000/5000/10000)마다 그 수만큼의 클라이언트가 쉬지 않고 요청한다
+//    - 읽기: 상품 목록/상세 (캐시에서 바로 응답하므로 대부분 CPU 작업)
+//    - 쓰기(loadtest.write-percent, 기본 40%): 장바구니 담기와 주문 (캐시를 거치지 않고 트랜잭션 안에서 DB를 기다린다)
+//    가상 스레드의 이점은 요청 스레드가 DB를 기다리는 동안 드러나므로 쓰기 비율을 0으로 두면 차이가 거의 보이지 않는다
+// 3. 워밍업 이후 구간의 처리량, 응답 시간 백분위, 오류 수, 가상 스레드 고정 횟수, 최대 플랫폼 스레드 수를 비교한다
+//    엔드포인트별 백분위는 결과 파일의 endpoints에 남는다
+//
+// 실행: mvn -Pload-test verify -Dloadtest.main=com.shop.backend.loadtest.ThreadModelBenchmark
+//       -Dloadtest.concurrency-levels=1000,5000,10000 -Dloadtest.thread-modes=platform,virtual -Dloadtest.write-percent=40
+// ※ 기본은 내장 H2라 요청이 대부분 CPU 작업이다. DB 왕복 대기를 포함하려면 -Dspring.datasource.url 등으로 MySQL을 지정한다
+// ※ 10000 동시 접속은 클라이언트와 서버가 같은 프로세스에서 소켓을 양쪽으로 열므로 ulimit -n이 충분히 커야 한다
+@Slf4j
+public class ThreadModelBenchmark {
+
+    record Result(String mode, int concurrency, long requests, long errors, double throughputPerSecond,
+                  double p50Ms, double p95Ms, double p99Ms, double maxMs, double pinnedEvents, int peakPlatformThreads,
+                  List<LatencyRecorder.Summary> endpoints) {
+    }
+
+    // 쓰기 요청에 쓰는 구매자 (클라이언트마다 가입하면 준비 시간이 측정보다 길어지므로 나눠 쓴다)
+    record Workload(List<Long> productIds, List<String> buyerTokens, int writePercent) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("loadtest.concurrency-levels", "1000,5000,10000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        String[] modes = System.getProperty("loadtest.thread-modes", "platform,virtual").split(",");
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int productCount = Integer.getInteger("loadtest.products", 200);
+        int buyerCount = Integer.getInteger("loadtest.buyers", 100);
+        int writePercent = Integer.getInteger("loadtest.write-percent", 40);
+        if (writePercent < 0 || writePercent > 100) {
+            throw new IllegalArgumentException("loadtest.write-percent는 0~100이어야 합니다: " + writePercent);
+        }
+        File resultFile = new File(System.getProperty("loadtest.result-file", "target/loadtest-result.json"));
+        int maxConnections = Arrays.stream(levels).max().orElse(0) + 1000;
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Result> results = new ArrayList<>();
+        int exitCode = 0;
+        for (String mode : modes) {
+            boolean virtual = mode.trim().equals("virtual");
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class, LoadTestConfig.class)
+                    .profiles(virtual ? new String[]{"loadtest", "virtual"} : new String[]{"loadtest"})
+                    .properties(
+                            "server.tomcat.max-connections=" + maxConnections,
+                            "server.tomcat.accept-count=" + maxConnections)
+                    .run(args);
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String baseUrl = "http://localhost:" + port;
+                Workload workload = prepareWorkload(objectMapper, baseUrl, productCount, buyerCount, writePercent);
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+                for (int concurrency : levels) {
+                    log.info("{} 모드, 동시 접속 {}, 쓰기 {}% (워밍업 {}초, 측정 {}초)",
+                            mode, concurrency, writePercent, warmupSeconds, durationSeconds);
+                    results.add(run(mode.trim(), concurrency, objectMapper, baseUrl, workload, meterRegistry,
+                            warmupSeconds, durationSeconds));
+                }
+            } catch (Exception e) {
+                log.error("벤치마크 실패 - {} 모드", mode, e);
+                exitCode = 1;
+            } finally {
+                context.close();
+            }
+        }
+
+        printReport(results);
+        writeReport(objectMapper, resultFile, results, durationSeconds, writePercent);
+        System.exit(exitCode);
+    }
+
+    private static Workload prepareWorkload(ObjectMapper objectMapper, String baseUrl, int productCount, int buyerCount,
+                                            int writePercent) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ShopApiClient api = new ShopApiClient(httpClient, objectMapper, baseUrl, new LoadMetrics());
+        String sellerToken = api.signupAndLogin("seller");
+        List<Long> productIds = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("name", "벤치마크 상품 " + i);
+            data.put("price", 1_000 + ThreadLocalRandom.current().nextInt(100_000));
+            data.put("description", "스레드 모델 비교용 상품입니다.");
+            data.put("stock", 1_000_000);
+            data.put("category", "전자기기");
+            productIds.add(api.createProduct(sellerToken, data));
+        }
+        List<String> buyerTokens = new ArrayList<>(buyerCount);
+        for (int i = 0; writePercent > 0 && i < buyerCount; i++) {
+            buyerTokens.add(api.signupAndLogin("buyer" + i));
+        }
+        return new Workload(productIds, buyerTokens, writePercent);
+    }
+
+    private static Result run(String mode, int concurrency, ObjectMapper objectMapper, String baseUrl, Workload workload,
+                              MeterRegistry meterRegistry, int warmupSeconds, int durationSeconds) throws Exception {
+        LoadMetrics metrics = new LoadMetrics();
+        // 동시 접속 수만큼 연결이 열리도록 단계마다 새 클라이언트(연결 풀)를 만든다
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        ShopApiClient api = new ShopApiClient(httpClient, objectMapper, baseUrl, metrics);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        Counter pinned = meterRegistry.find("jvm.threads.virtual.pinned").counter();
+        double pinnedBefore = pinned != null ? pinned.count() : 0;
+
+        Instant end = Instant.now().plusSeconds(warmupSeconds + durationSeconds);
+        double elapsedSeconds;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                String buyerToken = workload.buyerTokens().isEmpty() ? null
+                        : workload.buyerTokens().get(i % workload.buyerTokens().size());
+                clients.submit(() -> requestUntil(api, workload, buyerToken, end));
+            }
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            metrics.startRecording();
+            long recordingStart = System.nanoTime();
+            TimeUnit.MILLISECONDS.sleep(Math.max(Duration.between(Instant.now(), end).toMillis(), 0));
+            metrics.stopRecording();
+            elapsedSeconds = (System.nanoTime() - recordingStart) / 1e9;
+        }
+        httpClient.close();
+
+        List<LatencyRecorder.Summary> summaries = metrics.summarize(elapsedSeconds);
+        long requests = summaries.stream().mapToLong(LatencyRecorder.Summary::count).sum();
+        long errors = summaries.stream().mapToLong(LatencyRecorder.Summary::errors).sum();
+        // 엔드포인트별 백분위 중 가장 느린 값을 대표값으로 쓴다
+        return new Result(mode, concurrency, requests, errors, requests / elapsedSeconds,
+                summaries.stream().mapToDouble(LatencyRecorder.Summary::p50Ms).max().orElse(0),
+                summaries.stream().mapToDouble(LatencyRecorder.Summary::p95Ms).max().orElse(0),
+                summaries.stream().mapToDouble(LatencyRecorder.Summary::p99Ms).max().orElse(0),
+                summaries.stream().mapToDouble(LatencyRecorder.Summary::maxMs).max().orElse(0),
+                (pinned != null ? pinned.count() : 0) - pinnedBefore,
+                threads.getPeakThreadCount(),
+                summaries);
+    }
+
+    // 클라이언트 하나: 생각 시간 없이 요청한다
+    // 쓰기 비율만큼 장바구니 담기와 주문을 반반, 나머지는 목록(2/3)과 상세(1/3)
+    private static void requestUntil(ShopApiClient api, Workload workload, String buyerToken, Instant end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> productIds = workload.productIds();
+        while (Instant.now().isBefore(end)) {
+            try {
+                long productId = productIds.get(random.nextInt(productIds.size()));
+                if (buyerToken != null && random.nextInt(100) < workload.writePercent()) {
+                    if (random.nextBoolean()) {
+                        api.addCartItem(buyerToken, productId);
+                    } else {
+                        api.checkout(buyerToken, productId);
+                    }
+                } else if (random.nextInt(3) == 0) {
+                    api.getProduct(productId);
+                } else {
+                    api.browseProducts(random.nextInt(10), null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // 실패는 LoadMetrics에 오류로 기록되었으므로 계속 진행
+            }
+        }
+    }
+
+    private static void printReport(List<Result> results) {
+        StringBuilder report = new StringBuilder(String.format("%n%-9s %11s %9s %7s %9s %9s %9s %9s %9s %7s %8s%n",
+                "mode", "concurrency", "requests", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "pinned", "threads"));
+        for (Result r : results) {
+            report.append(String.format("%-9s %11d %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %7.0f %8d%n",
+                    r.mode(), r.concurrency(), r.requests(), r.errors(), r.throughputPerSecond(),
+                    r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs(), r.pinnedEvents(), r.peakPlatformThreads()));
+        }
+        System.out.println(report);
+    }
+
+    private static void writeReport(ObjectMapper objectMapper, File resultFile, List<Result> results, int durationSeconds,
+                                    int writePercent) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("durationSeconds", durationSeconds);
+        report.put("writePercent", writePercent);
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("results", results);
+
+        File parent = resultFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, report);
+        log.info("결과 저장: {}", resultFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,92 @@
+package com.shop.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.event.ProductsImportedEvent;
+import com.shop.backend.event.RatingsRebuiltEvent;
+import com.shop.backend.response.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 상품 조회 결과(ProductResponse)를 메모리에 캐싱한다
+// - 크기 + TTL 기반으로 제거되며, 히트/미스/제거 횟수는 actuator 메트릭(cache.*)으로 노출된다
+// - 상품 변경 이벤트를 커밋 이후에 받아 해당 상품 및 영향을 받는 목록만 무효화한다
+@Slf4j
+@Component
+public class ProductCache {
+
+    private final Cache<Long, ProductResponse> productsById;
+    private final Cache<ProductPageKey, Page<ProductResponse>> productPages;
+
+    public ProductCache(
+            @Value("${app.product-cache.max-size:10000}") long maxSize,
+            @Value("${app.product-cache.page-max-size:1000}") long pageMaxSize,
+            @Value("${app.product-cache.ttl-seconds:60}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.productPages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "products.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, productPages, "products.pages");
+    }
+
+    // 상품 상세 캐시 조회 (없으면 loader로 적재)
+    public ProductResponse getById(Long id, Function<Long, ProductResponse> loader) {
+        return productsById.get(id, loader);
+    }
+
+    // 상품 목록 캐시 조회 (없으면 loader로 적재)
+    public Page<ProductResponse> getPage(ProductPageKey key, Supplier<Page<ProductResponse>> loader) {
+        return productPages.get(key, k -> loader.get());
+    }
+
+    // 트랜잭션이 있으면 커밋 이후에, 없으면 즉시 무효화한다
+    // (이벤트 버스로 미루면 수정 직후 다시 읽을 때 이전 값이 보이므로 요청 스레드에서 바로 처리한다)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productsById.invalidate(event.productId());
+
+        // 변경 전/후 상태 중 하나라도 필터 조건에 걸리는 목록 페이지만 제거
+        productPages.asMap().keySet().removeIf(key ->
+                matches(key, event.before()) || matches(key, event.after()));
+
+        log.debug("상품 캐시 무효화 - productId: {}", event.productId());
+    }
+
+    // 대량 등록된 상품은 어느 목록에든 들어갈 수 있으므로 목록 캐시를 비운다 (상세 캐시는 새 id라 영향 없음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        productPages.invalidateAll();
+    }
+
+    // 전체 상품의 별점 집계가 다시 계산되면 캐시를 모두 비운다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingsRebuilt(RatingsRebuiltEvent event) {
+        productsById.invalidateAll();
+        productPages.invalidateAll();
+    }
+
+    private boolean matches(ProductPageKey key, ProductChangedEvent.Snapshot snapshot) {
+        return snapshot != null && key.matches(snapshot.category(), snapshot.price());
+    }
+}
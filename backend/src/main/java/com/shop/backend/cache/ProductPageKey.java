@@ -0,0 +1,19 @@
+package com.shop.backend.cache;
+
+import org.springframework.data.domain.Pageable;
+
+// 상품 목록 캐시의 키: 정규화된 (카테고리, 최소가격, 최대가격, 페이지 정보) 조합
+public record ProductPageKey(String category, Integer minPrice, Integer maxPrice, int page, int size, String sort) {
+
+    public static ProductPageKey of(String category, Integer minPrice, Integer maxPrice, Pageable pageable) {
+        return new ProductPageKey(category, minPrice, maxPrice,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+    }
+
+    // 해당 카테고리/가격의 상품이 이 필터 결과에 포함될 수 있는지 확인
+    public boolean matches(String productCategory, int productPrice) {
+        return (category == null || category.equals(productCategory))
+                && (minPrice == null || productPrice >= minPrice)
+                && (maxPrice == null || productPrice <= maxPrice);
+    }
+}
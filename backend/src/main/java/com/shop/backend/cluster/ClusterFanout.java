@@ -0,0 +1,177 @@
+package com.shop.backend.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 내장 브로커(enableSimpleBroker)로 가는 메시지를 다른 인스턴스에도 전달하고, 받은 메시지를 이 인스턴스의 구독자에게 전달한다
+// - brokerChannel 인터셉터로 /topic, /queue 메시지를 가로채 ClusterTransport로 보낸다 (이 인스턴스 안의 전달은 그대로 진행)
+// - 세션 구독/해제/연결 종료 이벤트로 목적지별 구독 수를 세어, 처음 생기거나 모두 사라질 때만 transport에 알린다
+//   그래서 각 인스턴스는 자기 세션이 구독한 목적지의 메시지만 받는다
+// ※ /user/... 목적지는 세션이 있는 인스턴스에서만 처리되므로 전달하지 않는다. 와일드카드 구독도 다른 인스턴스의 메시지는 받지 못한다
+@Component
+public class ClusterFanout implements ChannelInterceptor {
+
+    // 다른 인스턴스에서 받은 메시지 표시 (다시 내보내지 않도록)
+    public static final String RELAYED_HEADER = "clusterRelayed";
+
+    private final ClusterTransport transport;
+    private final MessageChannel brokerChannel;
+    private final Counter published;
+    private final Counter publishFailed;
+    private final Counter received;
+    private final Timer fanoutLatency;
+
+    // 목적지 -> 이 인스턴스의 구독 수
+    private final Map<String, Integer> localSubscriptions = new ConcurrentHashMap<>();
+    // 세션 ID -> (구독 ID -> 목적지)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    public ClusterFanout(
+            ClusterTransport transport,
+            @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+            MeterRegistry meterRegistry
+    ) {
+        this.transport = transport;
+        this.brokerChannel = brokerChannel;
+        this.published = meterRegistry.counter("cluster.fanout.messages", "result", "published");
+        this.publishFailed = meterRegistry.counter("cluster.fanout.messages", "result", "publish_failed");
+        this.received = meterRegistry.counter("cluster.fanout.messages", "result", "received");
+        this.fanoutLatency = Timer.builder("cluster.fanout.latency")
+                .description("다른 인스턴스에서 보낸 시각부터 이 인스턴스의 브로커에 전달될 때까지")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("cluster.fanout.destinations", localSubscriptions, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        transport.start(this::deliver);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || message.getHeaders().containsKey(RELAYED_HEADER)
+                || message.getHeaders().containsKey(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (!isBrokerDestination(destination)) {
+            return message;
+        }
+
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        ClusterMessage clusterMessage = new ClusterMessage(destination,
+                contentType != null ? contentType.toString() : null, payload, System.currentTimeMillis());
+        if (transport.publish(clusterMessage)) {
+            published.increment();
+        } else {
+            publishFailed.increment();
+        }
+        return message;
+    }
+
+    // 다른 인스턴스에서 온 메시지를 이 인스턴스의 내장 브로커로 넘긴다
+    void deliver(ClusterMessage clusterMessage) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(clusterMessage.destination());
+        if (clusterMessage.contentType() != null) {
+            accessor.setContentType(MimeType.valueOf(clusterMessage.contentType()));
+        }
+        accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+        brokerChannel.send(MessageBuilder.createMessage(clusterMessage.payload(), accessor.getMessageHeaders()));
+
+        received.increment();
+        fanoutLatency.record(Math.max(System.currentTimeMillis() - clusterMessage.publishedAt(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = accessor(event);
+        String destination = accessor.getDestination();
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null || !isBrokerDestination(destination)) {
+            return;
+        }
+        String previous = sessionSubscriptions
+                .computeIfAbsent(accessor.getSessionId(), sessionId -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+        if (previous != null) {
+            release(previous);
+        }
+        retain(destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = accessor(event);
+        Map<String, String> subscriptions = accessor.getSessionId() != null ? sessionSubscriptions.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            release(destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    // 목적지의 첫 구독자가 생기면 transport에 알린다 (구독 수 변경과 함께 처리해 순서가 뒤바뀌지 않게 한다)
+    private void retain(String destination) {
+        localSubscriptions.compute(destination, (key, count) -> {
+            if (count == null) {
+                transport.subscribe(destination);
+                return 1;
+            }
+            return count + 1;
+        });
+    }
+
+    private void release(String destination) {
+        localSubscriptions.computeIfPresent(destination, (key, count) -> {
+            if (count == 1) {
+                transport.unsubscribe(destination);
+                return null;
+            }
+            return count - 1;
+        });
+    }
+
+    private static SimpMessageHeaderAccessor accessor(AbstractSubProtocolEvent event) {
+        return SimpMessageHeaderAccessor.wrap(event.getMessage());
+    }
+
+    private static boolean isBrokerDestination(String destination) {
+        return destination != null && (destination.startsWith("/topic/") || destination.startsWith("/queue/"));
+    }
+}
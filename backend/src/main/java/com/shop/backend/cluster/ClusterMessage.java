@@ -0,0 +1,6 @@
+package com.shop.backend.cluster;
+
+// 다른 인스턴스로 전달되는 브로커 메시지 (이미 직렬화된 STOMP 본문 그대로)
+// publishedAt은 보낸 인스턴스의 시각(ms)으로, 받는 쪽에서 전달 지연 측정에 쓴다
+public record ClusterMessage(String destination, String contentType, byte[] payload, long publishedAt) {
+}
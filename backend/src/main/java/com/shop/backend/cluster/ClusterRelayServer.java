@@ -0,0 +1,176 @@
+package com.shop.backend.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 인스턴스들 사이에서 브로커 메시지를 중계하는 내장 릴레이 서버
+// - 각 인스턴스(RelayClusterTransport)는 자기 세션이 구독 중인 목적지만 알려 두고,
+//   메시지는 그 목적지를 구독한 다른 인스턴스에만 전달한다 (보낸 인스턴스 자신은 제외)
+// - 별도 브로커 없이 로컬/테스트 환경에서 여러 인스턴스를 띄울 수 있도록 한 인스턴스가 함께 실행한다 (app.cluster.relay.embedded)
+//   릴레이가 멈추면 인스턴스 간 전달만 멈추고, 각 인스턴스 안의 전달은 계속된다
+// - 기본으로 루프백에만 바인드하고 (app.cluster.relay.bind-address), 공유 비밀(app.cluster.relay.secret)을 보낸 연결만 받는다
+@Slf4j
+public class ClusterRelayServer {
+
+    private final String bindAddress;
+    private final int port;
+    private final String secret;
+    private final int queueCapacity;
+    private final Counter routed;
+    private final Counter dropped;
+    private final AtomicInteger connectionSeq = new AtomicInteger();
+
+    // 목적지 -> 구독 중인 인스턴스 연결
+    private final Map<String, Set<RelayConnection>> subscribers = new ConcurrentHashMap<>();
+    // 연결 -> 구독 중인 목적지 (연결이 끊기면 정리)
+    private final Map<RelayConnection, Set<String>> destinationsByConnection = new ConcurrentHashMap<>();
+
+    private volatile ServerSocket serverSocket;
+
+    public ClusterRelayServer(String bindAddress, int port, String secret, int queueCapacity, MeterRegistry meterRegistry) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("클러스터 릴레이 공유 비밀(app.cluster.relay.secret)이 비어 있습니다.");
+        }
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.secret = secret;
+        this.queueCapacity = queueCapacity;
+        this.routed = meterRegistry.counter("cluster.relay.messages", "result", "routed");
+        this.dropped = meterRegistry.counter("cluster.relay.messages", "result", "dropped");
+        Gauge.builder("cluster.relay.connections", destinationsByConnection, Map::size).register(meterRegistry);
+    }
+
+    public void start() throws IOException {
+        ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(bindAddress, port));
+        serverSocket = socket;
+        Thread.ofPlatform().name("cluster-relay-accept").daemon(true).start(this::acceptLoop);
+        log.info("클러스터 릴레이 서버 시작 - {}:{}", bindAddress, getPort());
+    }
+
+    // 실제로 바인드된 포트 (0으로 시작하면 임의 포트)
+    public int getPort() {
+        return serverSocket != null ? serverSocket.getLocalPort() : port;
+    }
+
+    // 목적지를 구독 중인 인스턴스 수
+    public int getSubscriberCount(String destination) {
+        Set<RelayConnection> connections = subscribers.get(destination);
+        return connections != null ? connections.size() : 0;
+    }
+
+    public void stop() {
+        ServerSocket socket = serverSocket;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+        destinationsByConnection.keySet().forEach(RelayConnection::close);
+    }
+
+    private void acceptLoop() {
+        ServerSocket socket = serverSocket;
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                // 인증을 기다리는 동안 다른 연결 수락이 막히지 않도록 연결마다 따로 처리한다
+                Thread.ofVirtual().name("cluster-relay-handshake").start(() -> register(client));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("클러스터 릴레이 연결 수락 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void register(Socket client) {
+        try {
+            if (!RelayConnection.acceptHello(client, secret)) {
+                log.warn("클러스터 릴레이 인증 실패 - {}", client.getRemoteSocketAddress());
+                client.close();
+                return;
+            }
+            String name = "cluster-relay-" + connectionSeq.incrementAndGet();
+            RelayConnection[] holder = new RelayConnection[1];
+            RelayConnection connection = new RelayConnection(client, name, queueCapacity,
+                    frame -> route(holder[0], frame), () -> remove(holder[0]));
+            holder[0] = connection;
+            destinationsByConnection.put(connection, ConcurrentHashMap.newKeySet());
+            connection.start();
+            log.info("클러스터 릴레이 연결 - {} ({})", name, client.getRemoteSocketAddress());
+        } catch (IOException e) {
+            log.warn("클러스터 릴레이 인증 실패 - {}: {}", client.getRemoteSocketAddress(), e.getMessage());
+            try {
+                client.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void route(RelayConnection origin, RelayConnection.Frame frame) {
+        if (origin.isClosed()) {
+            return;
+        }
+        switch (frame.type()) {
+            case RelayConnection.SUBSCRIBE -> {
+                subscribers.computeIfAbsent(frame.destination(), destination -> ConcurrentHashMap.newKeySet()).add(origin);
+                Set<String> destinations = destinationsByConnection.get(origin);
+                if (destinations != null) {
+                    destinations.add(frame.destination());
+                }
+            }
+            case RelayConnection.UNSUBSCRIBE -> {
+                unsubscribe(origin, frame.destination());
+                Set<String> destinations = destinationsByConnection.get(origin);
+                if (destinations != null) {
+                    destinations.remove(frame.destination());
+                }
+            }
+            default -> {
+                Set<RelayConnection> targets = subscribers.get(frame.destination());
+                if (targets == null) {
+                    return;
+                }
+                for (RelayConnection target : targets) {
+                    if (target == origin) {
+                        continue;
+                    }
+                    if (target.send(frame)) {
+                        routed.increment();
+                    } else {
+                        dropped.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(RelayConnection connection, String destination) {
+        subscribers.computeIfPresent(destination, (key, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private void remove(RelayConnection connection) {
+        Set<String> destinations = destinationsByConnection.remove(connection);
+        if (destinations != null) {
+            destinations.forEach(destination -> unsubscribe(connection, destination));
+        }
+        log.info("클러스터 릴레이 연결 해제 - {}", connection.getName());
+    }
+}
@@ -0,0 +1,21 @@
+package com.shop.backend.cluster;
+
+import java.util.function.Consumer;
+
+// 인스턴스 간 메시지 전달 방식 (app.cluster.transport로 선택)
+// 구현체는 subscribe한 목적지의 메시지만 받아야 한다 (다른 인스턴스의 구독자만 있는 목적지는 받지 않는다)
+public interface ClusterTransport {
+
+    // 다른 인스턴스에서 온 메시지를 listener로 넘기기 시작한다
+    void start(Consumer<ClusterMessage> listener);
+
+    // 다른 인스턴스들로 보낸다. 연결이 끊겼거나 보낼 대기열이 가득 차 보내지 못하면 false
+    boolean publish(ClusterMessage message);
+
+    // 이 인스턴스에 목적지 구독자가 생기거나 모두 사라졌을 때 호출된다
+    void subscribe(String destination);
+
+    void unsubscribe(String destination);
+
+    void close();
+}
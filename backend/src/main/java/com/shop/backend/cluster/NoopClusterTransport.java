@@ -0,0 +1,28 @@
+package com.shop.backend.cluster;
+
+import java.util.function.Consumer;
+
+// 단일 인스턴스 운영: 다른 인스턴스로 보내지 않는다
+public class NoopClusterTransport implements ClusterTransport {
+
+    @Override
+    public void start(Consumer<ClusterMessage> listener) {
+    }
+
+    @Override
+    public boolean publish(ClusterMessage message) {
+        return true;
+    }
+
+    @Override
+    public void subscribe(String destination) {
+    }
+
+    @Override
+    public void unsubscribe(String destination) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,151 @@
+package com.shop.backend.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+// 릴레이 서버(ClusterRelayServer)를 거쳐 다른 인스턴스와 메시지를 주고받는다
+// - 연결이 끊기면 일정 간격으로 다시 연결하고, 연결될 때마다 현재 구독 중인 목적지를 모두 다시 알린다
+// - 끊겨 있는 동안 보낸 메시지는 버린다 (채팅 메시지는 DB에 저장되므로 다시 들어오면 내역으로 볼 수 있다)
+@Slf4j
+public class RelayClusterTransport implements ClusterTransport {
+
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+
+    private final String host;
+    private final int port;
+    private final String secret;
+    private final int queueCapacity;
+    private final long reconnectDelayMs;
+
+    // 이 인스턴스의 세션이 구독 중인 목적지 (다시 연결할 때 다시 알린다)
+    // 구독 변경과 재연결 시 다시 알리기가 엇갈려 릴레이에 해제된 구독이 남지 않도록 subscriptionLock으로 묶는다
+    private final Set<String> destinations = ConcurrentHashMap.newKeySet();
+    private final Object subscriptionLock = new Object();
+
+    private volatile RelayConnection connection;
+    private volatile boolean running;
+    private Thread connector;
+
+    public RelayClusterTransport(String host, int port, String secret, int queueCapacity, long reconnectDelayMs) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("클러스터 릴레이 공유 비밀(app.cluster.relay.secret)이 비어 있습니다.");
+        }
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.queueCapacity = queueCapacity;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @Override
+    public synchronized void start(Consumer<ClusterMessage> listener) {
+        if (running) {
+            return;
+        }
+        running = true;
+        connector = Thread.ofPlatform().name("cluster-relay-client").daemon(true)
+                .start(() -> connectLoop(listener));
+    }
+
+    // 릴레이에 연결되어 있는지
+    public boolean isConnected() {
+        RelayConnection current = connection;
+        return current != null && !current.isClosed();
+    }
+
+    @Override
+    public boolean publish(ClusterMessage message) {
+        if (message.payload().length > RelayConnection.MAX_PAYLOAD_BYTES) {
+            log.warn("클러스터 전달 생략 - 메시지가 너무 큽니다. destination: {}, {} bytes", message.destination(), message.payload().length);
+            return false;
+        }
+        RelayConnection current = connection;
+        return current != null && current.send(RelayConnection.Frame.message(message));
+    }
+
+    @Override
+    public void subscribe(String destination) {
+        synchronized (subscriptionLock) {
+            if (destinations.add(destination)) {
+                sendControl(RelayConnection.Frame.subscribe(destination));
+            }
+        }
+    }
+
+    @Override
+    public void unsubscribe(String destination) {
+        synchronized (subscriptionLock) {
+            if (destinations.remove(destination)) {
+                sendControl(RelayConnection.Frame.unsubscribe(destination));
+            }
+        }
+    }
+
+    // 구독 프레임은 대기열 한도로 버려지지 않는다. 그래도 연결이 닫히는 중이라 못 보냈다면
+    // 연결을 끊어 다시 연결하면서 destinations 전체를 다시 알리게 한다
+    private void sendControl(RelayConnection.Frame frame) {
+        RelayConnection current = connection;
+        if (current != null && !current.send(frame)) {
+            log.warn("클러스터 릴레이 구독 변경 전송 실패 - 다시 연결합니다. destination: {}", frame.destination());
+            current.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (connector != null) {
+            connector.interrupt();
+        }
+        RelayConnection current = connection;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void connectLoop(Consumer<ClusterMessage> listener) {
+        while (running) {
+            CountDownLatch closed = new CountDownLatch(1);
+            try {
+                Socket socket = new Socket();
+                socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+                RelayConnection.sendHello(socket, secret);
+                RelayConnection current = new RelayConnection(socket, "cluster-relay-client", queueCapacity,
+                        frame -> {
+                            if (frame.type() == RelayConnection.MESSAGE) {
+                                listener.accept(frame.message());
+                            }
+                        },
+                        closed::countDown);
+                current.start();
+                synchronized (subscriptionLock) {
+                    connection = current;
+                    destinations.forEach(destination -> sendControl(RelayConnection.Frame.subscribe(destination)));
+                }
+                log.info("클러스터 릴레이 연결 - {}:{}, 구독 목적지 {}개", host, port, destinations.size());
+                closed.await();
+                log.warn("클러스터 릴레이 연결 끊김 - {}:{}", host, port);
+            } catch (IOException e) {
+                log.warn("클러스터 릴레이 연결 실패 - {}:{} ({})", host, port, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                connection = null;
+            }
+            try {
+                Thread.sleep(reconnectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
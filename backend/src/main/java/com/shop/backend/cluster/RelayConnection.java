@@ -0,0 +1,211 @@
+package com.shop.backend.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// 릴레이 서버와 인스턴스 사이의 TCP 연결 하나 (양쪽이 같은 프레임 형식을 쓴다)
+// - 연결 직후 클라이언트가 공유 비밀(HELLO)을 보내고, 릴레이 서버가 맞으면 HELLO로 답한 뒤에야 프레임을 주고받는다
+// - 프레임: 종류(1바이트) + 목적지, MESSAGE는 보낸 시각 + content-type + 본문 길이 + 본문
+// - 보내기는 대기열에 넣고 전용 스레드가 쓴다. 상대가 느려 MESSAGE가 queueCapacity만큼 쌓이면 버리고 false를 반환한다
+//   (한 연결이 느려도 다른 연결로의 전달이나 보내는 쪽 스레드가 막히지 않도록)
+// - SUBSCRIBE/UNSUBSCRIBE는 한도와 관계없이 넣는다. 버리면 릴레이의 구독 상태가 다시 연결할 때까지 어긋난다
+//   (목적지 수만큼만 생기므로 대기열이 한없이 커지지 않는다)
+@Slf4j
+final class RelayConnection {
+
+    static final byte SUBSCRIBE = 1;
+    static final byte UNSUBSCRIBE = 2;
+    static final byte MESSAGE = 3;
+    static final byte HELLO = 4;
+
+    static final int MAX_PAYLOAD_BYTES = 1024 * 1024;
+    static final int HANDSHAKE_TIMEOUT_MS = 5000;
+
+    record Frame(byte type, String destination, ClusterMessage message) {
+        static Frame subscribe(String destination) {
+            return new Frame(SUBSCRIBE, destination, null);
+        }
+
+        static Frame unsubscribe(String destination) {
+            return new Frame(UNSUBSCRIBE, destination, null);
+        }
+
+        static Frame message(ClusterMessage message) {
+            return new Frame(MESSAGE, message.destination(), message);
+        }
+    }
+
+    private final Socket socket;
+    private final String name;
+    private final int queueCapacity;
+    private final BlockingQueue<Frame> outbound = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+    private final Consumer<Frame> onFrame;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    RelayConnection(Socket socket, String name, int queueCapacity, Consumer<Frame> onFrame, Runnable onClose) {
+        this.socket = socket;
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.onFrame = onFrame;
+        this.onClose = onClose;
+    }
+
+    // 클라이언트: 공유 비밀을 보내고 서버의 응답을 기다린다 (틀리면 서버가 연결을 끊는다)
+    static void sendHello(Socket socket, String secret) throws IOException {
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeByte(HELLO);
+        out.writeUTF(secret);
+        out.flush();
+
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+        if (socket.getInputStream().read() != HELLO) {
+            throw new IOException("릴레이 서버가 연결을 거부했습니다 (app.cluster.relay.secret 확인)");
+        }
+        socket.setSoTimeout(0);
+    }
+
+    // 서버: 첫 프레임이 같은 공유 비밀의 HELLO인지 확인하고 응답한다
+    // 버퍼 없이 읽어 이후 프레임을 앞질러 읽지 않는다
+    static boolean acceptHello(Socket socket, String secret) throws IOException {
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        if (in.readByte() != HELLO || !MessageDigest.isEqual(
+                in.readUTF().getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        socket.setSoTimeout(0);
+        socket.getOutputStream().write(HELLO);
+        socket.getOutputStream().flush();
+        return true;
+    }
+
+    void start() throws IOException {
+        socket.setTcpNoDelay(true);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        Thread.ofVirtual().name(name + "-reader").start(() -> readLoop(in));
+        Thread.ofVirtual().name(name + "-writer").start(() -> writeLoop(out));
+    }
+
+    boolean send(Frame frame) {
+        if (closed.get()) {
+            return false;
+        }
+        if (frame.type() == MESSAGE && pendingMessages.incrementAndGet() > queueCapacity) {
+            pendingMessages.decrementAndGet();
+            return false;
+        }
+        return outbound.offer(frame);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            outbound.clear();
+            outbound.offer(new Frame((byte) 0, null, null)); // 쓰기 스레드를 깨운다
+            onClose.run();
+        }
+    }
+
+    private void readLoop(DataInputStream in) {
+        try {
+            while (!closed.get()) {
+                onFrame.accept(read(in));
+            }
+        } catch (EOFException e) {
+            log.debug("릴레이 연결 종료 - {}", name);
+        } catch (IOException | RuntimeException e) {
+            if (!closed.get()) {
+                log.warn("릴레이 연결 읽기 실패 - {}: {}", name, e.getMessage());
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private void writeLoop(DataOutputStream out) {
+        try {
+            while (!closed.get()) {
+                Frame frame = outbound.take();
+                if (closed.get()) {
+                    return;
+                }
+                if (frame.type() == MESSAGE) {
+                    pendingMessages.decrementAndGet();
+                }
+                write(out, frame);
+                // 대기열에 더 쌓인 프레임이 없을 때만 내보내 작은 쓰기를 묶는다
+                if (outbound.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            if (!closed.get()) {
+                log.warn("릴레이 연결 쓰기 실패 - {}: {}", name, e.getMessage());
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private static void write(DataOutputStream out, Frame frame) throws IOException {
+        out.writeByte(frame.type());
+        out.writeUTF(frame.destination());
+        if (frame.type() == MESSAGE) {
+            ClusterMessage message = frame.message();
+            out.writeLong(message.publishedAt());
+            out.writeUTF(message.contentType() != null ? message.contentType() : "");
+            out.writeInt(message.payload().length);
+            out.write(message.payload());
+        }
+    }
+
+    private static Frame read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        String destination = in.readUTF();
+        if (type == SUBSCRIBE || type == UNSUBSCRIBE) {
+            return new Frame(type, destination, null);
+        }
+        if (type != MESSAGE) {
+            throw new IOException("알 수 없는 릴레이 프레임: " + type);
+        }
+        long publishedAt = in.readLong();
+        String contentType = in.readUTF();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("릴레이 메시지가 너무 큽니다: " + length + " bytes");
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return Frame.message(new ClusterMessage(destination, contentType.isEmpty() ? null : contentType, payload, publishedAt));
+    }
+}
@@ -0,0 +1,49 @@
+package com.shop.backend.config;
+
+import com.shop.backend.cluster.ClusterRelayServer;
+import com.shop.backend.cluster.ClusterTransport;
+import com.shop.backend.cluster.NoopClusterTransport;
+import com.shop.backend.cluster.RelayClusterTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 인스턴스 간 STOMP 메시지 전달 방식 (app.cluster.transport)
+// - none: 단일 인스턴스 (기본값)
+// - relay: 릴레이 서버를 거쳐 전달. app.cluster.relay.embedded=true인 인스턴스 하나가 릴레이 서버를 함께 실행한다
+//   릴레이 서버와 모든 인스턴스에 같은 app.cluster.relay.secret을 설정해야 한다
+@Configuration
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cluster.transport", havingValue = "none", matchIfMissing = true)
+    public ClusterTransport noopClusterTransport() {
+        return new NoopClusterTransport();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cluster.transport", havingValue = "relay")
+    public ClusterTransport relayClusterTransport(
+            @Value("${app.cluster.relay.host:localhost}") String host,
+            @Value("${app.cluster.relay.port:61700}") int port,
+            @Value("${app.cluster.relay.secret:}") String secret,
+            @Value("${app.cluster.relay.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.cluster.relay.reconnect-delay-ms:1000}") long reconnectDelayMs
+    ) {
+        return new RelayClusterTransport(host, port, secret, queueCapacity, reconnectDelayMs);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.cluster.relay.embedded", havingValue = "true")
+    public ClusterRelayServer clusterRelayServer(
+            @Value("${app.cluster.relay.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${app.cluster.relay.port:61700}") int port,
+            @Value("${app.cluster.relay.secret:}") String secret,
+            @Value("${app.cluster.relay.queue-capacity:10000}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        return new ClusterRelayServer(bindAddress, port, secret, queueCapacity, meterRegistry);
+    }
+}
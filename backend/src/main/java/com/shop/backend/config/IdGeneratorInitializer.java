@@ -0,0 +1,47 @@
+package com.shop.backend.config;
+
+import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.entity.OrderItem;
+import com.shop.backend.entity.Product;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// 테이블 기반 id 생성기(id_generators)의 다음 값을 기존 데이터의 최대 id보다 크게 맞춘다
+// IDENTITY로 쌓인 기존 행과 새로 할당되는 id가 충돌하지 않도록, 요청을 받기 전에 한 번 실행된다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory; // 스키마 생성(ddl-auto) 이후에 실행되도록 의존
+
+    @PostConstruct
+    public void initialize() {
+        align("order_items", OrderItem.ID_ALLOCATION_SIZE);
+        align("products", Product.ID_ALLOCATION_SIZE);
+        align("chat_message", ChatMessage.ID_ALLOCATION_SIZE);
+    }
+
+    private void align(String tableName, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tableName, Long.class);
+        long floor = maxId + allocationSize + 1;
+
+        int updated = jdbcTemplate.update(
+                "UPDATE id_generators SET next_val = ? WHERE name = ? AND next_val < ?",
+                floor, tableName, floor
+        );
+        if (updated == 0) {
+            Integer exists = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM id_generators WHERE name = ?", Integer.class, tableName);
+            if (exists == null || exists == 0) {
+                jdbcTemplate.update("INSERT INTO id_generators (name, next_val) VALUES (?, ?)", tableName, floor);
+            }
+        }
+        log.debug("id 생성기 정렬 완료 - {}: 기존 최대 id {}", tableName, maxId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.shop.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// STOMP 채널 실행기에 넘어간 작업(메시지 1건 처리)을 감싸 채널별 메트릭을 남긴다
+// - websocket.channel.queue.size: 실행을 기다리는 메시지 수
+// - websocket.channel.wait: 실행기에 넘어간 뒤 처리가 시작되기까지 (큐가 차 보낸 쪽에서 직접 처리하면 0에 가깝다)
+// - websocket.channel.handle: 인터셉터와 핸들러 처리 시간 (outbound는 세션 전송 포함)
+class StompChannelMetrics implements TaskDecorator {
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer handleTimer;
+
+    StompChannelMetrics(MeterRegistry meterRegistry, String channel) {
+        Gauge.builder("websocket.channel.queue.size", queued, AtomicInteger::get)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("websocket.channel.wait")
+                .tag("channel", channel)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.handleTimer = Timer.builder("websocket.channel.handle")
+                .tag("channel", channel)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        long submittedAt = System.nanoTime();
+        queued.incrementAndGet();
+        return () -> {
+            long startedAt = System.nanoTime();
+            queued.decrementAndGet();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                handleTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.shop.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// 가상 스레드 모드(spring.threads.virtual.enabled)에서 캐리어 스레드 고정(pinning)을 감지한다
+// - synchronized 블록 안이나 네이티브 호출 중에 블로킹되면 가상 스레드가 캐리어 스레드를 붙잡아 다른 요청이 실행되지 못한다
+// - JFR jdk.VirtualThreadPinned 이벤트를 스트리밍으로 받아 횟수/시간을 메트릭으로 남기고,
+//   처음 보는 위치는 스택과 함께 로그로 남긴다 (같은 위치는 한 번만, 최대 log-limit곳)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 10;
+
+    private final Duration threshold;
+    private final int logLimit;
+    private final Counter pinnedCount;
+    private final Timer pinnedDuration;
+    private final Set<String> loggedLocations = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning-threshold-ms:20}") long thresholdMs,
+            @Value("${app.virtual-threads.pinning-log-limit:50}") int logLimit
+    ) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.logLimit = logLimit;
+        this.pinnedCount = meterRegistry.counter("jvm.threads.virtual.pinned");
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("가상 스레드가 캐리어 스레드에 고정된 시간 (threshold 이상만)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("가상 스레드 고정 감지 시작 - {}ms 이상", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedDuration.record(event.getDuration());
+
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String location = location(frames);
+        if (loggedLocations.size() < logLimit && loggedLocations.add(location)) {
+            log.warn("가상 스레드 고정 {}ms - {}{}", event.getDuration().toMillis(), location, format(event.getStackTrace()));
+        }
+    }
+
+    // 고정을 일으킨 애플리케이션 코드 위치 (없으면 가장 안쪽 프레임)
+    private static String location(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> frame.getMethod().getType().getName().startsWith("com.shop.backend."))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::frameName)
+                .orElse("unknown");
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\n\tat " + frameName(frame))
+                .collect(Collectors.joining());
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
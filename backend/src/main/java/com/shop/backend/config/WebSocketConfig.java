@@ -1,20 +1,63 @@
 package com.shop.backend.config;
 
+import com.shop.backend.cluster.ClusterFanout;
 import com.shop.backend.security.StompHandler;
+import com.shop.backend.service.NotificationDeliveryInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.config.ChannelRegistration;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+// WebSocket 메시지 브로커 설정 (브로커 구성 자체는 WebSocketSessionConfig가 가져온다)
 @Configuration
-@EnableWebSocketMessageBroker // WebSocket 메시지 브로커 활성화
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompHandler stompHandler;
+    private final ClusterFanout clusterFanout;
+    private final NotificationDeliveryInterceptor notificationDeliveryInterceptor;
+    private final MeterRegistry meterRegistry;
+
+    // 가상 스레드 모드에서는 STOMP 채널도 메시지마다 가상 스레드로 처리한다 (기본은 플랫폼 스레드 풀)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${app.websocket.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${app.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.send-buffer-size-limit:131072}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -28,11 +71,52 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.enableSimpleBroker("/topic", "/queue");
         registry.setApplicationDestinationPrefixes("/app");
         registry.setUserDestinationPrefix("/user");  // ⭐️ 이 줄 없으면 안 됨
+        // 내장 브로커로 가는 메시지를 다른 인스턴스에도 전달 (ClusterConfig 참고)
+        registry.configureBrokerChannel().interceptors(clusterFanout);
+        // outbound 채널은 여러 스레드가 처리하므로 같은 세션으로 가는 메시지는 보낸 순서대로 하나씩 전달한다
+        registry.setPreservePublishOrder(true);
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // 클라이언트가 메시지를 보내기 전에 StompHandler를 거치도록 설정
-        registration.interceptors(stompHandler);
+        // 자기 알림 주소를 구독하면 읽지 않은 알림을 묶음으로 전달
+        registration.interceptors(stompHandler, notificationDeliveryInterceptor);
+        registration.executor(channelExecutor("inbound", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(channelExecutor("outbound", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 전송 한도 (넘겼을 때 처리는 WebSocketSessionConfig의 slow-consumer-policy)
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    // 큐가 가득 차면 보낸 쪽 스레드에서 직접 처리한다 (inbound는 웹소켓 읽기, outbound는 브로커 전달이 그만큼 느려져 자연스럽게 속도가 조절된다)
+    // outbound는 세션별 순서 보장(setPreservePublishOrder)이 이 실행기 앞에서 세션마다 한 건씩만 넘기므로 보낸 쪽에서 실행돼도 순서가 바뀌지 않는다
+    // 가상 스레드 모드에서는 큐 없이 바로 실행하되, 동시에 처리하는 메시지 수가 max-pool-size를 넘으면 보낸 쪽이 기다린다
+    private Executor channelExecutor(String channel, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        StompChannelMetrics metrics = new StompChannelMetrics(meterRegistry, channel);
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("stomp-" + channel + "-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxPoolSize);
+            executor.setTaskDecorator(metrics);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("stomp-" + channel + "-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(metrics);
+        return executor;
     }
 }
\ No newline at end of file
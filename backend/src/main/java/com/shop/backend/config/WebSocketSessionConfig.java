@@ -0,0 +1,93 @@
+package com.shop.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Locale;
+
+// STOMP 메시지 브로커 구성 (@EnableWebSocketMessageBroker 대신 이 설정을 상속해 세션 처리만 바꾼다, 나머지는 WebSocketConfig)
+// 세션으로 보내는 메시지는 한 번에 한 스레드만 전송하고 나머지는 세션 버퍼에 쌓인다.
+// 한 번의 전송이 send-time-limit-ms를 넘기면 세션을 끊고, 버퍼가 send-buffer-size-limit를 넘으면 slow-consumer-policy를 따른다
+// - terminate: 세션을 끊는다 (클라이언트가 다시 연결하면서 놓친 내용은 REST로 다시 받는다)
+// - drop: 오래된 프레임부터 버리고 연결은 유지한다
+@Configuration
+public class WebSocketSessionConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private final MeterRegistry meterRegistry;
+    private final OverflowStrategy overflowStrategy;
+
+    public WebSocketSessionConfig(
+            MeterRegistry meterRegistry,
+            @Value("${app.websocket.slow-consumer-policy:terminate}") String slowConsumerPolicy
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.overflowStrategy = switch (slowConsumerPolicy.toLowerCase(Locale.ROOT)) {
+            case "terminate" -> OverflowStrategy.TERMINATE;
+            case "drop" -> OverflowStrategy.DROP;
+            default -> throw new IllegalArgumentException("지원하지 않는 slow-consumer-policy입니다: " + slowConsumerPolicy);
+        };
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(
+            AbstractSubscribableChannel clientInboundChannel, AbstractSubscribableChannel clientOutboundChannel) {
+        SlowConsumerHandler handler = new SlowConsumerHandler(clientInboundChannel, clientOutboundChannel,
+                overflowStrategy, meterRegistry.counter("websocket.sessions.slow", "action", "dropped"));
+        handler.setPhase(getPhase());
+
+        SubProtocolWebSocketHandler.Stats stats = handler.getStats();
+        Gauge.builder("websocket.sessions.active", stats,
+                        s -> s.getWebSocketSessions() + s.getHttpStreamingSessions() + s.getHttpPollingSessions())
+                .register(meterRegistry);
+        FunctionCounter.builder("websocket.sessions.slow", stats, SubProtocolWebSocketHandler.Stats::getLimitExceededSessions)
+                .tag("action", "terminated")
+                .register(meterRegistry);
+        return handler;
+    }
+
+    static class SlowConsumerHandler extends SubProtocolWebSocketHandler {
+
+        private final OverflowStrategy overflowStrategy;
+        private final Counter dropped;
+
+        SlowConsumerHandler(AbstractSubscribableChannel clientInboundChannel, AbstractSubscribableChannel clientOutboundChannel,
+                            OverflowStrategy overflowStrategy, Counter dropped) {
+            super(clientInboundChannel, clientOutboundChannel);
+            this.overflowStrategy = overflowStrategy;
+            this.dropped = dropped;
+        }
+
+        @Override
+        protected WebSocketSession decorateSession(WebSocketSession session) {
+            if (overflowStrategy == OverflowStrategy.TERMINATE) {
+                return super.decorateSession(session);
+            }
+            return new ConcurrentWebSocketSessionDecorator(session, getSendTimeLimit(), getSendBufferSizeLimit(), overflowStrategy) {
+                @Override
+                public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                    boolean overflow = getBufferSize() + message.getPayloadLength() > getBufferSizeLimit();
+                    super.sendMessage(message);
+                    // 다른 스레드가 전송 중이라 버퍼에 쌓였고 한도를 넘었다면 오래된 프레임이 버려졌다
+                    if (overflow && getBufferSize() > 0) {
+                        dropped.increment();
+                    }
+                }
+            };
+        }
+    }
+}
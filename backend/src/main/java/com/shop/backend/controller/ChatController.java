@@ -3,17 +3,22 @@ package com.shop.backend.controller;
 import com.shop.backend.dto.ChatMessageRequest;
 import com.shop.backend.dto.ChatRoomRequest;
 import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.entity.User;
 import com.shop.backend.response.ChatMessageResponse;
 import com.shop.backend.response.ChatRoomDetailResponse;
 import com.shop.backend.response.ChatRoomInfoResponse;
 import com.shop.backend.response.ChatRoomResponse;
+import com.shop.backend.response.CursorResponse;
+import com.shop.backend.service.ChatMessageWriter;
 import com.shop.backend.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -30,6 +35,7 @@ public class ChatController {
 
     private final ChatService chatService;
     private final SimpMessagingTemplate messagingTemplate; // WebSocket 메시지 브로커로 메시지를 보내는 데 사용
+    private final ChatMessageWriter chatMessageWriter;
 
     // --- REST API ---
 
@@ -48,6 +54,34 @@ public class ChatController {
     }
 
 
+    @Operation(summary = "채팅방 메시지 이전 내역 조회 (커서)", description = "최신 메시지부터 size개씩 조회합니다. 이전 응답의 nextCursor를 before로 넘기면 그 이전 메시지를 조회합니다. (인증 필요)")
+    @GetMapping("/rooms/{roomId}/messages/history")
+    public ResponseEntity<?> getRoomMessageHistory(
+            @PathVariable Long roomId,
+            @Parameter(description = "이 메시지 ID 이전의 메시지를 조회 (첫 요청은 생략)") @RequestParam(required = false) Long before,
+            @Parameter(description = "한 번에 조회할 개수") @RequestParam(defaultValue = "30") int size
+    ) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body("size는 1~100 사이여야 합니다.");
+        }
+        CursorResponse<ChatMessageResponse> messages = chatService.getMessagesBefore(roomId, before, size);
+        return ResponseEntity.ok(messages);
+    }
+
+    @Operation(summary = "채팅방 새 메시지 동기화", description = "재접속한 클라이언트가 마지막으로 받은 메시지 ID 이후의 메시지를 오래된 순으로 조회합니다. hasNext가 true면 nextCursor로 다시 요청합니다. (인증 필요)")
+    @GetMapping("/rooms/{roomId}/messages/since")
+    public ResponseEntity<?> getRoomMessagesSince(
+            @PathVariable Long roomId,
+            @Parameter(description = "마지막으로 받은 메시지 ID") @RequestParam Long afterId,
+            @Parameter(description = "한 번에 조회할 개수") @RequestParam(defaultValue = "100") int size
+    ) {
+        if (size < 1 || size > 500) {
+            return ResponseEntity.badRequest().body("size는 1~500 사이여야 합니다.");
+        }
+        CursorResponse<ChatMessageResponse> messages = chatService.getMessagesSince(roomId, afterId, size);
+        return ResponseEntity.ok(messages);
+    }
+
     @Operation(summary = "내 채팅방 목록 조회", description = "현재 로그인한 사용자가 참여(구매자 또는 판매자)하고 있는 모든 채팅방 목록을 조회합니다. (인증 필요)")
     @GetMapping("/my-rooms")
     public ResponseEntity<List<ChatRoomInfoResponse>> getMyRooms(Principal principal) {
@@ -70,6 +104,16 @@ public class ChatController {
     public void sendMessage(ChatMessageRequest messageRequest, SimpMessageHeaderAccessor headerAccessor) {
         // StompHandler에서 저장한 세션 속성에서 유저 이름을 가져옵니다.
         String username = (String) headerAccessor.getSessionAttributes().get("username");
+        String destination = "/topic/chat/" + messageRequest.getRoomId();
+
+        // write-behind 모드: CONNECT 때 인증된 사용자로 바로 브로드캐스트하고, DB 저장은 배치로 처리
+        if (chatMessageWriter.isEnabled()
+                && headerAccessor.getUser() instanceof Authentication auth
+                && auth.getPrincipal() instanceof User sender) {
+            chatMessageWriter.submit(messageRequest, sender,
+                    response -> messagingTemplate.convertAndSend(destination, response));
+            return;
+        }
 
         // 메시지를 DB에 저장
         ChatMessage savedMessage = chatService.saveMessage(messageRequest, username);
@@ -78,6 +122,6 @@ public class ChatController {
         ChatMessageResponse messageResponse = new ChatMessageResponse(savedMessage);
 
         // 해당 채팅방을 구독하고 있는 클라이언트에게 메시지 브로드캐스트
-        messagingTemplate.convertAndSend("/topic/chat/" + messageRequest.getRoomId(), messageResponse);
+        messagingTemplate.convertAndSend(destination, messageResponse);
     }
 }
\ No newline at end of file
@@ -3,27 +3,43 @@ package com.shop.backend.controller;
 import com.shop.backend.dto.ProductRequest;
 import com.shop.backend.entity.User;
 import com.shop.backend.response.OrderResponse;
+import com.shop.backend.response.ProductImportResponse;
 import com.shop.backend.response.ProductResponse;
+import com.shop.backend.response.ProductSalesResponse;
 import com.shop.backend.response.ReviewResponse;
+import com.shop.backend.response.SalesSummaryResponse;
+import com.shop.backend.service.ExportService;
 import com.shop.backend.service.OrderService;
+import com.shop.backend.service.ProductImportService;
 import com.shop.backend.service.ProductService;
 import com.shop.backend.service.ReviewService;
+import com.shop.backend.service.SalesAnalyticsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
 @Tag(name = "MyPage", description = "마이페이지 관련 API (인증 필요)")
 @RestController
 @RequiredArgsConstructor
@@ -33,6 +49,9 @@ public class MyPageController {
     private final ProductService productService;
     private final OrderService orderService;
     private final ReviewService reviewService;
+    private final ProductImportService productImportService;
+    private final ExportService exportService;
+    private final SalesAnalyticsService salesAnalyticsService;
 
     // 내가 등록한 상품 목록 조회
     @Operation(summary = "내가 등록한 상품 목록 조회", description = "현재 로그인된 사용자가 등록한 상품 목록을 페이징하여 조회합니다.")
@@ -48,7 +67,7 @@ public class MyPageController {
     // 내가 등록한 상품 수정
     @Operation(summary = "내가 등록한 상품 수정", description = "자신이 등록한 상품의 정보를 수정합니다.")
     @PutMapping(value = "/products/{productId}", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
-    public ResponseEntity<ProductResponse> updateProduct(
+    public ResponseEntity<?> updateProduct(
         @Parameter(description = "수정할 상품 ID") @PathVariable Long productId,
         @Parameter(description = "상품 정보 JSON 문자열") @RequestParam("data") String dataJson,
         @Parameter(description = "새로운 상품 썸네일 이미지 (선택 사항)") @RequestParam(value = "thumbnail", required = false) MultipartFile thumbnailFile,
@@ -57,8 +76,15 @@ public class MyPageController {
         ObjectMapper objectMapper = new ObjectMapper();
         ProductRequest request = objectMapper.readValue(dataJson, ProductRequest.class);
 
-        ProductResponse updatedProduct = productService.update(productId, request, thumbnailFile, user);
-        return ResponseEntity.ok(updatedProduct);
+        try {
+            ProductResponse updatedProduct = productService.update(productId, request, thumbnailFile, user);
+            return ResponseEntity.ok(updatedProduct);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // 읽은 뒤에 주문 재고 차감이 반영되었다 (덮어쓰면 차감이 사라지므로 다시 읽고 수정하도록 한다)
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body("수정하는 동안 재고가 바뀌었습니다. 상품 정보를 다시 불러와 수정해주세요.");
+        }
     }
 
     // 내가 등록한 상품 삭제
@@ -72,6 +98,114 @@ public class MyPageController {
         return ResponseEntity.noContent().build(); // 성공 시 204 No Content 응답
     }
 
+    // 상품 대량 등록 (요청 본문을 스트리밍으로 읽어 처리하고 결과를 반환)
+    @Operation(summary = "상품 대량 등록", description = "CSV(text/csv, 첫 줄은 name,price,stock,category[,description,thumbnail] 헤더) 또는 "
+            + "JSON Lines(application/x-ndjson) 본문으로 상품을 한 번에 등록합니다. 잘못된 행은 건너뛰고 줄 번호와 이유를 반환합니다.")
+    @PostMapping(value = "/products/import", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<ProductImportResponse> importProducts(
+        @Parameter(hidden = true) @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        @Parameter(hidden = true) InputStream body,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user
+    ) {
+        ProductImportService.Format format = ProductImportService.Format.fromContentType(contentType);
+        return ResponseEntity.ok(productImportService.importProducts(body, format, user));
+    }
+
+    // 상품 대량 등록 진행 상황 조회
+    @Operation(summary = "상품 대량 등록 내역 조회", description = "진행 중이거나 최근 끝난 대량 등록의 진행 상황을 최신순으로 조회합니다.")
+    @GetMapping("/products/imports")
+    public ResponseEntity<List<ProductImportResponse>> getProductImports(
+        @Parameter(hidden = true) @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(productImportService.findImports(user));
+    }
+
+    @Operation(summary = "상품 대량 등록 단건 조회", description = "대량 등록 한 건의 진행 상황과 행별 오류를 조회합니다.")
+    @GetMapping("/products/imports/{importId}")
+    public ResponseEntity<ProductImportResponse> getProductImport(
+        @Parameter(description = "대량 등록 ID") @PathVariable String importId,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(productImportService.findImport(importId, user));
+    }
+
+    // 전체 내역 내보내기 (페이지 없이 한 번에 스트리밍)
+    @Operation(summary = "내가 등록한 상품 내보내기", description = "내가 등록한 상품 전체를 CSV 또는 JSON Lines 파일로 내려받습니다.")
+    @GetMapping("/export/products")
+    public void exportProducts(
+        @Parameter(description = "파일 형식 (csv, jsonl)") @RequestParam(defaultValue = "csv") String format,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user,
+        @Parameter(hidden = true) HttpServletResponse response) throws IOException
+    {
+        ExportService.Format exportFormat = prepareExport(response, format, "products");
+        exportService.exportProducts(user.getId(), exportFormat, response.getOutputStream());
+    }
+
+    @Operation(summary = "내 주문 내역 내보내기", description = "내가 주문한 내역 전체를 주문 상품 한 줄씩 CSV 또는 JSON Lines 파일로 내려받습니다.")
+    @GetMapping("/export/orders")
+    public void exportOrders(
+        @Parameter(description = "파일 형식 (csv, jsonl)") @RequestParam(defaultValue = "csv") String format,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user,
+        @Parameter(hidden = true) HttpServletResponse response) throws IOException
+    {
+        ExportService.Format exportFormat = prepareExport(response, format, "orders");
+        exportService.exportOrders(user.getId(), exportFormat, response.getOutputStream());
+    }
+
+    @Operation(summary = "내 판매 내역 내보내기", description = "내가 등록한 상품의 주문 내역 전체를 CSV 또는 JSON Lines 파일로 내려받습니다.")
+    @GetMapping("/export/sales")
+    public void exportSales(
+        @Parameter(description = "파일 형식 (csv, jsonl)") @RequestParam(defaultValue = "csv") String format,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user,
+        @Parameter(hidden = true) HttpServletResponse response) throws IOException
+    {
+        ExportService.Format exportFormat = prepareExport(response, format, "sales");
+        exportService.exportSales(user.getId(), exportFormat, response.getOutputStream());
+    }
+
+    private ExportService.Format prepareExport(HttpServletResponse response, String format, String name) {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        String filename = name + "-" + LocalDate.now() + "." + exportFormat.getExtension();
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        return exportFormat;
+    }
+
+    // 판매 통계 (일별 집계만 읽으므로 주문 수와 무관하게 빠르게 응답)
+    @Operation(summary = "내 매출 조회", description = "기간(기본: 오늘까지 최근 30일, 최대 366일) 동안의 매출 합계와 일별 판매 수량/매출액/주문 수를 조회합니다.")
+    @GetMapping("/analytics/sales")
+    public ResponseEntity<SalesSummaryResponse> getSales(
+        @Parameter(description = "시작일 (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "종료일 (yyyy-MM-dd, 포함)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(salesAnalyticsService.getSales(user.getId(), from, to));
+    }
+
+    @Operation(summary = "많이 팔린 상품 조회", description = "기간 동안 매출액(revenue) 또는 판매 수량(units) 순으로 상위 상품을 조회합니다.")
+    @GetMapping("/analytics/products")
+    public ResponseEntity<List<ProductSalesResponse>> getTopProducts(
+        @Parameter(description = "시작일 (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "종료일 (yyyy-MM-dd, 포함)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(description = "정렬 기준 (revenue, units)") @RequestParam(defaultValue = "revenue") String sort,
+        @Parameter(description = "상품 수 (최대 50)") @RequestParam(defaultValue = "10") int limit,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user
+    ) {
+        SalesAnalyticsService.Ranking ranking = SalesAnalyticsService.Ranking.from(sort);
+        return ResponseEntity.ok(salesAnalyticsService.getTopProducts(user.getId(), from, to, ranking, limit));
+    }
+
+    @Operation(summary = "상품별 매출 조회", description = "내가 등록한 상품 하나의 기간 매출 합계와 일별 추이를 조회합니다.")
+    @GetMapping("/analytics/products/{productId}")
+    public ResponseEntity<SalesSummaryResponse> getProductSales(
+        @Parameter(description = "상품 ID") @PathVariable Long productId,
+        @Parameter(description = "시작일 (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "종료일 (yyyy-MM-dd, 포함)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(hidden = true) @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(salesAnalyticsService.getProductSales(user.getId(), productId, from, to));
+    }
+
     // 내가 구매한 상품 조회
     @Operation(summary = "내 주문 내역 조회", description = "현재 로그인된 사용자의 주문 내역을 최신순으로 페이징하여 조회합니다.")
     @GetMapping("/orders")
@@ -0,0 +1,55 @@
+package com.shop.backend.controller;
+
+import com.shop.backend.entity.User;
+import com.shop.backend.response.CursorResponse;
+import com.shop.backend.response.NotificationResponse;
+import com.shop.backend.service.NotificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Tag(name = "Notification", description = "알림함 관련 API (인증 필요)")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/notifications")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @Operation(summary = "알림함 조회 (커서)", description = "최신 알림부터 size개씩 조회합니다. 이전 응답의 nextCursor를 beforeId로 넘기면 그 이전 알림을 조회합니다.")
+    @GetMapping
+    public ResponseEntity<?> getNotifications(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(description = "이 알림 ID 이전의 알림을 조회 (첫 요청은 생략)") @RequestParam(required = false) Long beforeId,
+            @Parameter(description = "한 번에 조회할 개수") @RequestParam(defaultValue = "20") int size
+    ) {
+        if (size < 1 || size > NotificationService.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("size는 1~" + NotificationService.MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        CursorResponse<NotificationResponse> notifications = notificationService.getNotifications(user.getId(), beforeId, size);
+        return ResponseEntity.ok(notifications);
+    }
+
+    @Operation(summary = "안 읽은 알림 수", description = "현재 로그인된 사용자의 읽지 않은 알림 수를 조회합니다.")
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@Parameter(hidden = true) @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(user.getId())));
+    }
+
+    @Operation(summary = "알림 읽음 처리", description = "upToId 이하의 알림을 모두 읽음으로 표시합니다. upToId를 생략하면 받은 알림 전부를 읽음으로 표시합니다. 여러 번 요청해도 결과는 같습니다.")
+    @PostMapping("/read")
+    public ResponseEntity<Map<String, Long>> markRead(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @RequestBody(required = false) Map<String, Long> payload
+    ) {
+        Long upToId = payload != null ? payload.get("upToId") : null;
+        long unreadCount = notificationService.markRead(user.getId(), upToId);
+        return ResponseEntity.ok(Map.of("unreadCount", unreadCount));
+    }
+}
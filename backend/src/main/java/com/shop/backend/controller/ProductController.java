@@ -2,7 +2,12 @@ package com.shop.backend.controller;
 
 import com.shop.backend.dto.ProductRequest;
 import com.shop.backend.entity.User;
+import com.shop.backend.response.AutocompleteResponse;
+import com.shop.backend.response.CursorResponse;
+import com.shop.backend.response.FacetedPage;
 import com.shop.backend.response.ProductResponse;
+import com.shop.backend.service.AutocompleteService;
+import com.shop.backend.service.ProductSearchService;
 import com.shop.backend.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,18 +17,25 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @Tag(name = "Product", description = "상품 관련 공용 API")
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/products")
 public class ProductController {
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final AutocompleteService autocompleteService;
 
     // 상품 등록
     @Operation(summary = "상품 등록", description = "새로운 상품을 등록합니다. (인증 필요)")
@@ -45,18 +57,75 @@ public class ProductController {
     }
 
     // 상품 전체 조회
-    @Operation(summary = "상품 목록 조회 (검색/필터링/정렬/페이징)", description = "다양한 조건으로 상품 목록을 조회합니다.")
+    @Operation(summary = "상품 목록 조회 (검색/필터링/정렬/페이징)", description = "다양한 조건으로 상품 목록을 조회합니다. facets=true면 필터 사이드바용 카테고리/가격대별 상품 수(facets)를 함께 반환합니다.")
     @GetMapping
     public ResponseEntity<Page<ProductResponse>> getAllProducts(
         @Parameter(description = "카테고리 필터") @RequestParam(required = false) String category,
         @Parameter(description = "최소 가격 필터") @RequestParam(required = false) Integer minPrice,
         @Parameter(description = "최대 가격 필터") @RequestParam(required = false) Integer maxPrice,
+        @Parameter(description = "카테고리/가격대별 상품 수 포함 여부") @RequestParam(defaultValue = "false") boolean facets,
         @ParameterObject Pageable pageable
     ) {
         Page<ProductResponse> products = productService.findAll(category, minPrice, maxPrice, pageable);
+        if (facets) {
+            products = new FacetedPage<>(products, productService.findFacets(category, minPrice, maxPrice));
+        }
         return ResponseEntity.ok(products);
     }
 
+    // 상품 전체 조회 (커서 기반 - 무한 스크롤용)
+    @Operation(summary = "상품 목록 커서 조회", description = "이전 응답의 nextCursor로 다음 상품 목록을 조회합니다. 전체 개수는 제공하지 않으며 정렬은 createdAt, price, id 중 하나만 지원합니다.")
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getProductsByCursor(
+        @Parameter(description = "카테고리 필터") @RequestParam(required = false) String category,
+        @Parameter(description = "최소 가격 필터") @RequestParam(required = false) Integer minPrice,
+        @Parameter(description = "최대 가격 필터") @RequestParam(required = false) Integer maxPrice,
+        @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "한 번에 조회할 개수") @RequestParam(defaultValue = "20") int size,
+        @ParameterObject @SortDefault(sort = "createdAt", direction = Sort.Direction.DESC) Sort sort
+    ) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body("size는 1~100 사이여야 합니다.");
+        }
+        try {
+            CursorResponse<ProductResponse> products = productService.findAllByCursor(category, minPrice, maxPrice, sort, cursor, size);
+            return ResponseEntity.ok(products);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // 잘못된 커서 또는 정렬 조건
+        }
+    }
+
+    // 상품 키워드 검색 (이름/설명, 관련도 순)
+    @Operation(summary = "상품 검색", description = "상품 이름과 설명에서 키워드를 찾아 관련도 순으로 조회합니다. 카테고리/가격 필터와 함께 사용할 수 있으며, 정렬 조건은 무시됩니다.")
+    @GetMapping("/search")
+    public ResponseEntity<?> searchProducts(
+        @Parameter(description = "검색어") @RequestParam("q") String query,
+        @Parameter(description = "카테고리 필터") @RequestParam(required = false) String category,
+        @Parameter(description = "최소 가격 필터") @RequestParam(required = false) Integer minPrice,
+        @Parameter(description = "최대 가격 필터") @RequestParam(required = false) Integer maxPrice,
+        @ParameterObject @PageableDefault(size = 20) Pageable pageable
+    ) {
+        if (pageable.getPageSize() > 100) {
+            return ResponseEntity.badRequest().body("size는 100 이하여야 합니다.");
+        }
+        try {
+            Page<ProductResponse> products = productSearchService.search(query, category, minPrice, maxPrice, pageable);
+            return ResponseEntity.ok(products);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // 너무 깊은 페이지
+        }
+    }
+
+    // 검색어 자동완성 (상품 이름/카테고리, 인기도 순)
+    @Operation(summary = "검색어 자동완성", description = "입력한 접두어로 시작하는 상품 이름과 카테고리를 인기도 순으로 추천합니다. 띄어쓰기는 무시하며, 상품 이름은 중간 단어부터 입력해도 찾습니다.")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteResponse>> autocomplete(
+        @Parameter(description = "입력 중인 검색어") @RequestParam("q") String prefix,
+        @Parameter(description = "최대 추천 개수 (최대 20)") @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(autocompleteService.suggest(prefix, limit));
+    }
+
     // 상품 상세 조회
     @Operation(summary = "상품 상세 조회", description = "ID로 특정 상품의 상세 정보를 조회합니다.")
     @GetMapping("/{id}")
@@ -7,6 +7,7 @@ import com.shop.backend.service.ReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -41,7 +42,7 @@ public class ReviewController {
     @PostMapping
     public ResponseEntity<ReviewResponse> createReview(
         @Parameter(description = "상품 ID") @PathVariable Long productId,
-        @RequestBody ReviewRequest request,
+        @Valid @RequestBody ReviewRequest request,
         @Parameter(hidden = true) @AuthenticationPrincipal User user
     ) {
         ReviewResponse reviewResponse = reviewService.createReview(productId, request, user);
@@ -54,7 +55,7 @@ public class ReviewController {
     public ResponseEntity<ReviewResponse> updateReview(
         @Parameter(description = "상품 ID (경로상 필요)") @PathVariable Long productId,
         @Parameter(description = "수정할 리뷰 ID") @PathVariable Long reviewId,
-        @RequestBody ReviewRequest request,
+        @Valid @RequestBody ReviewRequest request,
         @Parameter(hidden = true) @AuthenticationPrincipal User user
     ) {
         ReviewResponse updatedReview = reviewService.updateReview(reviewId, request, user);
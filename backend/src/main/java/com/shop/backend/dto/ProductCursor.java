@@ -0,0 +1,63 @@
+package com.shop.backend.dto;
+
+import com.shop.backend.entity.Product;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+// 커서 기반(keyset) 상품 목록 조회의 이어보기 위치
+// 마지막으로 내려준 상품의 (정렬 기준 값, id)를 담고, 클라이언트에는 불투명한 문자열 토큰으로 전달한다
+// value는 정렬 기준의 타입 그대로 담는다 (createdAt: LocalDateTime, price: Integer, id: Long)
+public record ProductCursor(String property, Sort.Direction direction, Comparable<?> value, Long id) {
+
+    // 커서 조회에서 지원하는 정렬 기준
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("createdAt", "price", "id");
+
+    private static final String DELIMITER = "|";
+
+    // 마지막 상품과 정렬 조건으로 다음 커서 생성
+    public static ProductCursor of(Product last, Sort.Order order) {
+        Comparable<?> value = switch (order.getProperty()) {
+            case "createdAt" -> last.getCreatedAt();
+            case "price" -> last.getPrice();
+            default -> last.getId();
+        };
+        return new ProductCursor(order.getProperty(), order.getDirection(), value, last.getId());
+    }
+
+    public String encode() {
+        String raw = String.join(DELIMITER, property, direction.name(), value.toString(), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !SORTABLE_PROPERTIES.contains(parts[0])) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new ProductCursor(parts[0], Sort.Direction.valueOf(parts[1]), parseValue(parts[0], parts[2]), Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) { // Base64/enum/숫자/날짜 변환 실패 포함
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+
+    // 조회 쿼리에서 변환하다 실패하지 않도록 여기서 정렬 기준 타입으로 바꿔 둔다
+    private static Comparable<?> parseValue(String property, String value) {
+        return switch (property) {
+            case "createdAt" -> LocalDateTime.parse(value);
+            case "price" -> Integer.valueOf(value);
+            default -> Long.valueOf(value);
+        };
+    }
+
+    // 요청한 정렬 조건과 같은 조건으로 만들어진 커서인지 확인
+    public boolean matches(Sort.Order order) {
+        return property.equals(order.getProperty()) && direction == order.getDirection();
+    }
+}
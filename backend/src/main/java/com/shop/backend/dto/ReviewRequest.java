@@ -1,9 +1,13 @@
 package com.shop.backend.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.Getter;
 
 @Getter
 public class ReviewRequest {
     private String content;
+
+    @Min(1) @Max(5)
     private int rating;
 }
@@ -11,13 +11,29 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 채팅방별 메시지 커서 조회 (이전 메시지 / 이후 메시지)
+        @Index(name = "idx_chat_message_room_id", columnList = "chat_room_id, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
 public class ChatMessage {
 
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    // write-behind 저장(ChatMessageWriter)이 미리 할당하는 id와 같은 생성기를 써서, 두 저장 경로의 id가 겹치지 않게 한다
+    // (기존 데이터와의 충돌 방지는 IdGeneratorInitializer 참고)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_message_id_generator")
+    @TableGenerator(
+            name = "chat_message_id_generator",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "chat_message",
+            allocationSize = ChatMessage.ID_ALLOCATION_SIZE
+    )
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
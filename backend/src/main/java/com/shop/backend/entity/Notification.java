@@ -0,0 +1,53 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 사용자 알림함 (추가만 하고 수정하지 않는다)
+// 읽음 여부는 행마다 두지 않고 사용자별 마지막으로 읽은 알림 ID(NotificationCursor)와 비교한다
+@Entity
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_id", columnList = "recipient_id, id")
+})
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Notification {
+
+    public enum Type {
+        REVIEW // 내 상품에 리뷰가 달림
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 받는 사용자 ID (조회는 항상 받는 사용자 기준이라 연관관계 없이 ID만 둔다)
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(nullable = false)
+    private String message;
+
+    private Long productId;
+
+    private String productName;
+
+    @Column(length = 1000)
+    private String content;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 사용자별로 어디까지 알림을 읽었는지 (이 ID 이하의 알림은 읽음)
+// 읽음 처리는 값을 키우기만 하므로(GREATEST) 같은 요청을 여러 번 보내도 결과가 같다
+@Entity
+@Table(name = "notification_cursors")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationCursor {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_read_id", nullable = false)
+    private long lastReadId;
+}
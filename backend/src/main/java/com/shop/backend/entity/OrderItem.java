@@ -9,8 +9,20 @@ import lombok.Setter;
 @Getter @Setter
 public class OrderItem {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY는 JDBC 배치 INSERT가 불가능하므로 테이블 기반 pooled 생성기로 id를 미리 할당받는다
+    // (기존 데이터와의 충돌 방지는 IdGeneratorInitializer 참고)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_id_generator")
+    @TableGenerator(
+            name = "order_item_id_generator",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "order_items",
+            allocationSize = OrderItem.ID_ALLOCATION_SIZE
+    )
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,12 +38,18 @@ public class OrderItem {
 
     // 주문 생성
     public static OrderItem createOrderItem(Product product, int quantity) {
+        OrderItem orderItem = createReservedOrderItem(product, quantity);
+
+        product.removeStock(quantity); // 주문 수량만큼 상품 재고 감소
+        return orderItem;
+    }
+
+    // 주문 생성 (재고는 StockReservationService에서 이미 선점된 경우)
+    public static OrderItem createReservedOrderItem(Product product, int quantity) {
         OrderItem orderItem = new OrderItem();
         orderItem.setProduct(product);
         orderItem.setOrderPrice(product.getPrice()); // 현재 상품 가격을 주문 가격으로 설정
         orderItem.setQuantity(quantity);
-
-        product.removeStock(quantity); // 주문 수량만큼 상품 재고 감소
         return orderItem;
     }
 }
\ No newline at end of file
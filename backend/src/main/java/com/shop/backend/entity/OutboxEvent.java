@@ -0,0 +1,49 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 아직 처리되지 않은 도메인 이벤트 (구독자마다 한 행, DomainEventBus 참고)
+// 이벤트를 발행한 트랜잭션과 함께 저장되고, 구독자가 처리를 마치면 같은 트랜잭션에서 지워진다
+// available_at(epoch ms) 이후에만 다시 전달하며, attempts가 최대 재시도 횟수에 이르면 더 이상 전달하지 않는다
+@Entity
+@Table(name = "domain_event_outbox", indexes = {
+        @Index(name = "idx_domain_event_outbox_available_at", columnList = "available_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String subscriber;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private long availableAt;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
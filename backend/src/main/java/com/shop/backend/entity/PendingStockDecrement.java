@@ -0,0 +1,31 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 확정되었지만 아직 products.stock에 반영되지 않은 재고 차감 (StockReservationService 참고)
+// 주문과 같은 트랜잭션에서 저장되고, products.stock에 반영하는 트랜잭션에서 지워진다
+// 반영 전에 프로세스가 죽어도 남아 있으므로 다음 시작 때 반영된다
+@Entity
+@Table(name = "pending_stock_decrements")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PendingStockDecrement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+}
@@ -0,0 +1,41 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 예약되었지만 아직 상품에 반영되지 않은 썸네일 업로드 (ThumbnailUploadService 참고)
+// 상품 저장 직후 기록되고, 썸네일을 바꾸는 트랜잭션에서 지워진다
+// 반영 전에 프로세스가 죽거나 대기열이 가득 차 밀려나도 남아 있으므로 임시 파일로 다시 업로드한다
+@Entity
+@Table(name = "pending_thumbnail_uploads", indexes = @Index(name = "idx_pending_thumbnail_uploads_product", columnList = "product_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PendingThumbnailUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 새로 예약할 때 같은 상품의 이전 기록을 지운다 (동시에 예약되어 둘 이상 남으면 가장 최근 것만 다시 업로드)
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "file_path", nullable = false, length = 1024)
+    private String filePath;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
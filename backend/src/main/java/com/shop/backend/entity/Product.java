@@ -8,16 +8,35 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // 커서 기반 목록 조회 (정렬 기준 값, id) 탐색용
+        @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_products_price_id", columnList = "price, id")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Product {
+
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    // 대량 등록(ProductImportService)이 같은 생성기에서 id 블록을 받아 JDBC 배치 INSERT 하도록 테이블 기반 pooled 생성기를 쓴다
+    // (기존 데이터와의 충돌 방지는 IdGeneratorInitializer 참고)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id_generator")
+    @TableGenerator(
+            name = "product_id_generator",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "products",
+            allocationSize = Product.ID_ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -35,6 +54,12 @@ public class Product {
     @Column(length = 500)
     private String thumbnail;
 
+    // 너비별 축소 썸네일 URL (너비 -> URL). 업로드가 끝나기 전이거나 이미지로 읽을 수 없으면 비어 있다
+    @Convert(converter = ThumbnailVariantsConverter.class)
+    @Column(length = 2000)
+    @Builder.Default
+    private Map<Integer, String> thumbnailVariants = new TreeMap<>();
+
     @Column(nullable = false, length = 50)
     private String category;
 
@@ -50,6 +75,11 @@ public class Product {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Review> reviews = new ArrayList<>();
 
+    // 별점 집계 (리뷰 변경 시 ProductRepository.adjustRating으로 갱신)
+    @Embedded
+    @Builder.Default
+    private RatingSummary rating = new RatingSummary();
+
     // 낙관적 락(Optimistic Lock)을 위한 버전 필드
     @Version
     private Integer version;
@@ -0,0 +1,49 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// 판매자의 상품별 일별 매출 집계 (판매 수량, 매출액, 주문 수)
+// 상품이 삭제되어도 지난 매출은 남도록 products를 참조하지 않고 ID만 둔다
+@Entity
+@Table(name = "product_daily_sales", indexes = {
+        @Index(name = "idx_product_daily_sales_seller_date", columnList = "seller_id, sales_date, product_id")
+})
+@IdClass(ProductDailySales.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductDailySales {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    private long units;
+    private long revenue;
+    private long orderCount;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long sellerId;
+        private Long productId;
+        private LocalDate salesDate;
+    }
+}
@@ -0,0 +1,46 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import org.hibernate.annotations.ColumnDefault;
+
+// 상품별 별점 집계 (리뷰 수, 별점 합계, 1~5점 분포)
+// 리뷰 작성/수정/삭제 시 ProductRepository.adjustRating으로만 갱신되며, 엔티티 저장 시에는 덮어쓰지 않는다
+@Embeddable
+@Getter
+public class RatingSummary {
+
+    @ColumnDefault("0")
+    @Column(name = "rating_count", nullable = false, insertable = false, updatable = false)
+    private int count;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    private long sum;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_1", nullable = false, insertable = false, updatable = false)
+    private int star1;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_2", nullable = false, insertable = false, updatable = false)
+    private int star2;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_3", nullable = false, insertable = false, updatable = false)
+    private int star3;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_4", nullable = false, insertable = false, updatable = false)
+    private int star4;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_5", nullable = false, insertable = false, updatable = false)
+    private int star5;
+
+    // 평균 별점 (리뷰가 없으면 0)
+    public double getAverage() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
@@ -29,6 +29,10 @@ public class Review {
     @Column(nullable = false)
     private int rating; // 별점 (1~5)
 
+    // 작성 시점의 구매 여부 (조회 시 주문 내역을 다시 확인하지 않도록 저장, 이전 데이터는 null)
+    @Column(name = "verified_purchase")
+    private Boolean verifiedPurchase;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 }
\ No newline at end of file
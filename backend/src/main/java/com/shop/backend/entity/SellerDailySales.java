@@ -0,0 +1,45 @@
+package com.shop.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// 판매자별 일별 매출 집계 (판매 수량, 매출액, 주문 수)
+// 주문 커밋 후 SalesRollupService가 증분으로 갱신하고, 배치로 원본(orders/order_items)에서 다시 계산한다
+// 주문 수는 그날 판매자의 상품이 하나라도 포함된 주문의 수 (상품별 주문 수의 합과 다를 수 있다)
+@Entity
+@Table(name = "seller_daily_sales", indexes = {
+        @Index(name = "idx_seller_daily_sales_seller_date", columnList = "seller_id, sales_date")
+})
+@IdClass(SellerDailySales.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SellerDailySales {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    private long units;
+    private long revenue;
+    private long orderCount;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long sellerId;
+        private LocalDate salesDate;
+    }
+}
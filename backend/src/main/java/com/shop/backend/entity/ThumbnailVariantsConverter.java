@@ -0,0 +1,44 @@
+package com.shop.backend.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// 썸네일 변형 URL (너비 -> URL)을 JSON 문자열 한 컬럼에 저장한다
+// 목록 조회 시 별도 테이블 조인/추가 조회가 생기지 않도록 상품 행에 함께 둔다
+@Converter
+public class ThumbnailVariantsConverter implements AttributeConverter<Map<Integer, String>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<Integer, String>> TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(Map<Integer, String> variants) {
+        if (variants == null || variants.isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(new TreeMap<>(variants));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("썸네일 변형 URL을 저장할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public Map<Integer, String> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new TreeMap<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("썸네일 변형 URL을 읽을 수 없습니다.", e);
+        }
+    }
+}
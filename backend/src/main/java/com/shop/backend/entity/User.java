@@ -1,6 +1,7 @@
 package com.shop.backend.entity;
 
 import com.shop.backend.dto.SignupRequest;
+import com.shop.backend.security.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,6 +13,7 @@ import java.util.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,6 @@
+package com.shop.backend.event;
+
+// DomainEventBus로 발행하는 이벤트
+// 구독자에게 가기 전에 JSON으로 아웃박스에 저장되므로 엔티티 대신 값만 담은 record로 만든다
+public interface DomainEvent {
+}
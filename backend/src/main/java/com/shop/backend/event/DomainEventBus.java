@@ -0,0 +1,300 @@
+package com.shop.backend.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 도메인 이벤트를 요청 트랜잭션 밖에서 처리하는 이벤트 버스 (트랜잭션 아웃박스)
+// - publish()는 구독자마다 아웃박스(domain_event_outbox)에 한 행을 발행한 트랜잭션 안에서 저장하고,
+//   커밋된 뒤에 구독자별 큐에 넣는다. 롤백되면 행도 전달도 없다
+// - 구독자마다 크기가 정해진 큐와 가상 스레드 소비자를 두어, 느린 구독자가 요청 스레드나 다른 구독자를 막지 않는다
+// - 소비자는 아웃박스 행 삭제와 구독자 처리를 한 트랜잭션으로 묶는다. 실패하면 롤백되어 행이 남고 점점 늦춰 다시 시도한다
+// - 큐가 가득 찼거나, 전달 전에 종료되었거나, 처리가 임대 시간(lease-ms)을 넘긴 행은 poll()이 주기적으로 다시 전달한다
+//   (여러 인스턴스가 있어도 available_at 조건부 UPDATE로 한 인스턴스만 가져가고, 먼저 지운 쪽만 처리한다)
+// - 같은 프로세스의 동기 리스너(@TransactionalEventListener: 캐시 무효화, 검색 색인 등)도 그대로 동작하도록 ApplicationEventPublisher로도 발행한다
+// 구독자 (DB에 남겨야 하는 후속 처리)
+// - review-notification(ReviewCreatedEvent): 리뷰 알림 저장과 실시간 전송 (NotificationService)
+// - sales-rollup(OrderPlacedEvent): 판매자 매출 집계 증분 (SalesRollupService)
+// 버스로 옮기지 않는 처리 (커밋 직후 동기 리스너로 남긴다)
+// - 상품 캐시 무효화(ProductCache): 커밋 직후 무효화해야 수정한 사람이 바로 다시 읽었을 때 이전 값을 보지 않는다
+// - 검색/자동완성/패싯 색인, 재고 카운터: 인스턴스마다 메모리에 따로 있는 상태라 모든 인스턴스가 같은 순서로 받아야 한다
+//   아웃박스 행은 한 인스턴스만 가져가고 구독자마다 소비자가 여럿이라 순서도 보장되지 않는다. 시작할 때 DB에서 다시 만들므로 내구성도 필요 없다
+// ※ DB에 반영하는 구독자는 한 번만 처리되지만, 외부로 보내는 작업(웹소켓 전송 등)은 드물게 두 번 일어날 수 있다
+@Slf4j
+@Component
+public class DomainEventBus {
+
+    private static final long MAX_RETRY_DELAY_MS = 600_000;
+
+    private static final String INSERT_OUTBOX = "INSERT INTO domain_event_outbox " +
+            "(subscriber, event_type, payload, attempts, available_at, created_at) VALUES (?, ?, ?, 0, ?, ?)";
+    private static final String DELETE_OUTBOX = "DELETE FROM domain_event_outbox WHERE id = ?";
+    private static final String RESCHEDULE_OUTBOX = "UPDATE domain_event_outbox SET attempts = ?, available_at = ? WHERE id = ?";
+    private static final String SELECT_DUE = "SELECT id, subscriber, payload, attempts, available_at FROM domain_event_outbox " +
+            "WHERE available_at <= ? AND attempts < ? ORDER BY id LIMIT ?";
+    private static final String CLAIM_OUTBOX = "UPDATE domain_event_outbox SET available_at = ? WHERE id = ? AND available_at = ?";
+
+    private record Delivery(long outboxId, Subscription<?> subscription, DomainEvent event, int attempts) {
+    }
+
+    private record OutboxRow(long id, String subscriber, String payload, int attempts, long availableAt) {
+    }
+
+    private static final class Subscription<T extends DomainEvent> {
+        private final String name;
+        private final Class<T> type;
+        private final Consumer<T> handler;
+        private final BlockingQueue<Delivery> queue;
+        private final Counter handled;
+        private final Counter failed;
+        private final Counter deferred;
+        private final List<Thread> workers = new ArrayList<>();
+
+        Subscription(String name, Class<T> type, Consumer<T> handler, int queueCapacity, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.type = type;
+            this.handler = handler;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.handled = meterRegistry.counter("events.deliveries", "subscriber", name, "result", "handled");
+            this.failed = meterRegistry.counter("events.deliveries", "subscriber", name, "result", "failed");
+            this.deferred = meterRegistry.counter("events.deliveries", "subscriber", name, "result", "deferred");
+            Gauge.builder("events.queue.size", queue, BlockingQueue::size).tag("subscriber", name).register(meterRegistry);
+        }
+
+        void handle(DomainEvent event) {
+            handler.accept(type.cast(event));
+        }
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int queueCapacity;
+    private final int consumers;
+    private final long leaseMs;
+    private final int pollBatchSize;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+
+    private final Map<String, Subscription<?>> subscriptionsByName = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Subscription<?>>> subscriptionsByType = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    public DomainEventBus(
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.events.consumers:2}") int consumers,
+            @Value("${app.events.lease-ms:60000}") long leaseMs,
+            @Value("${app.events.poll-batch-size:100}") int pollBatchSize,
+            @Value("${app.events.max-attempts:10}") int maxAttempts,
+            @Value("${app.events.retry-delay-ms:1000}") long retryDelayMs
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        this.consumers = Math.max(consumers, 1);
+        this.leaseMs = Math.max(leaseMs, 0);
+        this.pollBatchSize = Math.max(pollBatchSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryDelayMs = Math.max(retryDelayMs, 0);
+    }
+
+    // 구독자 등록 (name은 아웃박스 행에 저장되므로 바꾸면 남아 있던 행은 전달되지 않는다)
+    public synchronized <T extends DomainEvent> void subscribe(String name, Class<T> type, Consumer<T> handler) {
+        if (subscriptionsByName.containsKey(name)) {
+            throw new IllegalStateException("이미 등록된 구독자입니다: " + name);
+        }
+        Subscription<T> subscription = new Subscription<>(name, type, handler, queueCapacity, meterRegistry);
+        subscriptionsByName.put(name, subscription);
+        subscriptionsByType.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(subscription);
+        for (int i = 0; i < consumers; i++) {
+            subscription.workers.add(Thread.ofVirtual().name("domain-event-" + name + "-" + i)
+                    .start(() -> consume(subscription)));
+        }
+    }
+
+    // 이벤트 발행 (트랜잭션 안이면 커밋된 뒤에 구독자에게 전달)
+    public void publish(DomainEvent event) {
+        eventPublisher.publishEvent(event);
+
+        List<Subscription<?>> targets = subscriptionsByType.getOrDefault(event.getClass(), List.of());
+        if (targets.isEmpty()) {
+            return;
+        }
+        String payload = toJson(event);
+        long availableAt = System.currentTimeMillis() + leaseMs; // 커밋 후 전달이 처리하는 동안 poll()이 가져가지 않도록
+        List<Delivery> deliveries = new ArrayList<>(targets.size());
+        for (Subscription<?> subscription : targets) {
+            deliveries.add(new Delivery(insertOutbox(subscription.name, event, payload, availableAt), subscription, event, 0));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliveries.forEach(DomainEventBus.this::enqueue);
+                }
+            });
+        } else {
+            deliveries.forEach(this::enqueue);
+        }
+    }
+
+    // 전달되지 못했거나 재시도할 때가 된 아웃박스 행을 다시 전달한다
+    @Scheduled(fixedDelayString = "${app.events.poll-interval-ms:5000}")
+    public void poll() {
+        if (subscriptionsByName.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_DUE,
+                (rs, rowNum) -> new OutboxRow(rs.getLong("id"), rs.getString("subscriber"), rs.getString("payload"),
+                        rs.getInt("attempts"), rs.getLong("available_at")),
+                now, maxAttempts, pollBatchSize);
+
+        int redelivered = 0;
+        for (OutboxRow row : rows) {
+            Subscription<?> subscription = subscriptionsByName.get(row.subscriber());
+            if (subscription == null || subscription.queue.remainingCapacity() == 0) {
+                continue;
+            }
+            // 다른 인스턴스와 같은 행을 가져가지 않도록 임대 시간을 먼저 건 쪽만 전달한다
+            if (jdbcTemplate.update(CLAIM_OUTBOX, now + leaseMs, row.id(), row.availableAt()) == 0) {
+                continue;
+            }
+            DomainEvent event;
+            try {
+                event = objectMapper.readValue(row.payload(), subscription.type);
+            } catch (JsonProcessingException e) {
+                log.error("아웃박스 이벤트를 읽을 수 없어 전달하지 않습니다 - subscriber: {}, outboxId: {}", row.subscriber(), row.id(), e);
+                jdbcTemplate.update(RESCHEDULE_OUTBOX, maxAttempts, now, row.id());
+                continue;
+            }
+            enqueue(new Delivery(row.id(), subscription, event, row.attempts()));
+            redelivered++;
+        }
+        if (redelivered > 0) {
+            log.info("아웃박스 이벤트 {}건 다시 전달", redelivered);
+        }
+    }
+
+    // 큐에 남은 이벤트는 아웃박스에 있으므로 다음 시작 때 poll()이 다시 전달한다
+    @PreDestroy
+    public void stop() {
+        running = false;
+        subscriptionsByName.values().forEach(subscription -> subscription.workers.forEach(Thread::interrupt));
+    }
+
+    private long insertOutbox(String subscriber, DomainEvent event, String payload, long availableAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_OUTBOX, new String[]{"id"});
+            ps.setString(1, subscriber);
+            ps.setString(2, event.getClass().getSimpleName());
+            ps.setString(3, payload);
+            ps.setLong(4, availableAt);
+            ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, keyHolder);
+        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+    }
+
+    // 큐가 가득 차면 버리고 아웃박스에서 다시 전달되기를 기다린다 (요청 스레드를 막지 않는다)
+    private void enqueue(Delivery delivery) {
+        if (!running || !delivery.subscription().queue.offer(delivery)) {
+            delivery.subscription().deferred.increment();
+        }
+    }
+
+    private void consume(Subscription<?> subscription) {
+        while (running) {
+            Delivery delivery;
+            try {
+                delivery = subscription.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            process(delivery);
+        }
+    }
+
+    private void process(Delivery delivery) {
+        Subscription<?> subscription = delivery.subscription();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 먼저 지운 쪽만 처리한다 (임대 시간이 지나 다른 곳에서 이미 처리했으면 건너뜀)
+                if (jdbcTemplate.update(DELETE_OUTBOX, delivery.outboxId()) == 0) {
+                    return;
+                }
+                subscription.handle(delivery.event());
+            });
+            subscription.handled.increment();
+        } catch (Exception e) {
+            subscription.failed.increment();
+            int attempts = delivery.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("도메인 이벤트 처리 포기 - subscriber: {}, outboxId: {}, {}회 실패",
+                        subscription.name, delivery.outboxId(), attempts, e);
+            } else {
+                log.warn("도메인 이벤트 처리 실패 - subscriber: {}, outboxId: {}, 재시도 {}/{}",
+                        subscription.name, delivery.outboxId(), attempts, maxAttempts, e);
+            }
+            try {
+                jdbcTemplate.update(RESCHEDULE_OUTBOX, attempts, System.currentTimeMillis() + retryDelay(attempts), delivery.outboxId());
+            } catch (Exception rescheduleFailure) {
+                // 임대 시간이 지나면 poll()이 다시 가져간다
+                log.warn("아웃박스 재시도 예약 실패 - outboxId: {}", delivery.outboxId(), rescheduleFailure);
+            }
+        }
+    }
+
+    private long retryDelay(int attempts) {
+        return Math.min(retryDelayMs * (1L << Math.min(attempts - 1, 20)), MAX_RETRY_DELAY_MS);
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("도메인 이벤트를 저장할 수 없습니다: " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.shop.backend.event;
+
+import com.shop.backend.entity.Notification;
+
+// 알림이 알림함에 저장되었음을 알리는 이벤트 (커밋 이후 실시간 전송/안 읽은 수 갱신용)
+public record NotificationCreatedEvent(Notification notification, String recipientUsername) {
+}
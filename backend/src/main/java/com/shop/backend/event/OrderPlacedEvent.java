@@ -0,0 +1,27 @@
+package com.shop.backend.event;
+
+import com.shop.backend.entity.Order;
+import com.shop.backend.entity.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 주문이 생성되었음을 알리는 이벤트 (매출 집계 등 주문 이후 처리용)
+// 수신 측이 주문을 다시 조회하지 않도록 주문 상품별 판매자/가격/수량을 함께 담는다
+public record OrderPlacedEvent(Long orderId, LocalDateTime orderDate, List<Line> lines) implements DomainEvent {
+
+    public record Line(Long sellerId, Long productId, int orderPrice, int quantity) {
+    }
+
+    public static OrderPlacedEvent of(Order order) {
+        List<Line> lines = order.getOrderItems().stream()
+                .map(OrderPlacedEvent::toLine)
+                .toList();
+        return new OrderPlacedEvent(order.getId(), order.getOrderDate(), lines);
+    }
+
+    private static Line toLine(OrderItem item) {
+        return new Line(item.getProduct().getCreatedBy().getId(), item.getProduct().getId(),
+                item.getOrderPrice(), item.getQuantity());
+    }
+}
@@ -0,0 +1,50 @@
+package com.shop.backend.event;
+
+import com.shop.backend.entity.Product;
+
+// 상품의 등록/수정/삭제/재고/썸네일 변경을 알리는 이벤트
+// before: 변경 전 상태 (등록 시 null), after: 변경 후 상태 (삭제 시 null)
+// 등록/수정을 별도 타입으로 나누지 않는다: 받는 쪽(캐시, 색인, 재고 카운터)이 모두 커밋 직후의 동기 리스너이고,
+// 한 상품의 등록 -> 수정 -> 삭제를 한 리스너에서 발행 순서대로 받아야 변경 전/후 상태로 무효화 범위를 정할 수 있다
+// (아웃박스 구독자가 필요해지면 DomainEventBus 참고)
+public record ProductChangedEvent(Long productId, Type type, Snapshot before, Snapshot after) implements DomainEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED, STOCK_CHANGED, RATING_CHANGED, THUMBNAIL_CHANGED }
+
+    // 캐시 무효화 범위 판단에 필요한 필터 대상 값만 담는다
+    public record Snapshot(String category, int price) {
+        public static Snapshot of(Product product) {
+            return new Snapshot(product.getCategory(), product.getPrice());
+        }
+    }
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(product.getId(), Type.CREATED, null, Snapshot.of(product));
+    }
+
+    public static ProductChangedEvent updated(Product product, Snapshot before) {
+        return new ProductChangedEvent(product.getId(), Type.UPDATED, before, Snapshot.of(product));
+    }
+
+    public static ProductChangedEvent deleted(Product product) {
+        return new ProductChangedEvent(product.getId(), Type.DELETED, Snapshot.of(product), null);
+    }
+
+    // 재고만 바뀐 경우 (카테고리/가격은 그대로)
+    public static ProductChangedEvent stockChanged(Product product) {
+        Snapshot snapshot = Snapshot.of(product);
+        return new ProductChangedEvent(product.getId(), Type.STOCK_CHANGED, snapshot, snapshot);
+    }
+
+    // 별점 집계만 바뀐 경우 (카테고리/가격은 그대로)
+    public static ProductChangedEvent ratingChanged(Product product) {
+        Snapshot snapshot = Snapshot.of(product);
+        return new ProductChangedEvent(product.getId(), Type.RATING_CHANGED, snapshot, snapshot);
+    }
+
+    // 비동기 업로드가 끝나 썸네일만 바뀐 경우 (캐시만 비우면 되고, 재고/검색 색인은 영향 없음)
+    public static ProductChangedEvent thumbnailChanged(Product product) {
+        Snapshot snapshot = Snapshot.of(product);
+        return new ProductChangedEvent(product.getId(), Type.THUMBNAIL_CHANGED, snapshot, snapshot);
+    }
+}
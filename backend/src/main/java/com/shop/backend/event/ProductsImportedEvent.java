@@ -0,0 +1,10 @@
+package com.shop.backend.event;
+
+import com.shop.backend.repository.projection.ProductSearchRow;
+
+import java.util.List;
+
+// 대량 등록으로 한 배치의 상품이 저장되었음을 알리는 이벤트
+// 상품마다 ProductChangedEvent를 보내면 수신 측이 상품별로 다시 조회하므로, 색인에 필요한 값을 배치 단위로 함께 담는다
+public record ProductsImportedEvent(List<ProductSearchRow> products) {
+}
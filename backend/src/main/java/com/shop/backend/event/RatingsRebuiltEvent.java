@@ -0,0 +1,5 @@
+package com.shop.backend.event;
+
+// 전체 상품의 별점 집계가 재계산되었음을 알리는 이벤트
+public record RatingsRebuiltEvent(int productCount) {
+}
@@ -0,0 +1,13 @@
+package com.shop.backend.event;
+
+// 리뷰가 작성되었음을 알리는 이벤트 (상품 소유자 알림 등 리뷰 이후 처리용)
+public record ReviewCreatedEvent(
+        Long reviewId,
+        Long productId,
+        String productName,
+        Long productOwnerId,
+        String productOwnerUsername,
+        Long writerId,
+        String content
+) implements DomainEvent {
+}
@@ -0,0 +1,13 @@
+package com.shop.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 동시에 진행 중인 내보내기가 너무 많을 때 (잠시 후 다시 요청)
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ExportBusyException extends RuntimeException {
+
+    public ExportBusyException(String message) {
+        super(message);
+    }
+}
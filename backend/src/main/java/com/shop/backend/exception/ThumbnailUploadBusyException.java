@@ -0,0 +1,13 @@
+package com.shop.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 썸네일 업로드 대기열이 가득 찼을 때 (잠시 후 다시 요청)
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ThumbnailUploadBusyException extends RuntimeException {
+
+    public ThumbnailUploadBusyException(String message) {
+        super(message);
+    }
+}
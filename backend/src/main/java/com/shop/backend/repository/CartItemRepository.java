@@ -3,10 +3,23 @@ package com.shop.backend.repository;
 import com.shop.backend.entity.Cart;
 import com.shop.backend.entity.CartItem;
 import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.Optional;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     // 특정 장바구니에 특정 상품이 이미 담겨 있는지 확인
     Optional<CartItem> findByCartAndProduct(Cart cart, Product product);
+
+    // 사용자의 장바구니에서 주문된 상품들을 한 번의 DELETE로 제거
+    @Modifying
+    @Query("DELETE FROM CartItem ci " +
+            "WHERE ci.cart.id IN (SELECT c.id FROM Cart c WHERE c.user = :user) " +
+            "AND ci.product.id IN :productIds")
+    int deleteByUserAndProductIds(@Param("user") User user, @Param("productIds") Collection<Long> productIds);
 }
@@ -1,11 +1,38 @@
 package com.shop.backend.repository;
 
 import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.response.ChatMessageResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     // 특정 채팅방의 모든 메시지를 시간순으로 정렬해서 찾는 쿼리
     List<ChatMessage> findByChatRoomIdOrderByCreatedAtAsc(Long chatRoomId);
-}
\ No newline at end of file
+
+    // 특정 채팅방의 모든 메시지를 보낸 사람 정보와 함께 한 번에 조회 (오래된 순)
+    @Query("SELECT new com.shop.backend.response.ChatMessageResponse(m.id, m.message, m.createdAt, s.id, s.username) " +
+            "FROM ChatMessage m JOIN m.sender s " +
+            "WHERE m.chatRoom.id = :roomId " +
+            "ORDER BY m.id ASC")
+    List<ChatMessageResponse> findAllResponsesByRoomId(@Param("roomId") Long roomId);
+
+    // beforeId보다 이전 메시지를 최신순으로 조회 (beforeId가 null이면 가장 최근부터)
+    @Query("SELECT new com.shop.backend.response.ChatMessageResponse(m.id, m.message, m.createdAt, s.id, s.username) " +
+            "FROM ChatMessage m JOIN m.sender s " +
+            "WHERE m.chatRoom.id = :roomId " +
+            "AND (:beforeId IS NULL OR m.id < :beforeId) " +
+            "ORDER BY m.id DESC")
+    List<ChatMessageResponse> findResponsesBefore(@Param("roomId") Long roomId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // afterId 이후에 추가된 메시지를 오래된 순으로 조회 (재접속 시 누락분 동기화)
+    @Query("SELECT new com.shop.backend.response.ChatMessageResponse(m.id, m.message, m.createdAt, s.id, s.username) " +
+            "FROM ChatMessage m JOIN m.sender s " +
+            "WHERE m.chatRoom.id = :roomId " +
+            "AND m.id > :afterId " +
+            "ORDER BY m.id ASC")
+    List<ChatMessageResponse> findResponsesAfter(@Param("roomId") Long roomId, @Param("afterId") Long afterId, Pageable pageable);
+}
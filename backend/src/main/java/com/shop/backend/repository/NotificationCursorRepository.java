@@ -0,0 +1,13 @@
+package com.shop.backend.repository;
+
+import com.shop.backend.entity.NotificationCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationCursorRepository extends JpaRepository<NotificationCursor, Long> {
+
+    // 마지막으로 읽은 알림 ID (읽은 적이 없으면 0)
+    @Query("SELECT COALESCE(MAX(c.lastReadId), 0) FROM NotificationCursor c WHERE c.userId = :userId")
+    long findLastReadId(@Param("userId") Long userId);
+}
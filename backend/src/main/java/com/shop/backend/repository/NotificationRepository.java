@@ -0,0 +1,23 @@
+package com.shop.backend.repository;
+
+import com.shop.backend.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // 알림함 목록: beforeId보다 오래된 알림을 최신순으로 조회
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId AND n.id < :beforeId ORDER BY n.id DESC")
+    List<Notification> findHistory(@Param("recipientId") Long recipientId, @Param("beforeId") long beforeId, Pageable pageable);
+
+    // (lastReadId, upToId] 범위의 알림 수
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipientId = :recipientId AND n.id > :lastReadId AND n.id <= :upToId")
+    long countUnread(@Param("recipientId") Long recipientId, @Param("lastReadId") long lastReadId, @Param("upToId") long upToId);
+
+    @Query("SELECT COALESCE(MAX(n.id), 0) FROM Notification n WHERE n.recipientId = :recipientId")
+    long findLatestId(@Param("recipientId") Long recipientId);
+}
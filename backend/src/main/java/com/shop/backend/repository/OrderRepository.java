@@ -3,15 +3,31 @@ package com.shop.backend.repository;
 import com.shop.backend.entity.Order;
 import com.shop.backend.entity.Product;
 import com.shop.backend.entity.User;
+import com.shop.backend.repository.projection.OrderHeaderRow;
+import com.shop.backend.repository.projection.OrderLineRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    // 특정 사용자의 주문 목록을 페이징하여 조회
-    Page<Order> findByUser(User user, Pageable pageable);
+    // 특정 사용자의 주문 목록을 페이징하여 조회 (주문 상품은 findLinesByOrderIds로 따로 조회)
+    @Query(value = "SELECT new com.shop.backend.repository.projection.OrderHeaderRow(o.id, o.orderDate) " +
+            "FROM Order o WHERE o.user.id = :userId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderHeaderRow> findHeadersByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 여러 주문의 주문 상품과 상품 요약을 한 번의 쿼리로 조회
+    @Query("SELECT new com.shop.backend.repository.projection.OrderLineRow(" +
+            "oi.order.id, oi.product.id, p.name, p.thumbnail, oi.orderPrice, oi.quantity) " +
+            "FROM OrderItem oi LEFT JOIN oi.product p " +
+            "WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<OrderLineRow> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 
     // 특정 사용자가 특정 상품을 주문한 이력이 있는지 확인
     @Query(
@@ -22,4 +38,14 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                     "AND oi.product = :product"
     )
     boolean existsByUserAndProductInOrders(@Param("user") User user, @Param("product") Product product);
+
+    // 주어진 사용자들 중 특정 상품을 주문한 이력이 있는 사용자 ID만 한 번에 조회
+    @Query(
+            "SELECT DISTINCT o.user.id " +
+                    "FROM Order o " +
+                    "JOIN o.orderItems oi " +
+                    "WHERE oi.product.id = :productId " +
+                    "AND o.user.id IN :userIds"
+    )
+    Set<Long> findPurchaserIds(@Param("productId") Long productId, @Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
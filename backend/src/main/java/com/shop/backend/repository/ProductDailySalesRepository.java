@@ -0,0 +1,38 @@
+package com.shop.backend.repository;
+
+import com.shop.backend.entity.ProductDailySales;
+import com.shop.backend.repository.projection.ProductSalesRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProductDailySalesRepository extends JpaRepository<ProductDailySales, ProductDailySales.Key> {
+
+    // 판매자의 기간 내 상품별 매출 합계를 매출액 순으로 조회 (집계 행만 읽으므로 주문 수와 무관)
+    @Query("SELECT new com.shop.backend.repository.projection.ProductSalesRow(" +
+            "d.productId, p.name, SUM(d.units), SUM(d.revenue), SUM(d.orderCount)) " +
+            "FROM ProductDailySales d LEFT JOIN Product p ON p.id = d.productId " +
+            "WHERE d.sellerId = :sellerId AND d.salesDate BETWEEN :from AND :to " +
+            "GROUP BY d.productId, p.name " +
+            "ORDER BY SUM(d.revenue) DESC, d.productId")
+    List<ProductSalesRow> findTopByRevenue(@Param("sellerId") Long sellerId, @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to, Pageable pageable);
+
+    // 판매자의 기간 내 상품별 매출 합계를 판매 수량 순으로 조회
+    @Query("SELECT new com.shop.backend.repository.projection.ProductSalesRow(" +
+            "d.productId, p.name, SUM(d.units), SUM(d.revenue), SUM(d.orderCount)) " +
+            "FROM ProductDailySales d LEFT JOIN Product p ON p.id = d.productId " +
+            "WHERE d.sellerId = :sellerId AND d.salesDate BETWEEN :from AND :to " +
+            "GROUP BY d.productId, p.name " +
+            "ORDER BY SUM(d.units) DESC, d.productId")
+    List<ProductSalesRow> findTopByUnits(@Param("sellerId") Long sellerId, @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to, Pageable pageable);
+
+    // 한 상품의 기간 내 일별 매출
+    List<ProductDailySales> findBySellerIdAndProductIdAndSalesDateBetweenOrderBySalesDate(
+            Long sellerId, Long productId, LocalDate from, LocalDate to);
+}
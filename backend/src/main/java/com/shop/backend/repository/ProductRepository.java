@@ -2,13 +2,27 @@ package com.shop.backend.repository;
 
 import com.shop.backend.entity.Product;
 import com.shop.backend.entity.User;
+import com.shop.backend.repository.projection.ProductFacetRow;
+import com.shop.backend.repository.projection.ProductPopularityRow;
+import com.shop.backend.repository.projection.ProductSearchRow;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     // 카테고리와 가격 범위로 상품을 필터링하는 동적 쿼리
     @Query("SELECT p FROM Product p WHERE " +
             "(:category IS NULL OR p.category = :category) AND " +
@@ -21,6 +35,57 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             Pageable pageable
     );
 
+    // 여러 상품을 등록자와 함께 한 번에 조회 (주문 생성 시 사용)
+    // User.cart는 일대일 역방향이라 지연 로딩이 되지 않으므로, 행마다 추가 조회가 나가지 않도록 함께 가져온다
+    @Query("SELECT DISTINCT p FROM Product p JOIN FETCH p.createdBy u LEFT JOIN FETCH u.cart WHERE p.id IN :ids")
+    List<Product> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 검색 색인용: 전체 상품을 스트리밍 (트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.shop.backend.repository.projection.ProductSearchRow(p.id, p.name, p.description, p.category, p.price) " +
+            "FROM Product p")
+    Stream<ProductSearchRow> streamSearchRows();
+
+    // 검색 색인용: 상품 하나의 색인 필드 조회 (상품 등록/수정 시)
+    @Query("SELECT new com.shop.backend.repository.projection.ProductSearchRow(p.id, p.name, p.description, p.category, p.price) " +
+            "FROM Product p WHERE p.id = :id")
+    Optional<ProductSearchRow> findSearchRowById(@Param("id") Long id);
+
+    // 패싯 집계용: 전체 상품의 카테고리/가격을 스트리밍 (트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.shop.backend.repository.projection.ProductFacetRow(p.id, p.category, p.price) FROM Product p")
+    Stream<ProductFacetRow> streamFacetRows();
+
+    // 자동완성 색인용: 상품별 인기도(판매 수량 + 리뷰 수)를 스트리밍 (트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.shop.backend.repository.projection.ProductPopularityRow(" +
+            "p.id, p.name, p.category, COALESCE(SUM(oi.quantity), 0) + p.rating.count) " +
+            "FROM Product p LEFT JOIN OrderItem oi ON oi.product = p " +
+            "GROUP BY p.id, p.name, p.category, p.rating.count")
+    Stream<ProductPopularityRow> streamPopularityRows();
+
     // 특정 사용자가 생성한 상품 목록을 페이징하여 조회
     Page<Product> findByCreatedBy(User user, Pageable pageable);
+
+    // 별점 집계를 한 번의 UPDATE로 증감 (removed: 빠지는 별점, added: 더해지는 별점, 해당 없으면 0)
+    // 행 단위 원자적 연산이라 동시에 리뷰가 달려도 값이 유실되지 않으며, @Version은 올리지 않는다
+    @Modifying
+    @Query("UPDATE Product p SET " +
+            "p.rating.count = p.rating.count " +
+            "+ (CASE WHEN :added > 0 THEN 1 ELSE 0 END) - (CASE WHEN :removed > 0 THEN 1 ELSE 0 END), " +
+            "p.rating.sum = p.rating.sum + :added - :removed, " +
+            "p.rating.star1 = p.rating.star1 + (CASE WHEN :added = 1 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 1 THEN 1 ELSE 0 END), " +
+            "p.rating.star2 = p.rating.star2 + (CASE WHEN :added = 2 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 2 THEN 1 ELSE 0 END), " +
+            "p.rating.star3 = p.rating.star3 + (CASE WHEN :added = 3 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 3 THEN 1 ELSE 0 END), " +
+            "p.rating.star4 = p.rating.star4 + (CASE WHEN :added = 4 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 4 THEN 1 ELSE 0 END), " +
+            "p.rating.star5 = p.rating.star5 + (CASE WHEN :added = 5 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 5 THEN 1 ELSE 0 END) " +
+            "WHERE p.id = :productId")
+    int adjustRating(@Param("productId") Long productId, @Param("removed") int removed, @Param("added") int added);
+
+    // 비동기 업로드가 끝난 썸네일 반영 (업로드 중에 읽어 둔 엔티티로 덮어쓰지 않도록 버전도 올린다)
+    @Modifying
+    @Query("UPDATE Product p SET p.thumbnail = :thumbnail, p.thumbnailVariants = :variants, p.version = p.version + 1 " +
+            "WHERE p.id = :productId")
+    int updateThumbnail(@Param("productId") Long productId, @Param("thumbnail") String thumbnail,
+                        @Param("variants") Map<Integer, String> variants);
 }
@@ -0,0 +1,19 @@
+package com.shop.backend.repository;
+
+import com.shop.backend.dto.ProductCursor;
+import com.shop.backend.entity.Product;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+    // 카테고리와 가격 범위 필터 + 커서 이후의 상품을 limit개까지 조회 (OFFSET, COUNT 없음)
+    List<Product> findWithFiltersAfter(
+            String category,
+            Integer minPrice,
+            Integer maxPrice,
+            Sort.Order order,
+            ProductCursor cursor,
+            int limit
+    );
+}
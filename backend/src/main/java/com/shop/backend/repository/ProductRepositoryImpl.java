@@ -0,0 +1,81 @@
+package com.shop.backend.repository;
+
+import com.shop.backend.dto.ProductCursor;
+import com.shop.backend.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Product> findWithFiltersAfter(String category, Integer minPrice, Integer maxPrice,
+                                              Sort.Order order, ProductCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        product.fetch("createdBy"); // 등록자를 한 번에 함께 조회
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (category != null) {
+            predicates.add(cb.equal(product.get("category"), category));
+        }
+        if (minPrice != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), minPrice));
+        }
+        if (maxPrice != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), maxPrice));
+        }
+
+        boolean ascending = order.isAscending();
+        Path<Long> id = product.get("id");
+        Path<?> sortKey = product.get(order.getProperty());
+
+        // 커서가 있으면 (정렬 기준 값, id) 조합이 커서보다 뒤에 있는 상품만 조회
+        if (cursor != null) {
+            predicates.add(switch (cursor.property()) {
+                case "createdAt" -> after(cb, product.get("createdAt"), (LocalDateTime) cursor.value(), id, cursor.id(), ascending);
+                case "price" -> after(cb, product.get("price"), (Integer) cursor.value(), id, cursor.id(), ascending);
+                default -> ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            });
+        }
+
+        query.select(product)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(
+                        ascending ? cb.asc(sortKey) : cb.desc(sortKey),
+                        ascending ? cb.asc(id) : cb.desc(id) // 정렬 값이 같은 상품은 id로 순서 고정
+                );
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // (key, id) > (value, lastId) 또는 < 조건을 인덱스를 탈 수 있는 형태로 만든다
+    private <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Path<Y> key, Y value,
+                                                               Path<Long> id, Long lastId, boolean ascending) {
+        if (ascending) {
+            return cb.or(
+                    cb.greaterThan(key, value),
+                    cb.and(cb.equal(key, value), cb.greaterThan(id, lastId))
+            );
+        }
+        return cb.or(
+                cb.lessThan(key, value),
+                cb.and(cb.equal(key, value), cb.lessThan(id, lastId))
+        );
+    }
+}
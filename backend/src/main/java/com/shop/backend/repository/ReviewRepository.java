@@ -3,13 +3,51 @@ package com.shop.backend.repository;
 import com.shop.backend.entity.Product;
 import com.shop.backend.entity.Review;
 import com.shop.backend.entity.User;
+import com.shop.backend.repository.projection.RatingCount;
+import com.shop.backend.repository.projection.ReviewRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     Page<Review> findByProduct(Product product, Pageable pageable);
 
     // 특정 사용자가 작성한 리뷰 목록을 페이징하여 조회
     Page<Review> findByUser(User user, Pageable pageable);
-}
\ No newline at end of file
+
+    // 상품별 리뷰 목록을 작성자/상품 정보와 함께 한 번의 쿼리로 조회
+    @Query(value = "SELECT new com.shop.backend.repository.projection.ReviewRow(" +
+                    "r.id, u.id, u.username, r.content, r.rating, r.createdAt, p.thumbnail, p.name, r.verifiedPurchase) " +
+                    "FROM Review r JOIN r.user u JOIN r.product p " +
+                    "WHERE p.id = :productId",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId")
+    Page<ReviewRow> findRowsByProductId(@Param("productId") Long productId, Pageable pageable);
+
+    // 특정 사용자가 작성한 리뷰 목록을 상품 정보와 함께 한 번의 쿼리로 조회
+    @Query(value = "SELECT new com.shop.backend.repository.projection.ReviewRow(" +
+                    "r.id, u.id, u.username, r.content, r.rating, r.createdAt, p.thumbnail, p.name, r.verifiedPurchase) " +
+                    "FROM Review r JOIN r.user u JOIN r.product p " +
+                    "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.user.id = :userId")
+    Page<ReviewRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 상품 ID 범위의 상품별/별점별 리뷰 수 (별점 집계 재계산용, 상품 ID 순)
+    @Query("SELECT new com.shop.backend.repository.projection.RatingCount(r.product.id, r.rating, COUNT(r)) " +
+            "FROM Review r WHERE r.product.id BETWEEN :fromId AND :toId " +
+            "GROUP BY r.product.id, r.rating ORDER BY r.product.id")
+    List<RatingCount> findRatingCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 구매 여부가 저장되지 않은 이전 리뷰들의 값을 주문 내역으로 채운다
+    @Modifying
+    @Query("UPDATE Review r SET r.verifiedPurchase = " +
+            "CASE WHEN EXISTS (" +
+            "SELECT oi.id FROM OrderItem oi WHERE oi.order.user = r.user AND oi.product = r.product" +
+            ") THEN true ELSE false END " +
+            "WHERE r.verifiedPurchase IS NULL")
+    int backfillVerifiedPurchase();
+}
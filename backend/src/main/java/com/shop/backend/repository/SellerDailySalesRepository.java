@@ -0,0 +1,12 @@
+package com.shop.backend.repository;
+
+import com.shop.backend.entity.SellerDailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SellerDailySalesRepository extends JpaRepository<SellerDailySales, SellerDailySales.Key> {
+    // 판매자의 기간 내 일별 매출 (매출이 없는 날은 행이 없다)
+    List<SellerDailySales> findBySellerIdAndSalesDateBetweenOrderBySalesDate(Long sellerId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,7 @@
+package com.shop.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+// 주문 내역 페이지 1단계: 주문 ID와 주문 일시만 페이징 조회
+public record OrderHeaderRow(Long id, LocalDateTime orderDate) {
+}
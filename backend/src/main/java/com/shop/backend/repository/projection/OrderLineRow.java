@@ -0,0 +1,5 @@
+package com.shop.backend.repository.projection;
+
+// 주문 내역 페이지 2단계: 주문 상품과 상품 요약(이름, 썸네일)을 한 번에 조회 (삭제된 상품은 이름/썸네일이 null)
+public record OrderLineRow(Long orderId, Long productId, String productName, String thumbnail, int orderPrice, int quantity) {
+}
@@ -0,0 +1,5 @@
+package com.shop.backend.repository.projection;
+
+// 필터 패싯 집계용 상품 카테고리/가격
+public record ProductFacetRow(Long id, String category, int price) {
+}
@@ -0,0 +1,5 @@
+package com.shop.backend.repository.projection;
+
+// 자동완성 색인용 상품 이름/카테고리와 인기도 (판매 수량 + 리뷰 수)
+public record ProductPopularityRow(Long id, String name, String category, long popularity) {
+}
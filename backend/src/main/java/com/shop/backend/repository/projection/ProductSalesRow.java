@@ -0,0 +1,5 @@
+package com.shop.backend.repository.projection;
+
+// 기간 동안의 상품별 매출 합계 (삭제된 상품은 name이 null)
+public record ProductSalesRow(Long productId, String name, long units, long revenue, long orderCount) {
+}
@@ -0,0 +1,5 @@
+package com.shop.backend.repository.projection;
+
+// 검색 색인에 필요한 상품 필드만 조회하는 프로젝션
+public record ProductSearchRow(Long id, String name, String description, String category, int price) {
+}
@@ -0,0 +1,5 @@
+package com.shop.backend.repository.projection;
+
+// 상품별/별점별 리뷰 수 (별점 집계 재계산용)
+public record RatingCount(Long productId, int rating, long count) {
+}
@@ -0,0 +1,17 @@
+package com.shop.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+// 리뷰 목록 조회용 프로젝션 (작성자/상품 엔티티를 로딩하지 않고 필요한 컬럼만 한 번에 조회)
+public record ReviewRow(
+        Long reviewId,
+        Long userId,
+        String username,
+        String content,
+        int rating,
+        LocalDateTime createdAt,
+        String productThumbnailUrl,
+        String productName,
+        Boolean verifiedPurchase // 작성 시점에 저장된 구매 여부 (이전 데이터는 null)
+) {
+}
@@ -0,0 +1,17 @@
+package com.shop.backend.response;
+
+import com.shop.backend.search.AutocompleteIndex;
+import lombok.Getter;
+
+@Getter
+public class AutocompleteResponse {
+    private final String text;
+    private final String type;      // PRODUCT 또는 CATEGORY
+    private final Long productId;   // 상품 이름 추천일 때만 (카테고리는 null)
+
+    public AutocompleteResponse(AutocompleteIndex.Suggestion suggestion) {
+        this.text = suggestion.text();
+        this.type = suggestion.type().name();
+        this.productId = suggestion.productId();
+    }
+}
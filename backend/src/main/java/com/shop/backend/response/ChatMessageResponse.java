@@ -24,6 +24,14 @@ public class ChatMessageResponse {
         }
     }
 
+    // 보낸 사람 정보까지 한 번의 쿼리로 조회할 때 사용 (JPQL 생성자 표현식)
+    public ChatMessageResponse(Long id, String message, LocalDateTime createdAt, Long senderId, String senderUsername) {
+        this.id = id;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.sender = new SenderResponse(senderId, senderUsername);
+    }
+
     public ChatMessageResponse(ChatMessage chatMessage) {
         this.id = chatMessage.getId();
         this.message = chatMessage.getMessage();
@@ -0,0 +1,15 @@
+package com.shop.backend.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 기반 목록 응답 (전체 개수 없이 다음 커서만 제공)
+@Getter
+@AllArgsConstructor
+public class CursorResponse<T> {
+    private final List<T> content;
+    private final String nextCursor; // 다음 페이지가 없으면 null
+    private final boolean hasNext;
+}
@@ -0,0 +1,43 @@
+package com.shop.backend.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 상품 목록 필터 사이드바용 개수
+// - categories: 현재 가격 조건에서 카테고리별 상품 수 (카테고리 조건은 적용하지 않음)
+// - priceBuckets: 현재 카테고리 조건에서 가격대별 상품 수 (가격 조건은 적용하지 않음)
+@Getter
+public class FacetResponse {
+    private final List<CategoryCount> categories;
+    private final List<PriceBucketCount> priceBuckets;
+
+    public FacetResponse(List<CategoryCount> categories, List<PriceBucketCount> priceBuckets) {
+        this.categories = categories;
+        this.priceBuckets = priceBuckets;
+    }
+
+    @Getter
+    public static class CategoryCount {
+        private final String category;
+        private final long count;
+
+        public CategoryCount(String category, long count) {
+            this.category = category;
+            this.count = count;
+        }
+    }
+
+    @Getter
+    public static class PriceBucketCount {
+        private final int minPrice;       // 이상
+        private final Integer maxPrice;   // 이하 (마지막 구간은 null)
+        private final long count;
+
+        public PriceBucketCount(int minPrice, Integer maxPrice, long count) {
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.count = count;
+        }
+    }
+}
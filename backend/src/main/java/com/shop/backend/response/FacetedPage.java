@@ -0,0 +1,19 @@
+package com.shop.backend.response;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+// 기존 Page 응답 형태에 facets 필드만 더한 목록 응답
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final FacetResponse facets;
+
+    public FacetedPage(Page<T> page, FacetResponse facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+
+    public FacetResponse getFacets() {
+        return facets;
+    }
+}
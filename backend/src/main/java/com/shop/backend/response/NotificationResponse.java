@@ -1,15 +1,28 @@
 package com.shop.backend.response;
 
-import lombok.AllArgsConstructor;
+import com.shop.backend.entity.Notification;
 import lombok.Getter;
 import java.time.LocalDateTime;
 
 @Getter
-@AllArgsConstructor
 public class NotificationResponse {
-    private String message;
-    private Long productId;
-    private String productName;
-    private String content;
-    private LocalDateTime createdAt;
-}
\ No newline at end of file
+    private final Long id;
+    private final Notification.Type type;
+    private final String message;
+    private final Long productId;
+    private final String productName;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final boolean read;
+
+    public NotificationResponse(Notification notification, boolean read) {
+        this.id = notification.getId();
+        this.type = notification.getType();
+        this.message = notification.getMessage();
+        this.productId = notification.getProductId();
+        this.productName = notification.getProductName();
+        this.content = notification.getContent();
+        this.createdAt = notification.getCreatedAt();
+        this.read = read;
+    }
+}
@@ -1,21 +1,21 @@
 package com.shop.backend.response;
 
 import com.shop.backend.entity.OrderItem;
-import lombok.Getter;
-
-@Getter
-public class OrderItemResponse {
-    private Long productId;
-    private String productName;
-    private int quantity;
-    private int orderPrice;
-    private String thumbnailUrl;
+import com.shop.backend.repository.projection.OrderLineRow;
 
+public record OrderItemResponse(
+        Long productId,
+        String productName,
+        int quantity,
+        int orderPrice,
+        String thumbnailUrl
+) {
     public OrderItemResponse(OrderItem orderItem) {
-        this.productId = orderItem.getProduct().getId();
-        this.productName = orderItem.getProduct().getName();
-        this.quantity = orderItem.getQuantity();
-        this.orderPrice = orderItem.getOrderPrice();
-        this.thumbnailUrl = orderItem.getProduct().getThumbnail();
+        this(orderItem.getProduct().getId(), orderItem.getProduct().getName(), orderItem.getQuantity(),
+                orderItem.getOrderPrice(), orderItem.getProduct().getThumbnail());
+    }
+
+    public OrderItemResponse(OrderLineRow line) {
+        this(line.productId(), line.productName(), line.quantity(), line.orderPrice(), line.thumbnail());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.shop.backend.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 상품 대량 등록 진행 상황/결과
+// errors에는 앞쪽 일부 행의 오류만 담고, 전체 실패 행 수는 failedRows로 알려준다
+@Getter
+@AllArgsConstructor
+public class ProductImportResponse {
+    private final String importId;
+    private final String status;       // RUNNING, COMPLETED, FAILED
+    private final long processedRows;  // 읽은 데이터 행 수 (헤더 제외)
+    private final long importedRows;
+    private final long failedRows;
+    private final List<RowError> errors;
+    private final String message;      // 파일 전체를 처리하지 못한 경우 그 이유
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private final long line;       // 파일에서의 줄 번호
+        private final String message;
+    }
+}
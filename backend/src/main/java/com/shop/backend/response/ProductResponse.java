@@ -1,11 +1,13 @@
 package com.shop.backend.response;
 
-import lombok.AllArgsConstructor;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.RatingSummary;
 import lombok.Getter;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Getter
-@AllArgsConstructor
 public class ProductResponse {
     private Long id;
     private String name;
@@ -13,7 +15,23 @@ public class ProductResponse {
     private String description;
     private int stock;
     private String thumbnail;
+    private Map<Integer, String> thumbnailSrcset; // 너비 -> 축소 이미지 URL (작은 카드에는 가장 작은 적합한 이미지를 쓴다)
     private String category;
     private LocalDateTime createdAt;
     private final Long createdById;
-}
\ No newline at end of file
+    private RatingResponse rating; // 별점 집계 (상품 행에 함께 저장되어 있어 추가 조회 없음)
+
+    public ProductResponse(Product product) {
+        this.id = product.getId();
+        this.name = product.getName();
+        this.price = product.getPrice();
+        this.description = product.getDescription();
+        this.stock = product.getStock();
+        this.thumbnail = product.getThumbnail();
+        this.thumbnailSrcset = product.getThumbnailVariants() != null ? new TreeMap<>(product.getThumbnailVariants()) : Map.of();
+        this.category = product.getCategory();
+        this.createdAt = product.getCreatedAt();
+        this.createdById = product.getCreatedBy().getId();
+        this.rating = new RatingResponse(product.getRating() != null ? product.getRating() : new RatingSummary());
+    }
+}
@@ -0,0 +1,22 @@
+package com.shop.backend.response;
+
+import com.shop.backend.repository.projection.ProductSalesRow;
+import lombok.Getter;
+
+// 기간 동안의 상품별 매출 (삭제된 상품은 productName이 null)
+@Getter
+public class ProductSalesResponse {
+    private final Long productId;
+    private final String productName;
+    private final long units;
+    private final long revenue;
+    private final long orderCount;
+
+    public ProductSalesResponse(ProductSalesRow row) {
+        this.productId = row.productId();
+        this.productName = row.name();
+        this.units = row.units();
+        this.revenue = row.revenue();
+        this.orderCount = row.orderCount();
+    }
+}
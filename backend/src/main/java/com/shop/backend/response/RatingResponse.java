@@ -0,0 +1,25 @@
+package com.shop.backend.response;
+
+import com.shop.backend.entity.RatingSummary;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public class RatingResponse {
+    private final double average; // 소수점 첫째 자리까지
+    private final int count;
+    private final Map<Integer, Integer> histogram; // 별점(1~5) -> 리뷰 수
+
+    public RatingResponse(RatingSummary summary) {
+        this.average = Math.round(summary.getAverage() * 10) / 10.0;
+        this.count = summary.getCount();
+        this.histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getStar1());
+        histogram.put(2, summary.getStar2());
+        histogram.put(3, summary.getStar3());
+        histogram.put(4, summary.getStar4());
+        histogram.put(5, summary.getStar5());
+    }
+}
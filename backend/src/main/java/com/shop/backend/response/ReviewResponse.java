@@ -1,6 +1,7 @@
 package com.shop.backend.response;
 
 import com.shop.backend.entity.Review;
+import com.shop.backend.repository.projection.ReviewRow;
 import lombok.Getter;
 import java.time.LocalDateTime;
 
@@ -25,4 +26,15 @@ public class ReviewResponse {
         this.productName = review.getProduct().getName();
         this.purchased = purchased;
     }
+
+    public ReviewResponse(ReviewRow row, boolean purchased) {
+        this.reviewId = row.reviewId();
+        this.username = row.username();
+        this.content = row.content();
+        this.rating = row.rating();
+        this.createdAt = row.createdAt();
+        this.productThumbnailUrl = row.productThumbnailUrl();
+        this.productName = row.productName();
+        this.purchased = purchased;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.shop.backend.response;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// 하루 매출 (판매가 없던 날은 0)
+@Getter
+public class SalesDailyResponse {
+    private final LocalDate date;
+    private final long units;
+    private final long revenue;
+    private final long orderCount;
+
+    public SalesDailyResponse(LocalDate date, long units, long revenue, long orderCount) {
+        this.date = date;
+        this.units = units;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+    }
+}
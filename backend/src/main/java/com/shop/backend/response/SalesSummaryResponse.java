@@ -0,0 +1,26 @@
+package com.shop.backend.response;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 기간 매출 합계와 일별 추이
+@Getter
+public class SalesSummaryResponse {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long units;
+    private final long revenue;
+    private final long orderCount;
+    private final List<SalesDailyResponse> daily;
+
+    public SalesSummaryResponse(LocalDate from, LocalDate to, List<SalesDailyResponse> daily) {
+        this.from = from;
+        this.to = to;
+        this.units = daily.stream().mapToLong(SalesDailyResponse::getUnits).sum();
+        this.revenue = daily.stream().mapToLong(SalesDailyResponse::getRevenue).sum();
+        this.orderCount = daily.stream().mapToLong(SalesDailyResponse::getOrderCount).sum();
+        this.daily = daily;
+    }
+}
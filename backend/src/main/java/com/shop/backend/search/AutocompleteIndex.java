@@ -0,0 +1,301 @@
+package com.shop.backend.search;
+
+import com.shop.backend.repository.projection.ProductPopularityRow;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 상품 이름/카테고리 접두어 자동완성 색인
+// - 기본 색인(Snapshot): 정렬된 키 배열 + 최댓값 세그먼트 트리 (불변, 백그라운드에서 통째로 다시 만든다)
+//   접두어에 해당하는 키 구간을 이진 탐색으로 찾고, 세그먼트 트리에서 인기도 높은 순으로 limit개만 꺼낸다
+// - 상품 이름은 단어 시작 위치마다 키를 만든다 ("삼성 무선 이어폰" -> 삼성무선이어폰, 무선이어폰, 이어폰)
+// - 재구성 사이의 상품 등록/수정/삭제는 작은 overlay에 쌓아 조회 시 함께 합친다
+@Component
+public class AutocompleteIndex {
+
+    public enum Type { PRODUCT, CATEGORY }
+
+    public record Suggestion(String text, Type type, Long productId, long popularity) {
+    }
+
+    // overlay 항목 (seq: 재구성 시작 이후에 들어온 변경인지 판단하는 순번)
+    private record OverlayEntry(Suggestion suggestion, List<String> keys, long seq) {
+    }
+
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // 재구성 이후 등록/수정된 상품 (상품 ID -> 항목)
+    private final Map<Long, OverlayEntry> overlay = new ConcurrentHashMap<>();
+    // 기본 색인에서 가려야 하는 상품 (수정/삭제됨, 상품 ID -> seq)
+    private final Map<Long, Long> tombstones = new ConcurrentHashMap<>();
+    // 기본 색인에 없는 새 카테고리
+    private final Map<String, OverlayEntry> overlayCategories = new ConcurrentHashMap<>();
+    private final AtomicLong seq = new AtomicLong();
+
+    // 상품 목록으로 기본 색인을 새로 만들어 교체한다
+    // 반환값은 재구성 시작 시점의 순번이며, 교체 후 이 순번 이전의 overlay는 기본 색인에 반영된 것으로 보고 지운다
+    public long beginRebuild() {
+        return seq.incrementAndGet();
+    }
+
+    public void completeRebuild(List<ProductPopularityRow> rows, long rebuildSeq) {
+        snapshot = Snapshot.build(rows);
+        overlay.values().removeIf(entry -> entry.seq() < rebuildSeq);
+        tombstones.values().removeIf(entrySeq -> entrySeq < rebuildSeq);
+        overlayCategories.values().removeIf(entry -> entry.seq() < rebuildSeq);
+    }
+
+    // 상품 등록/수정 반영 (인기도는 기본 색인의 값을 유지, 새 상품은 0)
+    public void upsert(Long productId, String name, String category) {
+        long entrySeq = seq.incrementAndGet();
+        Snapshot current = snapshot;
+        long popularity = current.popularityOf(productId);
+
+        Suggestion suggestion = new Suggestion(name, Type.PRODUCT, productId, popularity);
+        overlay.put(productId, new OverlayEntry(suggestion, nameKeys(name), entrySeq));
+        tombstones.put(productId, entrySeq);
+
+        if (category != null && !current.hasCategory(category) && !overlayCategories.containsKey(category)) {
+            Suggestion categorySuggestion = new Suggestion(category, Type.CATEGORY, null, 0);
+            overlayCategories.put(category, new OverlayEntry(categorySuggestion,
+                    List.of(ProductTokenizer.normalizeForPrefix(category)), entrySeq));
+        }
+    }
+
+    public void remove(Long productId) {
+        long entrySeq = seq.incrementAndGet();
+        overlay.remove(productId);
+        tombstones.put(productId, entrySeq);
+    }
+
+    public int size() {
+        return snapshot.suggestions.length;
+    }
+
+    // 접두어로 시작하는 이름/카테고리를 인기도 순으로 limit개 반환 (같은 문구는 한 번만)
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = ProductTokenizer.normalizeForPrefix(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<String, Suggestion> result = new LinkedHashMap<>();
+        Snapshot current = snapshot;
+        current.collect(key, limit, tombstones.keySet(), result);
+
+        // overlay는 크기가 작으므로 전부 훑는다
+        List<Suggestion> recent = new ArrayList<>();
+        for (OverlayEntry entry : overlay.values()) {
+            if (entry.keys().stream().anyMatch(k -> k.startsWith(key))) {
+                recent.add(entry.suggestion());
+            }
+        }
+        for (OverlayEntry entry : overlayCategories.values()) {
+            if (entry.keys().get(0).startsWith(key)) {
+                recent.add(entry.suggestion());
+            }
+        }
+        if (recent.isEmpty()) {
+            return new ArrayList<>(result.values());
+        }
+
+        List<Suggestion> merged = new ArrayList<>(result.values());
+        merged.addAll(recent);
+        merged.sort(Comparator.comparingLong(Suggestion::popularity).reversed());
+        Map<String, Suggestion> deduplicated = new LinkedHashMap<>();
+        for (Suggestion suggestion : merged) {
+            deduplicated.putIfAbsent(dedupKey(suggestion), suggestion);
+            if (deduplicated.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(deduplicated.values());
+    }
+
+    static List<String> nameKeys(String name) {
+        List<String> keys = new ArrayList<>();
+        if (name == null) {
+            return keys;
+        }
+        String[] words = name.trim().split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            String key = ProductTokenizer.normalizeForPrefix(String.join("", Arrays.asList(words).subList(i, words.length)));
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static String dedupKey(Suggestion suggestion) {
+        return suggestion.type() + ":" + ProductTokenizer.normalizeForPrefix(suggestion.text());
+    }
+
+    // 불변 기본 색인
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new Suggestion[0], Map.of(), Set.of());
+
+        final String[] keys;              // 정렬된 키
+        final int[] suggestionOfKey;      // 키 위치 -> suggestions 인덱스
+        final Suggestion[] suggestions;
+        final Map<Long, Long> popularityByProductId;
+        final Set<String> categories;
+        final int leafStart;              // 세그먼트 트리에서 첫 리프의 위치 (2의 거듭제곱)
+        final int[] tree;                 // 노드 -> 구간 내 인기도 최대인 키 위치 (-1: 없음)
+
+        Snapshot(String[] keys, int[] suggestionOfKey, Suggestion[] suggestions,
+                 Map<Long, Long> popularityByProductId, Set<String> categories) {
+            this.keys = keys;
+            this.suggestionOfKey = suggestionOfKey;
+            this.suggestions = suggestions;
+            this.popularityByProductId = popularityByProductId;
+            this.categories = categories;
+
+            int leaves = Integer.highestOneBit(Math.max(keys.length, 1));
+            if (leaves < keys.length) {
+                leaves <<= 1;
+            }
+            this.leafStart = leaves;
+            this.tree = new int[leaves * 2];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < keys.length; i++) {
+                tree[leaves + i] = i;
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                tree[node] = better(tree[node * 2], tree[node * 2 + 1]);
+            }
+        }
+
+        static Snapshot build(List<ProductPopularityRow> rows) {
+            List<Suggestion> suggestions = new ArrayList<>(rows.size());
+            Map<Long, Long> popularityByProductId = new HashMap<>(rows.size() * 2);
+            Map<String, Long> categoryPopularity = new HashMap<>();
+
+            for (ProductPopularityRow row : rows) {
+                suggestions.add(new Suggestion(row.name(), Type.PRODUCT, row.id(), row.popularity()));
+                popularityByProductId.put(row.id(), row.popularity());
+                if (row.category() != null) {
+                    // 카테고리 인기도 = 소속 상품 인기도 합 + 상품 수
+                    categoryPopularity.merge(row.category(), row.popularity() + 1, Long::sum);
+                }
+            }
+            categoryPopularity.forEach((category, popularity) ->
+                    suggestions.add(new Suggestion(category, Type.CATEGORY, null, popularity)));
+
+            // (키, suggestion 인덱스) 쌍을 만들어 키 순으로 정렬
+            List<String> keyList = new ArrayList<>();
+            List<Integer> owners = new ArrayList<>();
+            for (int i = 0; i < suggestions.size(); i++) {
+                Suggestion suggestion = suggestions.get(i);
+                List<String> keys = suggestion.type() == Type.PRODUCT
+                        ? nameKeys(suggestion.text())
+                        : List.of(ProductTokenizer.normalizeForPrefix(suggestion.text()));
+                for (String key : keys) {
+                    keyList.add(key);
+                    owners.add(i);
+                }
+            }
+            Integer[] order = new Integer[keyList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(keyList::get));
+
+            String[] keys = new String[order.length];
+            int[] suggestionOfKey = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = keyList.get(order[i]);
+                suggestionOfKey[i] = owners.get(order[i]);
+            }
+            return new Snapshot(keys, suggestionOfKey, suggestions.toArray(new Suggestion[0]),
+                    popularityByProductId, new HashSet<>(categoryPopularity.keySet()));
+        }
+
+        long popularityOf(Long productId) {
+            return popularityByProductId.getOrDefault(productId, 0L);
+        }
+
+        boolean hasCategory(String category) {
+            return categories.contains(category);
+        }
+
+        // 접두어 구간에서 인기도 높은 순으로 꺼내 result에 limit개까지 채운다
+        void collect(String prefix, int limit, Set<Long> hiddenProductIds, Map<String, Suggestion> result) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + MAX_CHAR);
+            if (from >= to) {
+                return;
+            }
+
+            // 구간 [from, to)를 덮는 노드들에서 시작해 최댓값이 큰 노드부터 펼친다
+            PriorityQueue<Integer> nodes = new PriorityQueue<>(
+                    Comparator.comparingLong((Integer node) -> popularityAt(tree[node])).reversed());
+            for (int l = from + leafStart, r = to + leafStart; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    nodes.add(l++);
+                }
+                if ((r & 1) == 1) {
+                    nodes.add(--r);
+                }
+            }
+
+            while (!nodes.isEmpty() && result.size() < limit) {
+                int node = nodes.poll();
+                if (tree[node] < 0) {
+                    continue;
+                }
+                if (node >= leafStart) {
+                    Suggestion suggestion = suggestions[suggestionOfKey[tree[node]]];
+                    if (suggestion.productId() == null || !hiddenProductIds.contains(suggestion.productId())) {
+                        result.putIfAbsent(dedupKey(suggestion), suggestion);
+                    }
+                } else {
+                    nodes.add(node * 2);
+                    nodes.add(node * 2 + 1);
+                }
+            }
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int better(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return popularityAt(a) >= popularityAt(b) ? a : b;
+        }
+
+        private long popularityAt(int keyIndex) {
+            return keyIndex < 0 ? Long.MIN_VALUE : suggestions[suggestionOfKey[keyIndex]].popularity();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.shop.backend.search;
+
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.event.ProductsImportedEvent;
+import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.repository.projection.ProductFacetRow;
+import com.shop.backend.response.FacetResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// 상품 목록 필터 사이드바용 카테고리/가격대 개수
+// - (카테고리 x 가격대) 개수 표를 상품 변경 이벤트로 증감하며 유지한다
+// - 가격 조건이 없거나 가격대 경계와 맞으면 표만으로 계산한다
+// - 경계와 맞지 않는 가격 조건일 때만, 메모리에 둔 (카테고리, 가격) 열 배열을 훑어 카테고리별 개수를 센다 (DB 조회 없음)
+// - 전체 재구성 중에 이벤트로 등록/수정/삭제된 상품은 재구성이 읽은 예전 행으로 덮어쓰지 않는다
+@Slf4j
+@Component
+public class ProductFacetIndex {
+
+    private final ProductRepository productRepository;
+    private final int[] bounds; // 가격대 경계 (오름차순). 구간 i = [bounds[i-1], bounds[i])
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final List<long[]> counts = new ArrayList<>(); // 카테고리 ID -> 가격대별 개수
+
+    // 상품별 (카테고리, 가격) 열 배열. 삭제된 자리는 재사용한다
+    private final Map<Long, Integer> slotByProductId = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int[] slotCategories = new int[1024];
+    private int[] slotPrices = new int[1024];
+    private int slotCount;
+
+    // 재구성 중 이벤트로 반영된 상품 ID (재구성 중이 아니면 null)
+    private Set<Long> changedDuringRebuild;
+
+    public ProductFacetIndex(
+            ProductRepository productRepository,
+            @Value("${app.facets.price-buckets:10000,30000,50000,100000,300000}") int[] bounds
+    ) {
+        this.productRepository = productRepository;
+        this.bounds = Arrays.stream(bounds).filter(bound -> bound > 0).sorted().distinct().toArray();
+    }
+
+    public FacetResponse getFacets(String category, Integer minPrice, Integer maxPrice) {
+        lock.readLock().lock();
+        try {
+            int bucketCount = bounds.length + 1;
+            Integer categoryId = category != null ? categoryIds.get(category) : null;
+
+            // 가격대별 개수: 카테고리 조건만 적용
+            long[] bucketCounts = new long[bucketCount];
+            if (category == null) {
+                for (long[] row : counts) {
+                    for (int b = 0; b < bucketCount; b++) {
+                        bucketCounts[b] += row[b];
+                    }
+                }
+            } else if (categoryId != null) {
+                bucketCounts = counts.get(categoryId).clone();
+            }
+
+            // 카테고리별 개수: 가격 조건만 적용
+            long[] categoryCounts = new long[categoryNames.size()];
+            int fromBucket = alignedFromBucket(minPrice);
+            int toBucket = alignedToBucket(maxPrice);
+            if (fromBucket >= 0 && toBucket >= 0) {
+                for (int c = 0; c < categoryCounts.length; c++) {
+                    long[] row = counts.get(c);
+                    for (int b = fromBucket; b < toBucket; b++) {
+                        categoryCounts[c] += row[b];
+                    }
+                }
+            } else {
+                int min = minPrice != null ? minPrice : Integer.MIN_VALUE;
+                int max = maxPrice != null ? maxPrice : Integer.MAX_VALUE;
+                for (int slot = 0; slot < slotCount; slot++) {
+                    int c = slotCategories[slot];
+                    if (c >= 0 && slotPrices[slot] >= min && slotPrices[slot] <= max) {
+                        categoryCounts[c]++;
+                    }
+                }
+            }
+
+            List<FacetResponse.CategoryCount> categoryFacets = new ArrayList<>();
+            for (int c = 0; c < categoryCounts.length; c++) {
+                if (categoryCounts[c] > 0) {
+                    categoryFacets.add(new FacetResponse.CategoryCount(categoryNames.get(c), categoryCounts[c]));
+                }
+            }
+            categoryFacets.sort(Comparator.comparingLong(FacetResponse.CategoryCount::getCount).reversed()
+                    .thenComparing(FacetResponse.CategoryCount::getCategory));
+
+            List<FacetResponse.PriceBucketCount> priceFacets = new ArrayList<>(bucketCount);
+            for (int b = 0; b < bucketCount; b++) {
+                int from = b == 0 ? 0 : bounds[b - 1];
+                Integer to = b < bounds.length ? bounds[b] - 1 : null;
+                priceFacets.add(new FacetResponse.PriceBucketCount(from, to, bucketCounts[b]));
+            }
+            return new FacetResponse(categoryFacets, priceFacets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 전체 상품으로 개수 표를 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            categoryIds.clear();
+            categoryNames.clear();
+            counts.clear();
+            slotByProductId.clear();
+            freeSlots.clear();
+            slotCount = 0;
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try (Stream<ProductFacetRow> rows = productRepository.streamFacetRows()) {
+            rows.forEach(row -> addFromRebuild(row.id(), row.category(), row.price()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("상품 패싯 집계 생성 완료 - 상품 {}개, 카테고리 {}개", slotByProductId.size(), categoryNames.size());
+    }
+
+    // 등록/수정/삭제가 커밋된 뒤 반영 (이벤트에 변경 후 카테고리/가격이 담겨 있어 DB를 다시 읽지 않는다)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> upsert(event.productId(), event.after().category(), event.after().price());
+            case DELETED -> remove(event.productId());
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.products().forEach(row -> upsert(row.id(), row.category(), row.price()));
+    }
+
+    private void upsert(Long productId, String category, int price) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(productId);
+            }
+            put(productId, category, price);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 재구성 중 이벤트로 이미 바뀐 상품이면 재구성이 읽은 행은 버린다
+    private void addFromRebuild(Long productId, String category, int price) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild == null || !changedDuringRebuild.contains(productId)) {
+                put(productId, category, price);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 쓰기 락 안에서 호출
+    private void put(Long productId, String category, int price) {
+        removeSlot(productId);
+
+        int categoryId = categoryIds.computeIfAbsent(category, name -> {
+            categoryNames.add(name);
+            counts.add(new long[bounds.length + 1]);
+            return categoryNames.size() - 1;
+        });
+        counts.get(categoryId)[bucketOf(price)]++;
+
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            slot = slotCount++;
+            if (slot == slotPrices.length) {
+                slotPrices = Arrays.copyOf(slotPrices, slot * 2);
+                slotCategories = Arrays.copyOf(slotCategories, slot * 2);
+            }
+        }
+        slotCategories[slot] = categoryId;
+        slotPrices[slot] = price;
+        slotByProductId.put(productId, slot);
+    }
+
+    private void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(productId);
+            }
+            removeSlot(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeSlot(Long productId) {
+        Integer slot = slotByProductId.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        counts.get(slotCategories[slot])[bucketOf(slotPrices[slot])]--;
+        slotCategories[slot] = -1;
+        freeSlots.push(slot);
+    }
+
+    private int bucketOf(int price) {
+        int index = Arrays.binarySearch(bounds, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    // minPrice가 가격대 시작 경계와 같으면 그 가격대 번호, 아니면 -1
+    private int alignedFromBucket(Integer minPrice) {
+        if (minPrice == null || minPrice <= 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(bounds, minPrice);
+        return index >= 0 ? index + 1 : -1;
+    }
+
+    // maxPrice가 가격대 끝(다음 경계 - 1)과 같으면 그 다음 가격대 번호, 아니면 -1
+    private int alignedToBucket(Integer maxPrice) {
+        if (maxPrice == null || maxPrice == Integer.MAX_VALUE) {
+            return bounds.length + 1;
+        }
+        if (maxPrice < 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(bounds, maxPrice + 1);
+        return index >= 0 ? index + 1 : -1;
+    }
+}
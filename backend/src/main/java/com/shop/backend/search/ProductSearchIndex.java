@@ -0,0 +1,358 @@
+package com.shop.backend.search;
+
+import com.shop.backend.repository.projection.ProductSearchRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 상품 이름/설명에 대한 메모리 역색인 (BM25 랭킹)
+// - 상품마다 내부 순번(ordinal)을 부여하고, 토큰별 posting 목록에 (순번, 빈도)를 순번 오름차순으로 쌓는다
+//   posting 하나는 int 하나에 (순번 << 8 | 빈도)로 담아 상품 100만 개에서도 메모리를 아낀다
+// - 검색은 질의 토큰들의 posting 목록을 순번 순으로 병합하면서 점수를 계산한다 (문서별 임시 배열 없음)
+// - 수정/삭제된 상품은 삭제 표시만 하고, 삭제 표시가 많아지면 한 번에 정리(compact)한다
+// - 카테고리/가격 필터는 순번별로 보관한 값으로 검색 중에 바로 거른다
+// - 전체 재구성 중에 이벤트로 등록/수정/삭제된 상품은 기록해 두고, 재구성이 읽은 예전 행으로 덮어쓰지 않는다
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    public record SearchResult(List<Long> productIds, long totalHits) {
+    }
+
+    private record Hit(float score, int ordinal) {
+    }
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int NAME_WEIGHT = 2; // 이름에 나온 토큰은 설명보다 2배로 센다
+
+    private static final int FREQ_BITS = 8;
+    private static final int MAX_FREQ = (1 << FREQ_BITS) - 1;
+    private static final int MAX_ORDINALS = Integer.MAX_VALUE >>> FREQ_BITS;
+    private static final int MIN_DELETED_FOR_COMPACT = 1_000;
+
+    // 토큰별 posting 목록 (순번 오름차순)
+    private static final class Postings {
+        int[] entries = new int[2];
+        int size;
+
+        void add(int ordinal, int freq) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = (ordinal << FREQ_BITS) | Math.min(freq, MAX_FREQ);
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalByProductId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    // 재구성 중 이벤트로 반영된 상품 ID (재구성 중이 아니면 null)
+    private Set<Long> changedDuringRebuild;
+
+    // 순번별 상품 정보
+    private long[] productIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int[] prices = new int[1024];
+    private String[] categories = new String[1024];
+
+    private int docCount;     // 지금까지 부여한 순번 수 (삭제 표시 포함)
+    private int liveCount;    // 삭제되지 않은 상품 수
+    private long totalLength; // 삭제되지 않은 상품의 토큰 수 합계
+
+    // 상품을 색인에 추가하거나, 이미 있으면 새 내용으로 교체한다
+    public void upsert(ProductSearchRow row) {
+        index(row, false);
+    }
+
+    // 재구성이 읽은 행을 추가한다. 재구성 중에 이벤트로 바뀐 상품이면 이미 최신 상태이므로 건너뛴다
+    public void addFromRebuild(ProductSearchRow row) {
+        index(row, true);
+    }
+
+    private void index(ProductSearchRow row, boolean fromRebuild) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        for (String token : ProductTokenizer.tokenize(row.name())) {
+            termFreqs.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : ProductTokenizer.tokenize(row.description())) {
+            termFreqs.merge(token, 1, Integer::sum);
+        }
+        int length = termFreqs.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            if (!recordChange(row.id(), fromRebuild)) {
+                return;
+            }
+            markDeleted(row.id());
+            if (docCount == MAX_ORDINALS) {
+                compact();
+                if (docCount == MAX_ORDINALS) {
+                    throw new IllegalStateException("검색 색인 용량을 초과했습니다.");
+                }
+            }
+
+            int ordinal = docCount++;
+            ensureCapacity(docCount);
+            productIds[ordinal] = row.id();
+            docLengths[ordinal] = length;
+            prices[ordinal] = row.price();
+            categories[ordinal] = row.category() != null ? row.category().intern() : null;
+            ordinalByProductId.put(row.id(), ordinal);
+            liveCount++;
+            totalLength += length;
+
+            termFreqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new Postings()).add(ordinal, freq));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            recordChange(productId, false);
+            markDeleted(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 색인을 비우고 재구성을 시작한다. 이후 addFromRebuild로 전체 상품을 넣고 completeRebuild로 끝낸다
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalByProductId.clear();
+            deleted.clear();
+            docCount = 0;
+            liveCount = 0;
+            totalLength = 0;
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeRebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 이벤트로 들어온 변경은 재구성 중이면 기록하고, 재구성이 읽은 행은 기록된 상품이면 반영하지 않는다 (쓰기 락 안에서 호출)
+    private boolean recordChange(Long productId, boolean fromRebuild) {
+        if (changedDuringRebuild == null) {
+            return true;
+        }
+        if (fromRebuild) {
+            return !changedDuringRebuild.contains(productId);
+        }
+        changedDuringRebuild.add(productId);
+        return true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 질의어로 상품을 찾아 점수 순으로 offset부터 limit개의 상품 ID를 반환한다
+    // 질의 토큰이 2개 이하면 모두 포함해야 하고, 그보다 많으면 75% 이상 포함해야 결과에 들어간다
+    public SearchResult search(String query, String category, Integer minPrice, Integer maxPrice, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(ProductTokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        int minMatch = terms.size() <= 2 ? terms.size() : (int) Math.ceil(terms.size() * 0.75);
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+
+            int termCount = terms.size();
+            int[][] lists = new int[termCount][];
+            int[] sizes = new int[termCount];
+            float[] idfs = new float[termCount];
+            int present = 0;
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null) {
+                    continue;
+                }
+                lists[present] = p.entries;
+                sizes[present] = p.size;
+                // df에는 아직 정리되지 않은 삭제 표시가 섞여 있을 수 있지만, 정리 주기상 오차는 작다
+                idfs[present] = (float) Math.log(1 + (liveCount - p.size + 0.5) / (p.size + 0.5));
+                present++;
+            }
+            if (present < minMatch) {
+                return new SearchResult(List.of(), 0);
+            }
+
+            float avgLength = (float) totalLength / liveCount;
+            int topK = offset + limit;
+            // 점수가 낮은 순(동점이면 오래된 상품 순)으로 꺼내지는 상위 topK 힙
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(topK, 1),
+                    Comparator.comparingDouble(Hit::score).thenComparingLong(hit -> productIds[hit.ordinal()]));
+            long totalHits = 0;
+
+            int[] cursors = new int[present];
+            int[] freqs = new int[present];
+            while (true) {
+                // 아직 남아 있는 posting 중 가장 작은 순번
+                int ordinal = Integer.MAX_VALUE;
+                for (int t = 0; t < present; t++) {
+                    if (cursors[t] < sizes[t]) {
+                        ordinal = Math.min(ordinal, lists[t][cursors[t]] >>> FREQ_BITS);
+                    }
+                }
+                if (ordinal == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                // 이 순번을 가진 토큰의 빈도를 모으고 커서를 전진
+                int matched = 0;
+                for (int t = 0; t < present; t++) {
+                    if (cursors[t] < sizes[t] && lists[t][cursors[t]] >>> FREQ_BITS == ordinal) {
+                        freqs[t] = lists[t][cursors[t]] & MAX_FREQ;
+                        matched++;
+                        cursors[t]++;
+                    } else {
+                        freqs[t] = 0;
+                    }
+                }
+                if (matched < minMatch || deleted.get(ordinal) || !matchesFilter(ordinal, category, minPrice, maxPrice)) {
+                    continue;
+                }
+
+                totalHits++;
+                float score = 0;
+                float lengthNorm = K1 * (1 - B + B * docLengths[ordinal] / avgLength);
+                for (int t = 0; t < present; t++) {
+                    if (freqs[t] > 0) {
+                        score += idfs[t] * (freqs[t] * (K1 + 1)) / (freqs[t] + lengthNorm);
+                    }
+                }
+                if (topK > 0) {
+                    if (top.size() < topK) {
+                        top.add(new Hit(score, ordinal));
+                    } else if (score > top.peek().score()) {
+                        top.poll();
+                        top.add(new Hit(score, ordinal));
+                    }
+                }
+            }
+
+            // 힙은 낮은 점수부터 나오므로 뒤집어서 offset 이후만 사용
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(productIds[top.poll().ordinal()]);
+            }
+            List<Long> page = new ArrayList<>(Math.max(ranked.size() - offset, 0));
+            for (int i = ranked.size() - 1 - offset; i >= 0; i--) {
+                page.add(ranked.get(i));
+            }
+            return new SearchResult(page, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matchesFilter(int ordinal, String category, Integer minPrice, Integer maxPrice) {
+        return (category == null || category.equals(categories[ordinal]))
+                && (minPrice == null || prices[ordinal] >= minPrice)
+                && (maxPrice == null || prices[ordinal] <= maxPrice);
+    }
+
+    private void markDeleted(Long productId) {
+        Integer ordinal = ordinalByProductId.remove(productId);
+        if (ordinal != null) {
+            deleted.set(ordinal);
+            liveCount--;
+            totalLength -= docLengths[ordinal];
+        }
+    }
+
+    private void compactIfNeeded() {
+        int deletedCount = docCount - liveCount;
+        if (deletedCount >= MIN_DELETED_FOR_COMPACT && deletedCount > docCount / 4) {
+            compact();
+        }
+    }
+
+    // 삭제 표시된 순번을 제거하고 남은 상품에 순번을 다시 부여한다 (쓰기 락 안에서 호출)
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = next;
+            productIds[next] = productIds[ordinal];
+            docLengths[next] = docLengths[ordinal];
+            prices[next] = prices[ordinal];
+            categories[next] = categories[ordinal];
+            ordinalByProductId.put(productIds[next], next);
+            next++;
+        }
+        Arrays.fill(categories, next, docCount, null);
+
+        // 순번 순서가 그대로 유지되므로 posting 목록도 정렬 상태가 유지된다
+        postings.values().removeIf(p -> {
+            int kept = 0;
+            for (int i = 0; i < p.size; i++) {
+                int newOrdinal = remap[p.entries[i] >>> FREQ_BITS];
+                if (newOrdinal >= 0) {
+                    p.entries[kept++] = (newOrdinal << FREQ_BITS) | (p.entries[i] & MAX_FREQ);
+                }
+            }
+            p.size = kept;
+            return kept == 0;
+        });
+
+        log.debug("검색 색인 정리 - 순번 {} -> {}", docCount, next);
+        docCount = next;
+        deleted.clear();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, newCapacity);
+        docLengths = Arrays.copyOf(docLengths, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        categories = Arrays.copyOf(categories, newCapacity);
+    }
+}
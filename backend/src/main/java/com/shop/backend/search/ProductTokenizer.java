@@ -0,0 +1,78 @@
+package com.shop.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 상품 검색용 토크나이저
+// - 글자/숫자가 아닌 문자로 단어를 나누고, 영문은 소문자로 통일한다
+// - 한글은 형태소 분석 대신 2글자 단위(bigram)로 자른다 ("무선이어폰" -> 무선, 선이, 이어, 어폰)
+//   띄어쓰기/조사가 달라도 부분 일치로 찾을 수 있다. 한 글자 단어는 그대로 둔다
+// - 영문/숫자는 단어 전체를 하나의 토큰으로 사용한다
+public final class ProductTokenizer {
+
+    private ProductTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            char c = normalized.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                addBigrams(normalized, start, i, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(normalized.charAt(i)) && !isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                tokens.add(normalized.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    // 자동완성 키용 정규화: 소문자 + 공백 제거 ("무선 이어폰"과 "무선이어폰"을 같게 본다)
+    public static String normalizeForPrefix(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void addBigrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣')     // 완성형 음절
+                || (c >= 'ㄱ' && c <= 'ㆎ'); // 호환 자모 (ㄱ, ㅏ 등)
+    }
+}
@@ -0,0 +1,95 @@
+package com.shop.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.backend.entity.User;
+import com.shop.backend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// JWT 토큰 -> 인증된 사용자 캐시
+// 한 번 검증한 토큰 문자열과 완전히 같은 토큰만 캐시에서 꺼내므로 서명을 다시 검증할 필요가 없고,
+// 짧은 TTL 동안은 인증을 위해 DB를 조회하지 않는다. 만료 시각은 캐시 적중 시에도 확인한다.
+// - 엔티티 대신 인증에 필요한 값(id, 사용자명, 권한)만 불변 스냅샷으로 두고, 꺼낼 때마다 새 User를 만들어 준다
+//   (요청끼리 같은 객체를 공유하지 않으므로 한 요청이 고친 값이 다른 요청에 보이지 않는다)
+// - 사용자 수정/삭제 시 제거(evict)는 이 인스턴스에만 적용된다
+//   여러 인스턴스(app.cluster.transport=relay)에서는 TTL을 cluster-ttl-seconds 이하로 줄여 다른 인스턴스에 남은 값이 오래 쓰이지 않게 한다
+@Component
+public class AuthenticatedUserCache {
+
+    private final JwtProvider jwtProvider;
+    private final UserRepository userRepository;
+    private final Cache<String, CachedPrincipal> principals;
+
+    private record CachedPrincipal(Long userId, String username, String role, long expiresAtMillis) {
+
+        static CachedPrincipal of(User user, long expiresAtMillis) {
+            return new CachedPrincipal(user.getId(), user.getUsername(), user.getRole(), expiresAtMillis);
+        }
+
+        User toUser() {
+            return User.builder()
+                    .id(userId)
+                    .username(username)
+                    .role(role)
+                    .build();
+        }
+    }
+
+    public AuthenticatedUserCache(
+            JwtProvider jwtProvider,
+            UserRepository userRepository,
+            @Value("${app.auth-cache.max-size:10000}") long maxSize,
+            @Value("${app.auth-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.auth-cache.cluster-ttl-seconds:5}") long clusterTtlSeconds,
+            @Value("${app.cluster.transport:none}") String clusterTransport,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtProvider = jwtProvider;
+        this.userRepository = userRepository;
+        long effectiveTtlSeconds = "relay".equalsIgnoreCase(clusterTransport)
+                ? Math.min(ttlSeconds, clusterTtlSeconds)
+                : ttlSeconds;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(effectiveTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principals");
+    }
+
+    // 토큰에 해당하는 사용자 (유효하지 않은 토큰이거나 사용자가 없으면 null)
+    public User getUser(String token) {
+        CachedPrincipal cached = principals.getIfPresent(token);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached.toUser();
+            }
+            principals.invalidate(token);
+            return null;
+        }
+
+        Claims claims = jwtProvider.parseClaims(token); // 서명/만료 검증은 여기서 한 번만
+        if (claims == null) {
+            return null;
+        }
+
+        User user = userRepository.findByUsername(claims.getSubject()).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        CachedPrincipal principal = CachedPrincipal.of(user, claims.getExpiration().getTime());
+        principals.put(token, principal);
+        return principal.toUser();
+    }
+
+    // 사용자 정보가 바뀌면 해당 사용자의 캐시를 모두 제거
+    public void evict(Long userId) {
+        principals.asMap().values().removeIf(principal -> principal.userId().equals(userId));
+    }
+}
@@ -1,8 +1,11 @@
 package com.shop.backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,8 +30,29 @@ public class JwtProvider {
     @Value("${app.jwt-expiration-milliseconds}")
     private long jwtExpirationMs;
 
+    // 서명 키와 파서는 한 번만 만들어 재사용한다 (JwtParser는 thread-safe)
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecretString.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecretString.getBytes());
+        return signingKey;
+    }
+
+    // 토큰을 한 번만 검증/파싱하여 클레임을 반환 (유효하지 않으면 null)
+    public Claims parseClaims(String token) {
+        try {
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     public String generateToken(String username) {
@@ -44,31 +68,12 @@ public class JwtProvider {
     }
 
     public String getUsernameFromToken(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (Exception e) {
-            // 실제 운영 환경에서는 로깅을 사용하는 것이 좋습니다.
-            // e.printStackTrace();
-            return null;
-        }
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            // e.printStackTrace();
-            return false;
-        }
+        return parseClaims(token) != null;
     }
 
     public Authentication getAuthentication(String token) {
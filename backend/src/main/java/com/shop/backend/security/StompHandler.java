@@ -1,12 +1,17 @@
 package com.shop.backend.security;
 
+import com.shop.backend.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -17,43 +22,37 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class StompHandler implements ChannelInterceptor {
 
-    private final JwtProvider jwtProvider;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
-        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        // wrap()은 복사본을 만들기 때문에 setUser가 세션에 반영되지 않는다. 원본 메시지의 accessor를 사용한다
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            accessor = StompHeaderAccessor.wrap(message);
+        }
 
-        log.info("📨 STOMP 메시지 수신 - Command: {}, Destination: {}",
+        // 프레임마다 호출되므로 기본 로그 레벨(INFO)에서는 남기지 않는다
+        log.debug("📨 STOMP 메시지 수신 - Command: {}, Destination: {}",
                 accessor.getCommand(), accessor.getDestination());
 
         if (StompCommand.CONNECT.equals(accessor.getCommand())) {
             String jwt = accessor.getFirstNativeHeader("Authorization");
 
-            log.info("🔐 JWT 토큰 확인 - 존재 여부: {}", jwt != null);
-
             if (jwt != null && jwt.startsWith("Bearer ")) {
                 String token = jwt.substring(7);
 
                 try {
-                    if (jwtProvider.validateToken(token)) {
-                        Authentication auth = jwtProvider.getAuthentication(token);
+                    User user = authenticatedUserCache.getUser(token);
+                    if (user != null) {
+                        Authentication auth = new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities());
                         SecurityContextHolder.getContext().setAuthentication(auth);
                         accessor.setUser(auth);
 
                         Objects.requireNonNull(accessor.getSessionAttributes()).put("username", auth.getName());
 
                         // ⭐️ 핵심: Principal 이름 확인
-                        log.info("✅ 웹소켓 인증 성공");
-                        log.info("👤 Principal 이름: {}", auth.getName());
-                        log.info("🔍 Principal 클래스: {}", auth.getClass().getSimpleName());
-
-                        // 만약 CustomUserPrincipal 같은 걸 사용한다면 추가 정보도 확인
-                        if (auth.getPrincipal() instanceof org.springframework.security.core.userdetails.User) {
-                            org.springframework.security.core.userdetails.User userDetails =
-                                    (org.springframework.security.core.userdetails.User) auth.getPrincipal();
-                            log.info("🔍 UserDetails username: {}", userDetails.getUsername());
-                        }
-
+                        log.debug("✅ 웹소켓 인증 성공 - Principal 이름: {}", auth.getName());
                     } else {
                         log.warn("❌ JWT 토큰 검증 실패");
                     }
@@ -70,10 +69,10 @@ public class StompHandler implements ChannelInterceptor {
 
     @Override
     public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
-        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
-
-        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
-            log.info("📡 STOMP CONNECT 응답 전송 완료 - 성공: {}", sent);
+        // wrap()은 헤더를 복사하므로 프레임마다 하지 않고 메시지 타입 헤더만 본다
+        if (log.isDebugEnabled()
+                && SimpMessageType.CONNECT.equals(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
+            log.debug("📡 STOMP CONNECT 응답 전송 완료 - 성공: {}", sent);
         }
     }
 }
\ No newline at end of file
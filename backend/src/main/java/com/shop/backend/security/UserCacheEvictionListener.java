@@ -0,0 +1,37 @@
+package com.shop.backend.security;
+
+import com.shop.backend.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// User 엔티티가 수정/삭제되면 인증 캐시에서 해당 사용자를 제거한다 (커밋 이후)
+@Component
+public class UserCacheEvictionListener {
+
+    private final AuthenticatedUserCache authenticatedUserCache;
+
+    // 엔티티 리스너는 EntityManagerFactory 생성 중에 만들어지므로 순환 의존을 피하기 위해 지연 주입한다
+    public UserCacheEvictionListener(@Lazy AuthenticatedUserCache authenticatedUserCache) {
+        this.authenticatedUserCache = authenticatedUserCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    authenticatedUserCache.evict(userId);
+                }
+            });
+        } else {
+            authenticatedUserCache.evict(userId);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.shop.backend.service;
+
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.event.ProductsImportedEvent;
+import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.repository.projection.ProductPopularityRow;
+import com.shop.backend.response.AutocompleteResponse;
+import com.shop.backend.search.AutocompleteIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// 검색창 자동완성
+// - 전용 백그라운드 스레드가 상품 테이블에서 인기도(판매 수량 + 리뷰 수)를 읽어 주기적으로 색인을 다시 만든다
+//   (@Scheduled 공용 스레드를 오래 점유하지 않도록 별도 스레드 사용)
+// - 재구성 사이의 상품 등록/수정/삭제는 커밋 이후 이벤트로 즉시 반영한다
+// - 대량 등록은 overlay를 키우지 않도록 잠시 모았다가 색인을 한 번 다시 만든다
+@Slf4j
+@Service
+public class AutocompleteService {
+
+    public static final int MAX_LIMIT = 20;
+
+    // 대량 등록 배치가 이어서 들어오는 동안 재구성을 한 번으로 모으는 대기 시간
+    private static final long IMPORT_REBUILD_DELAY_SECONDS = 5;
+
+    private final AutocompleteIndex autocompleteIndex;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long rebuildIntervalMinutes;
+    private final AtomicBoolean importRebuildScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+            Thread.ofPlatform().name("autocomplete-rebuild").daemon(true).unstarted(runnable));
+
+    public AutocompleteService(
+            AutocompleteIndex autocompleteIndex,
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.autocomplete.rebuild-interval-minutes:10}") long rebuildIntervalMinutes
+    ) {
+        this.autocompleteIndex = autocompleteIndex;
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildIntervalMinutes = rebuildIntervalMinutes;
+    }
+
+    public List<AutocompleteResponse> suggest(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, Math.min(limit, MAX_LIMIT)).stream()
+                .map(AutocompleteResponse::new)
+                .toList();
+    }
+
+    // 앱이 준비되면 바로 한 번 만들고, 이후 주기적으로 다시 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRebuild() {
+        rebuildExecutor.scheduleWithFixedDelay(this::rebuild, 0, rebuildIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            long rebuildSeq = autocompleteIndex.beginRebuild();
+            List<ProductPopularityRow> rows = readOnlyTransaction.execute(status -> {
+                try (Stream<ProductPopularityRow> stream = productRepository.streamPopularityRows()) {
+                    return stream.toList();
+                }
+            });
+            autocompleteIndex.completeRebuild(rows, rebuildSeq);
+            log.info("자동완성 색인 재구성 완료 - 항목 {}개, {}ms", autocompleteIndex.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 실패해도 이전 색인으로 계속 응답하고 다음 주기에 다시 시도한다
+            log.error("자동완성 색인 재구성 실패", e);
+        }
+    }
+
+    // 상품 등록/수정/삭제가 커밋된 뒤 반영 (이름/카테고리가 바뀌지 않는 재고/별점 변경은 무시)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> productRepository.findSearchRowById(event.productId()).ifPresentOrElse(
+                    row -> autocompleteIndex.upsert(row.id(), row.name(), row.category()),
+                    () -> autocompleteIndex.remove(event.productId()));
+            case DELETED -> autocompleteIndex.remove(event.productId());
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        if (importRebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.schedule(() -> {
+                importRebuildScheduled.set(false);
+                rebuild();
+            }, IMPORT_REBUILD_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
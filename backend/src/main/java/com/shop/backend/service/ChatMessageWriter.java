@@ -0,0 +1,384 @@
+package com.shop.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.backend.dto.ChatMessageRequest;
+import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.entity.User;
+import com.shop.backend.exception.ResourceNotFoundException;
+import com.shop.backend.repository.ChatRoomRepository;
+import com.shop.backend.response.ChatMessageResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// 채팅 메시지 write-behind 저장
+// - 메시지 id를 미리 할당하고 바로 브로드캐스트한 뒤, DB 저장은 큐에 넣어 별도 스레드가 배치 INSERT로 처리한다
+//   전송 시점에는 트랜잭션이 없어 도메인 이벤트 버스(아웃박스)로 채팅 전송 이벤트를 발행하지 않는다
+//   (메시지마다 아웃박스 행을 동기로 쓰면 write-behind로 없앤 DB 쓰기가 다시 요청 경로에 들어온다. 후속 처리가 필요하면 배치 INSERT 트랜잭션에서 발행)
+// - 배치는 batch-size개가 모이거나 flush-interval-ms가 지나면 저장된다
+// - 큐가 가득 차면 offer-timeout-ms 동안 보내는 쪽을 대기시키고, 그래도 자리가 없으면 그 메시지는 바로 저장한다 (유실 없음)
+// - DB 장애 등 일시적인 오류로 저장하지 못한 메시지는 버리지 않고, 새 메시지를 받지 않은 채 간격을 늘려 가며 다시 저장한다
+// - 아직 저장되지 않은 메시지는 getPendingMessages로 조회할 수 있어, 내역 조회 API가 누락 없이 합쳐서 응답한다
+// - 종료 시 큐에 남은 메시지를 모두 저장한 뒤 스레드를 멈춘다
+// ※ id는 ChatMessage 엔티티와 같은 id_generators 행에서 같은 규칙(pooled)으로 블록 단위로 할당한다
+// ※ 단일 인스턴스를 전제로 한다. 여러 인스턴스에서는 인스턴스마다 다른 id 블록을 쓰므로 더 큰 id가 먼저 저장될 수 있고,
+//   저장 대기 메시지는 보낸 인스턴스에서만 보인다. afterId 이후 조회가 아직 저장되지 않은 작은 id를 건너뛸 수 있어 경고를 남긴다
+@Slf4j
+@Service
+public class ChatMessageWriter {
+
+    private static final String ID_GENERATOR_NAME = "chat_message";
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static final long MAX_RETRY_DELAY_MS = 5_000;
+    private static final int MAX_SHUTDOWN_RETRIES = 5; // 종료 중에는 무한히 기다리지 않는다
+    private static final int ROOM_LOCK_STRIPES = 64;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_message (id, chat_room_id, sender_id, message, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    // 저장 대기 중인 메시지
+    public record PendingChatMessage(Long id, Long roomId, Long senderId, String senderUsername, String message, LocalDateTime createdAt) {
+        public ChatMessageResponse toResponse() {
+            return new ChatMessageResponse(id, message, createdAt, senderId, senderUsername);
+        }
+    }
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final boolean clustered;
+
+    private final BlockingQueue<PendingChatMessage> queue;
+
+    // 큐에 있거나 저장 중인 메시지 (id 순). DB 커밋이 끝난 뒤에 제거된다
+    private final ConcurrentSkipListMap<Long, PendingChatMessage> unflushed = new ConcurrentSkipListMap<>();
+
+    // 존재가 확인된 채팅방 (배치 INSERT가 FK 위반으로 통째로 실패하지 않도록 미리 검증)
+    private final Cache<Long, Boolean> knownRooms = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+    // 같은 채팅방 메시지는 id 할당 -> 브로드캐스트 -> 큐 적재를 한 번에 처리하여 순서를 보장한다
+    private final ReentrantLock[] roomLocks = new ReentrantLock[ROOM_LOCK_STRIPES];
+
+    private final ReentrantLock idLock = new ReentrantLock();
+    private long nextId;
+    private long idLimit; // 현재 블록에서 할당 가능한 id의 상한 (미포함)
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ChatMessageWriter(
+            ChatRoomRepository chatRoomRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.chat.write-behind.enabled:false}") boolean enabled,
+            @Value("${app.chat.write-behind.capacity:10000}") int capacity,
+            @Value("${app.chat.write-behind.batch-size:100}") int batchSize,
+            @Value("${app.chat.write-behind.flush-interval-ms:100}") long flushIntervalMs,
+            @Value("${app.chat.write-behind.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${app.cluster.transport:none}") String clusterTransport
+    ) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.clustered = "relay".equalsIgnoreCase(clusterTransport);
+        for (int i = 0; i < ROOM_LOCK_STRIPES; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (clustered) {
+            log.warn("채팅 write-behind는 단일 인스턴스 전제입니다. 여러 인스턴스에서는 다른 인스턴스의 내역 조회에서 " +
+                    "저장 대기 메시지가 빠지거나 이후 메시지 조회가 일부를 건너뛸 수 있습니다 (app.chat.write-behind.enabled=false 권장)");
+        }
+        Gauge.builder("chat.write_behind.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("chat-write-behind")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 메시지 id를 할당하고 broadcaster로 바로 전송한 뒤, DB 저장은 큐에 맡긴다
+    public ChatMessageResponse submit(ChatMessageRequest request, User sender, Consumer<ChatMessageResponse> broadcaster) {
+        Long roomId = request.getRoomId();
+        String message = request.getMessage();
+        if (roomId == null || message == null || message.isBlank()) {
+            throw new IllegalArgumentException("채팅방과 메시지 내용은 필수입니다.");
+        }
+        if (message.length() > MAX_MESSAGE_LENGTH) {
+            throw new IllegalArgumentException("메시지는 " + MAX_MESSAGE_LENGTH + "자 이하여야 합니다.");
+        }
+        if (knownRooms.get(roomId, id -> chatRoomRepository.existsById(id) ? Boolean.TRUE : null) == null) {
+            throw new ResourceNotFoundException("ChatRoom not found");
+        }
+
+        // 락 안에서 블로킹(id 블록 할당, 큐 대기, 바로 저장)이 일어나므로 synchronized 대신 ReentrantLock을 쓴다 (가상 스레드 고정 방지)
+        ReentrantLock roomLock = roomLocks[Math.floorMod(roomId.hashCode(), ROOM_LOCK_STRIPES)];
+        roomLock.lock();
+        try {
+            PendingChatMessage pending = new PendingChatMessage(
+                    allocateId(), roomId, sender.getId(), sender.getUsername(), message, LocalDateTime.now());
+            unflushed.put(pending.id(), pending);
+
+            ChatMessageResponse response = pending.toResponse();
+            broadcaster.accept(response);
+            enqueue(pending);
+            return response;
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    // 아직 DB에 저장되지 않은 채팅방 메시지 (id 오름차순)
+    public List<ChatMessageResponse> getPendingMessages(Long roomId) {
+        if (!enabled || unflushed.isEmpty()) {
+            return List.of();
+        }
+        List<ChatMessageResponse> result = new ArrayList<>();
+        for (PendingChatMessage pending : unflushed.values()) {
+            if (pending.roomId().equals(roomId)) {
+                result.add(pending.toResponse());
+            }
+        }
+        return result;
+    }
+
+    private void enqueue(PendingChatMessage pending) {
+        boolean queued = false;
+        if (running) {
+            try {
+                // 큐가 가득 차면 잠시 대기 (보내는 쪽 속도를 늦추는 backpressure)
+                queued = queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            log.warn("채팅 저장 큐가 가득 차 있거나 종료 중이라 바로 저장합니다. id: {}", pending.id());
+            if (!write(List.of(pending)).isEmpty()) {
+                requeue(pending);
+            }
+        }
+    }
+
+    // 바로 저장도 실패하면(DB 장애) 큐에 자리가 날 때까지 기다렸다가 넣는다. 종료 후에는 넣을 곳이 없어 유실로 남긴다
+    private void requeue(PendingChatMessage pending) {
+        try {
+            while (running) {
+                if (queue.offer(pending, flushIntervalMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        giveUp(List.of(pending));
+    }
+
+    private long allocateId() {
+        idLock.lock();
+        try {
+            if (nextId >= idLimit) {
+                // Hibernate pooled 생성기와 같은 구간을 쓴다: next_val에는 마지막으로 쓴 값이 저장되므로(stored_last_used)
+                // 읽은 값 v에 대해 (v + 1 - 할당 크기, v + 1] 구간이다. 다음에 읽는 v + 할당 크기의 구간과 바로 이어진다
+                int blockSize = ChatMessage.ID_ALLOCATION_SIZE;
+                Long current = transactionTemplate.execute(status -> {
+                    Long value = jdbcTemplate.queryForObject(
+                            "SELECT next_val FROM id_generators WHERE name = ? FOR UPDATE", Long.class, ID_GENERATOR_NAME);
+                    jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE name = ?",
+                            value + blockSize, ID_GENERATOR_NAME);
+                    return value;
+                });
+                nextId = Math.max(current - blockSize + 2, 1);
+                idLimit = current + 2;
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private void runWriter() {
+        // 일시적인 오류로 저장하지 못한 메시지가 남아 있으면 새 메시지를 받지 않고 그것부터 다시 저장한다 (그동안 큐가 차면 보내는 쪽이 기다린다)
+        List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+        int failedRounds = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    collect(batch);
+                    if (batch.isEmpty()) {
+                        continue;
+                    }
+                } else if (!running && failedRounds >= MAX_SHUTDOWN_RETRIES) {
+                    giveUp(batch);
+                    batch.clear();
+                    continue;
+                } else {
+                    Thread.sleep(Math.min(MAX_RETRY_DELAY_MS, 200L << Math.min(failedRounds, 5)));
+                }
+
+                List<PendingChatMessage> failed = write(batch);
+                batch = new ArrayList<>(failed);
+                failedRounds = failed.isEmpty() ? 0 : failedRounds + 1;
+            } catch (InterruptedException e) {
+                // 종료 요청: 남은 메시지는 루프 조건에 따라 계속 저장한다
+                running = false;
+            } catch (Exception e) {
+                log.error("채팅 메시지 배치 저장 중 오류", e);
+            }
+        }
+    }
+
+    // 첫 메시지를 기다린 뒤 flush-interval-ms 동안 batch-size까지 모은다
+    private void collect(List<PendingChatMessage> batch) throws InterruptedException {
+        PendingChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                break;
+            }
+            PendingChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    // 배치를 저장하고, 일시적인 오류(DB 장애 등)로 저장하지 못한 메시지를 돌려준다
+    // 저장된 메시지와 다시 시도해도 저장될 수 없는 메시지(제약 조건 위반)만 unflushed에서 뺀다
+    private List<PendingChatMessage> write(List<PendingChatMessage> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                batch.forEach(pending -> unflushed.remove(pending.id()));
+                return List.of();
+            } catch (DataIntegrityViolationException e) {
+                log.warn("채팅 메시지 배치 저장 실패, 한 건씩 다시 저장합니다. 건수: {}", batch.size(), e);
+                return writeOneByOne(batch);
+            } catch (DataAccessException | TransactionException e) {
+                if (attempt >= MAX_BATCH_ATTEMPTS) {
+                    log.warn("채팅 메시지 배치 저장 실패, 나중에 다시 저장합니다. 건수: {}", batch.size(), e);
+                    return batch;
+                }
+                sleepQuietly(100L * attempt);
+            }
+        }
+    }
+
+    private List<PendingChatMessage> writeOneByOne(List<PendingChatMessage> batch) {
+        List<PendingChatMessage> failed = new ArrayList<>();
+        for (PendingChatMessage pending : batch) {
+            try {
+                insert(List.of(pending));
+                unflushed.remove(pending.id());
+            } catch (DataIntegrityViolationException e) {
+                // 그 사이 삭제된 채팅방 등 다시 시도해도 저장될 수 없는 메시지
+                log.error("채팅 메시지 저장 실패 - id: {}, roomId: {}", pending.id(), pending.roomId(), e);
+                unflushed.remove(pending.id());
+            } catch (DataAccessException e) {
+                failed.add(pending);
+            }
+        }
+        return failed;
+    }
+
+    private void giveUp(List<PendingChatMessage> messages) {
+        log.error("종료 중 채팅 메시지를 저장하지 못했습니다 - ids: {}",
+                messages.stream().map(PendingChatMessage::id).toList());
+        messages.forEach(pending -> unflushed.remove(pending.id()));
+    }
+
+    private void insert(List<PendingChatMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, pending) -> {
+            ps.setLong(1, pending.id());
+            ps.setLong(2, pending.roomId());
+            ps.setLong(3, pending.senderId());
+            ps.setString(4, pending.message());
+            ps.setTimestamp(5, Timestamp.valueOf(pending.createdAt()));
+        });
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 종료 시 큐에 남은 메시지를 모두 저장
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            List<PendingChatMessage> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            List<PendingChatMessage> failed = write(remaining);
+            if (!failed.isEmpty()) {
+                giveUp(failed);
+            }
+        }
+        log.info("채팅 저장 큐 종료 완료");
+    }
+}
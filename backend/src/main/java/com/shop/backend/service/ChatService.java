@@ -10,11 +10,17 @@ import com.shop.backend.repository.UserRepository;
 import com.shop.backend.response.ChatMessageResponse;
 import com.shop.backend.response.ChatRoomDetailResponse;
 import com.shop.backend.response.ChatRoomInfoResponse;
+import com.shop.backend.response.CursorResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +31,7 @@ public class ChatService {
     private final ChatMessageRepository chatMessageRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ChatMessageWriter chatMessageWriter;
 
     @Transactional
     public Long findOrCreateRoom(Long productId, String buyerUsername) {
@@ -70,9 +77,59 @@ public class ChatService {
 
     @Transactional(readOnly = true)
     public List<ChatMessageResponse> getMessages(Long roomId) {
-        return chatMessageRepository.findByChatRoomIdOrderByCreatedAtAsc(roomId)
-                .stream()
-                .map(ChatMessageResponse::new)
+        return withPending(roomId, id -> true,
+                () -> chatMessageRepository.findAllResponsesByRoomId(roomId), false, Integer.MAX_VALUE);
+    }
+
+    // 이전 대화 내역 조회 (최신순, beforeId 이전 메시지를 size개씩)
+    @Transactional(readOnly = true)
+    public CursorResponse<ChatMessageResponse> getMessagesBefore(Long roomId, Long beforeId, int size) {
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회
+        List<ChatMessageResponse> messages = withPending(roomId, id -> beforeId == null || id < beforeId,
+                () -> chatMessageRepository.findResponsesBefore(roomId, beforeId, PageRequest.of(0, size + 1)), true, size + 1);
+        boolean hasNext = messages.size() > size;
+        if (hasNext) {
+            messages = messages.subList(0, size);
+        }
+
+        String nextCursor = hasNext ? String.valueOf(messages.get(messages.size() - 1).getId()) : null;
+        return new CursorResponse<>(messages, nextCursor, hasNext);
+    }
+
+    // 재접속 시 afterId 이후 메시지 동기화 (오래된 순, 최대 size개)
+    @Transactional(readOnly = true)
+    public CursorResponse<ChatMessageResponse> getMessagesSince(Long roomId, Long afterId, int size) {
+        List<ChatMessageResponse> messages = withPending(roomId, id -> id > afterId,
+                () -> chatMessageRepository.findResponsesAfter(roomId, afterId, PageRequest.of(0, size + 1)), false, size + 1);
+        boolean hasNext = messages.size() > size;
+        if (hasNext) {
+            messages = messages.subList(0, size);
+        }
+
+        // 남은 메시지가 있으면 마지막 id로 다시 요청하면 된다
+        String nextCursor = messages.isEmpty() ? null : String.valueOf(messages.get(messages.size() - 1).getId());
+        return new CursorResponse<>(messages, nextCursor, hasNext);
+    }
+
+    // DB 조회 결과에 아직 저장되지 않은(write-behind 큐에 있는) 메시지를 id 기준으로 합친다
+    // 대기 메시지를 먼저 읽어야, 그 사이에 저장된 메시지가 양쪽 모두에서 빠지는 일이 없다 (중복은 id로 제거)
+    private List<ChatMessageResponse> withPending(Long roomId, Predicate<Long> idFilter,
+                                                  Supplier<List<ChatMessageResponse>> persisted,
+                                                  boolean newestFirst, int limit) {
+        List<ChatMessageResponse> pending = chatMessageWriter.getPendingMessages(roomId);
+        List<ChatMessageResponse> stored = persisted.get();
+        if (pending.isEmpty()) {
+            return stored;
+        }
+
+        TreeMap<Long, ChatMessageResponse> merged = new TreeMap<>(newestFirst ? Comparator.<Long>reverseOrder() : Comparator.<Long>naturalOrder());
+        stored.forEach(message -> merged.put(message.getId(), message));
+        pending.stream()
+                .filter(message -> idFilter.test(message.getId()))
+                .forEach(message -> merged.putIfAbsent(message.getId(), message));
+
+        return merged.values().stream()
+                .limit(limit)
                 .collect(Collectors.toList());
     }
 
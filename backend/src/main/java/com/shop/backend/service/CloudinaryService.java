@@ -4,23 +4,28 @@ import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
-public class CloudinaryService {
+public class CloudinaryService implements ImageUploader {
     private final Cloudinary cloudinary;
 
-    public String uploadFile(MultipartFile file) {
+    // 파일을 메모리에 올리지 않고 디스크에서 바로 전송한다
+    // public_id를 내용 해시로 주고 덮어쓰기를 끄면, 이미 올라간 같은 이미지는 다시 저장하지 않는다
+    @Override
+    public String upload(Path file, String publicId) {
         try {
             Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
+                    file.toFile(),
                     ObjectUtils.asMap(
                             "folder", "products",
-                            "resource_type", "image"
+                            "resource_type", "image",
+                            "public_id", publicId,
+                            "overwrite", false
                     )
             );
             return uploadResult.get("secure_url").toString();
@@ -0,0 +1,128 @@
+package com.shop.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 CSV를 한 레코드씩 읽는다 (파일 전체를 메모리에 올리지 않음)
+// - 큰따옴표로 감싼 필드 안의 쉼표/줄바꿈, 두 번 쓴 큰따옴표("")를 처리한다
+// - 줄바꿈은 \n, \r\n 모두 허용하고, 첫 글자의 BOM은 무시한다
+// - 따옴표가 닫히지 않아 레코드가 maxRecordLength를 넘으면 IllegalArgumentException
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private final StringBuilder field = new StringBuilder();
+
+    private int line = 1;
+    private int recordLine;
+    private int peeked = -2;
+    private boolean started;
+
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // 방금 읽은 레코드가 시작된 줄 번호 (1부터)
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    // 다음 레코드의 필드 목록. 파일 끝이면 null (빈 줄은 건너뛴다)
+    List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\n') {
+                continue;
+            }
+            if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                continue;
+            }
+            recordLine = line;
+            return readRecord(c);
+        }
+    }
+
+    private List<String> readRecord(int first) throws IOException {
+        List<String> fields = new ArrayList<>();
+        int length = 0;
+        int c = first;
+        field.setLength(0);
+        boolean quoted = false;
+
+        while (true) {
+            if (c == -1) {
+                if (quoted) {
+                    throw new IllegalArgumentException(recordLine + "번째 줄: 닫히지 않은 큰따옴표가 있습니다.");
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+
+            if (++length > maxRecordLength) {
+                throw new IllegalArgumentException(recordLine + "번째 줄: 한 행이 " + maxRecordLength + "자를 넘습니다.");
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (peeked != -2) {
+            c = peeked;
+            peeked = -2;
+        } else {
+            c = reader.read();
+        }
+        if (!started) {
+            started = true;
+            if (c == '﻿') {
+                return read();
+            }
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
@@ -0,0 +1,226 @@
+package com.shop.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.backend.exception.ExportBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+// 마이페이지 전체 내역 내보내기 (CSV / JSON Lines)
+// - JPA 없이 JdbcTemplate으로 fetch size 단위로 읽으며(MySQL은 useCursorFetch로 서버 커서 사용) 한 행씩 바로 응답 스트림에 쓴다
+//   내역이 아무리 많아도 메모리에는 한 번에 fetch size만큼만 올라오고, 영속성 컨텍스트에 엔티티가 쌓이지 않는다
+// - 내보내는 동안 DB 커넥션을 하나 점유하므로 동시에 진행할 수 있는 개수를 제한한다
+// - 상품 CSV의 컬럼 이름은 대량 등록(ProductImportService)과 같아 그대로 다시 올릴 수 있다
+@Slf4j
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        JSONL("application/x-ndjson", "jsonl");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("지원하지 않는 형식입니다: " + value + " (csv, jsonl)");
+            }
+        }
+    }
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final List<String> PRODUCT_COLUMNS = List.of(
+            "id", "name", "category", "price", "stock", "description", "thumbnail", "created_at", "rating_count", "rating_sum");
+    private static final String PRODUCTS_SQL = "SELECT id, name, category, price, stock, description, thumbnail, " +
+            "created_at, rating_count, rating_sum FROM products WHERE user_id = ? ORDER BY id";
+
+    private static final List<String> ORDER_LINE_COLUMNS = List.of(
+            "order_id", "order_date", "product_id", "product_name", "order_price", "quantity", "line_total");
+    // 내가 주문한 내역 (주문 상품 한 줄씩)
+    private static final String ORDERS_SQL = "SELECT o.id, o.order_date, oi.product_id, p.name, oi.order_price, oi.quantity, " +
+            "oi.order_price * oi.quantity FROM orders o JOIN order_items oi ON oi.order_id = o.id " +
+            "LEFT JOIN products p ON p.id = oi.product_id WHERE o.user_id = ? ORDER BY o.id, oi.id";
+    // 내 상품이 팔린 내역 (주문 상품 한 줄씩)
+    private static final String SALES_SQL = "SELECT o.id, o.order_date, oi.product_id, p.name, oi.order_price, oi.quantity, " +
+            "oi.order_price * oi.quantity FROM order_items oi JOIN products p ON p.id = oi.product_id " +
+            "JOIN orders o ON o.id = oi.order_id WHERE p.user_id = ? ORDER BY o.id, oi.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+
+    public ExportService(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${app.export.max-concurrent:4}") int maxConcurrent
+    ) {
+        // 다른 조회에 영향을 주지 않도록 내보내기 전용 설정의 JdbcTemplate을 쓴다
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(Math.max(maxConcurrent, 1));
+    }
+
+    public long exportProducts(Long userId, Format format, OutputStream out) {
+        return export(PRODUCTS_SQL, userId, PRODUCT_COLUMNS, format, out);
+    }
+
+    public long exportOrders(Long userId, Format format, OutputStream out) {
+        return export(ORDERS_SQL, userId, ORDER_LINE_COLUMNS, format, out);
+    }
+
+    public long exportSales(Long userId, Format format, OutputStream out) {
+        return export(SALES_SQL, userId, ORDER_LINE_COLUMNS, format, out);
+    }
+
+    // 내보낸 행 수를 반환한다
+    private long export(String sql, Long userId, List<String> columns, Format format, OutputStream out) {
+        if (!permits.tryAcquire()) {
+            throw new ExportBusyException("진행 중인 내보내기가 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        long start = System.currentTimeMillis();
+        try {
+            RowWriter writer = format == Format.CSV ? new CsvRowWriter(out, columns) : new JsonLinesRowWriter(out, columns);
+            long[] count = {0};
+            jdbcTemplate.query(sql, rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            }, userId);
+            writer.finish();
+            log.debug("내보내기 완료 - userId: {}, {}행, {}ms", userId, count[0], System.currentTimeMillis() - start);
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Object valueAt(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final int columnCount;
+
+        CsvRowWriter(OutputStream out, List<String> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            this.columnCount = columns.size();
+            writer.write('﻿'); // 엑셀에서 한글이 깨지지 않도록 BOM을 붙인다
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = valueAt(rs, i);
+                if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private final class JsonLinesRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final List<String> columns;
+
+        JsonLinesRowWriter(OutputStream out, List<String> columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(valueAt(rs, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.shop.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+// 썸네일 이미지를 너비별 JPEG 변형으로 줄인다 (JDK ImageIO/Java2D만 사용)
+// - 원본은 한 번만 디코딩한다. 원본이 가장 큰 변형보다 2배 이상 크면 디코딩 단계에서 솎아 읽어(subsampling) 메모리를 아낀다
+// - 축소는 절반씩 여러 번 나눠 보간하여(단계적 bilinear) 한 번에 줄일 때 생기는 계단 현상을 줄인다
+// - 원본보다 작은 너비만 만들고, 투명 배경은 흰색으로 채운다
+@Slf4j
+@Component
+public class ImageResizer {
+
+    // 줄인 이미지 파일
+    public record Variant(int width, Path file) {
+    }
+
+    private final int[] widths;
+    private final float quality;
+
+    public ImageResizer(
+            @Value("${app.thumbnail.variant-widths:160,320,640,1280}") int[] widths,
+            @Value("${app.thumbnail.jpeg-quality:0.85}") float quality
+    ) {
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        this.quality = quality;
+    }
+
+    // source를 읽어 너비별 변형을 directory에 만든다. 이미지로 읽을 수 없으면 빈 목록
+    public List<Variant> resize(Path source, Path directory) throws IOException {
+        if (widths.length == 0) {
+            return List.of();
+        }
+        BufferedImage image = decode(source, widths[widths.length - 1]);
+        if (image == null) {
+            return List.of();
+        }
+
+        List<Variant> variants = new ArrayList<>();
+        try {
+            BufferedImage current = toRgb(image);
+            // 큰 너비부터 만들어 다음 변형은 직전 결과에서 줄인다
+            for (int i = widths.length - 1; i >= 0; i--) {
+                int width = widths[i];
+                if (width >= image.getWidth()) {
+                    continue;
+                }
+                current = scaleTo(current, width);
+                Path file = Files.createTempFile(directory, "thumbnail-w" + width + "-", ".upload");
+                variants.add(new Variant(width, file));
+                writeJpeg(current, file);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Variant variant : variants) {
+                Files.deleteIfExists(variant.file());
+            }
+            throw e;
+        }
+        return variants.reversed();
+    }
+
+    // 가장 큰 변형 너비의 2배 이상이 남도록 솎아서 디코딩한다
+    private BufferedImage decode(Path source, int maxWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(sourceWidth / (maxWidth * 2), 1);
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                BufferedImage image = reader.read(0, param);
+                if (step > 1) {
+                    log.debug("썸네일 솎아 읽기 - 원본 너비 {}, 간격 {}", sourceWidth, step);
+                }
+                return image;
+            } catch (IOException | RuntimeException e) {
+                log.warn("썸네일 이미지 디코딩 실패 - {}", e.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleTo(BufferedImage image, int targetWidth) {
+        int targetHeight = Math.max((int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()), 1);
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        while (width > targetWidth) {
+            width = Math.max(width / 2, targetWidth);
+            height = width == targetWidth ? targetHeight : Math.max(height / 2, 1);
+            current = draw(current, width, height);
+        }
+        return current;
+    }
+
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        return draw(image, image.getWidth(), image.getHeight());
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
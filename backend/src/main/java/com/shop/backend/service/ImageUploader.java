@@ -0,0 +1,10 @@
+package com.shop.backend.service;
+
+import java.nio.file.Path;
+
+// 이미지 파일을 외부 저장소에 올리고 공개 URL을 돌려준다
+// publicId: 저장소에서 이미지를 구분하는 이름 (같은 값이면 같은 이미지로 취급)
+public interface ImageUploader {
+
+    String upload(Path file, String publicId);
+}
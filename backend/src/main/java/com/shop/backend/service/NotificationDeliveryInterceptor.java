@@ -0,0 +1,97 @@
+package com.shop.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.backend.entity.User;
+import com.shop.backend.response.NotificationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.security.Principal;
+import java.util.List;
+
+// 접속한 사용자에게 접속해 있지 않은 동안 쌓인 읽지 않은 알림을 묶음으로 전달한다
+// - STOMP 연결 직후에는 받을 구독이 없으므로, 자기 알림 주소(/topic/notifications/{username}) 구독이 브로커에 등록된 뒤 보낸다
+// - 알림 하나씩이 아니라 JSON 배열 하나에 여러 개를 담아 그 세션에만 보낸다 (다른 세션/인스턴스로는 가지 않는다)
+@Slf4j
+@Component
+public class NotificationDeliveryInterceptor implements ExecutorChannelInterceptor {
+
+    private final NotificationService notificationService;
+    private final MessageChannel clientOutboundChannel;
+    private final ObjectMapper objectMapper;
+
+    // NotificationService는 SimpMessagingTemplate을 쓰므로 WebSocket 설정이 끝난 뒤에 가져온다
+    public NotificationDeliveryInterceptor(
+            @Lazy NotificationService notificationService,
+            @Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+            ObjectMapper objectMapper
+    ) {
+        this.notificationService = notificationService;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        // clientInboundChannel에는 여러 핸들러가 있으므로 내장 브로커가 구독을 등록한 뒤 한 번만 처리한다
+        if (ex != null || !(handler instanceof SimpleBrokerMessageHandler)) {
+            return;
+        }
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.SUBSCRIBE) {
+            return;
+        }
+        User user = userOf(SimpMessageHeaderAccessor.getUser(headers));
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (user == null || !NotificationService.destinationOf(user.getUsername()).equals(destination)) {
+            return;
+        }
+
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        try {
+            List<List<NotificationResponse>> batches = notificationService.getUnreadBatches(user.getId());
+            for (List<NotificationResponse> batch : batches) {
+                send(sessionId, subscriptionId, destination, batch);
+            }
+            if (!batches.isEmpty()) {
+                log.debug("읽지 않은 알림 전달 - userId: {}, {}묶음", user.getId(), batches.size());
+            }
+        } catch (Exception e) {
+            // 전달하지 못해도 알림함 목록 API로 조회할 수 있다
+            log.warn("읽지 않은 알림 전달 실패 - userId: {}", user.getId(), e);
+        }
+    }
+
+    private void send(String sessionId, String subscriptionId, String destination, List<NotificationResponse> batch)
+            throws JsonProcessingException {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        clientOutboundChannel.send(MessageBuilder.createMessage(objectMapper.writeValueAsBytes(batch), accessor.getMessageHeaders()));
+    }
+
+    private static User userOf(Principal principal) {
+        if (principal instanceof Authentication authentication && authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.shop.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.backend.entity.Notification;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.event.NotificationCreatedEvent;
+import com.shop.backend.event.ReviewCreatedEvent;
+import com.shop.backend.repository.NotificationCursorRepository;
+import com.shop.backend.repository.NotificationRepository;
+import com.shop.backend.response.CursorResponse;
+import com.shop.backend.response.NotificationResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 사용자 알림함
+// - 알림은 notifications에 추가만 하고, 읽음 여부는 사용자별 마지막으로 읽은 알림 ID(notification_cursors)로 판단한다
+//   그래서 읽음 처리는 행 하나의 값을 키우는 UPDATE 한 번이고, 같은 요청을 반복해도 결과가 같다
+// - 저장된 알림은 커밋 이후 /topic/notifications/{username}으로 실시간 전송하고,
+//   접속해 있지 않았던 사용자는 다음 접속 때 읽지 않은 알림을 묶음으로 받는다 (NotificationDeliveryInterceptor)
+// - 안 읽은 알림 수는 사용자별로 메모리에 두어 DB 조회 없이 응답한다
+//   처음 조회할 때 DB에서 세고, 이후 새 알림은 더하며, 읽음 처리하면 다시 센다
+//   (다른 인스턴스에서 생긴 알림은 항목이 만료되어 다시 셀 때 반영된다)
+@Slf4j
+@Service
+public class NotificationService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final String DESTINATION_PREFIX = "/topic/notifications/";
+
+    private static final String INSERT_CURSOR = "INSERT INTO notification_cursors (user_id, last_read_id) " +
+            "SELECT ?, 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM notification_cursors WHERE user_id = ?)";
+    private static final String ADVANCE_CURSOR = "UPDATE notification_cursors " +
+            "SET last_read_id = GREATEST(last_read_id, ?) WHERE user_id = ?";
+
+    // 안 읽은 알림 수 (loadedUpToId 이하는 DB에서 센 값에 포함되어 있으므로 그보다 큰 새 알림만 더한다)
+    private static final class UnreadCounter {
+        private final long loadedUpToId;
+        private final AtomicLong count;
+
+        UnreadCounter(long loadedUpToId, long count) {
+            this.loadedUpToId = loadedUpToId;
+            this.count = new AtomicLong(count);
+        }
+
+        void added(long notificationId) {
+            if (notificationId > loadedUpToId) {
+                count.incrementAndGet();
+            }
+        }
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCursorRepository notificationCursorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventBus domainEventBus;
+    private final int connectBatchSize;
+    private final int connectMaxNotifications;
+    private final Cache<Long, UnreadCounter> unreadCounters;
+
+    public NotificationService(
+            NotificationRepository notificationRepository,
+            NotificationCursorRepository notificationCursorRepository,
+            JdbcTemplate jdbcTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            ApplicationEventPublisher eventPublisher,
+            DomainEventBus domainEventBus,
+            @Value("${app.notifications.connect-batch-size:20}") int connectBatchSize,
+            @Value("${app.notifications.connect-max:100}") int connectMaxNotifications,
+            @Value("${app.notifications.unread-cache.max-size:100000}") long unreadCacheMaxSize,
+            @Value("${app.notifications.unread-cache.ttl-seconds:120}") long unreadCacheTtlSeconds
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.notificationCursorRepository = notificationCursorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.eventPublisher = eventPublisher;
+        this.domainEventBus = domainEventBus;
+        this.connectBatchSize = Math.max(connectBatchSize, 1);
+        this.connectMaxNotifications = Math.max(connectMaxNotifications, 0);
+        this.unreadCounters = Caffeine.newBuilder()
+                .maximumSize(unreadCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(unreadCacheTtlSeconds))
+                .build();
+    }
+
+    public static String destinationOf(String username) {
+        return DESTINATION_PREFIX + username;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        domainEventBus.subscribe("review-notification", ReviewCreatedEvent.class, this::onReviewCreated);
+    }
+
+    // 내 상품에 다른 사용자가 리뷰를 달면 알림 (리뷰가 커밋된 뒤 이벤트 버스에서 처리)
+    void onReviewCreated(ReviewCreatedEvent event) {
+        if (event.productOwnerId().equals(event.writerId())) {
+            return;
+        }
+        notify(event.productOwnerId(), event.productOwnerUsername(), Notification.Type.REVIEW,
+                "'" + event.productName() + "' 상품에 새로운 리뷰가 달렸습니다!",
+                event.productId(), event.productName(), event.content());
+    }
+
+    // 알림함에 저장 (호출한 트랜잭션이 커밋되면 실시간 전송)
+    @Transactional
+    public Notification notify(Long recipientId, String recipientUsername, Notification.Type type, String message,
+                               Long productId, String productName, String content) {
+        Notification notification = notificationRepository.save(Notification.builder()
+                .recipientId(recipientId)
+                .type(type)
+                .message(message)
+                .productId(productId)
+                .productName(productName)
+                .content(content)
+                .build());
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notification, recipientUsername));
+        return notification;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        Notification notification = event.notification();
+        UnreadCounter counter = unreadCounters.getIfPresent(notification.getRecipientId());
+        if (counter != null) {
+            counter.added(notification.getId());
+        }
+        try {
+            // 접속해 있지 않으면 아무도 받지 않고, 다음 접속 때 읽지 않은 알림으로 전달된다
+            messagingTemplate.convertAndSend(destinationOf(event.recipientUsername()), new NotificationResponse(notification, false));
+        } catch (Exception e) {
+            log.error("알림 실시간 전송 실패 - notificationId: {}", notification.getId(), e);
+        }
+    }
+
+    // 안 읽은 알림 수 (메모리에 있으면 DB를 조회하지 않는다)
+    public long getUnreadCount(Long userId) {
+        return unreadCounters.get(userId, this::loadUnreadCounter).count.get();
+    }
+
+    private UnreadCounter loadUnreadCounter(Long userId) {
+        long lastReadId = notificationCursorRepository.findLastReadId(userId);
+        long latestId = notificationRepository.findLatestId(userId);
+        return new UnreadCounter(latestId, notificationRepository.countUnread(userId, lastReadId, latestId));
+    }
+
+    // 알림함 목록 (최신순, beforeId가 있으면 그보다 오래된 알림)
+    @Transactional(readOnly = true)
+    public CursorResponse<NotificationResponse> getNotifications(Long userId, Long beforeId, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        long lastReadId = notificationCursorRepository.findLastReadId(userId);
+        List<Notification> notifications = notificationRepository.findHistory(
+                userId, beforeId != null ? beforeId : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = notifications.size() > pageSize;
+        List<NotificationResponse> content = notifications.stream()
+                .limit(pageSize)
+                .map(notification -> new NotificationResponse(notification, notification.getId() <= lastReadId))
+                .toList();
+        String nextCursor = hasNext ? String.valueOf(content.getLast().getId()) : null;
+        return new CursorResponse<>(content, nextCursor, hasNext);
+    }
+
+    // upToId 이하의 알림을 모두 읽음 처리 (없으면 지금까지 받은 알림 전부). 남은 안 읽은 알림 수를 반환한다
+    // 이미 더 뒤까지 읽었으면 아무것도 바뀌지 않으며, 아직 받지 않은 알림 ID를 보내도 받은 알림까지만 처리한다
+    @Transactional
+    public long markRead(Long userId, Long upToId) {
+        long latestId = notificationRepository.findLatestId(userId);
+        long target = upToId != null ? Math.min(upToId, latestId) : latestId;
+
+        jdbcTemplate.update(INSERT_CURSOR, userId, userId);
+        jdbcTemplate.update(ADVANCE_CURSOR, target, userId);
+        long lastReadId = notificationCursorRepository.findLastReadId(userId);
+
+        // 커밋된 뒤에 다시 세도록 비운다 (커밋 전에 비우면 다른 요청이 이전 값으로 다시 채울 수 있다)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unreadCounters.invalidate(userId);
+                }
+            });
+        } else {
+            unreadCounters.invalidate(userId);
+        }
+        return notificationRepository.countUnread(userId, lastReadId, Long.MAX_VALUE);
+    }
+
+    // 접속 시 전달할 읽지 않은 알림 (오래된 순, connectBatchSize개씩 묶음)
+    // 오래 접속하지 않아 많이 쌓였으면 최근 connectMaxNotifications개만 보내고 나머지는 목록 API로 조회한다
+    @Transactional(readOnly = true)
+    public List<List<NotificationResponse>> getUnreadBatches(Long userId) {
+        if (connectMaxNotifications == 0) {
+            return List.of();
+        }
+        long lastReadId = notificationCursorRepository.findLastReadId(userId);
+        long latestId = notificationRepository.findLatestId(userId);
+        if (latestId <= lastReadId) {
+            return List.of();
+        }
+        List<Notification> recent = notificationRepository.findHistory(userId, Long.MAX_VALUE, PageRequest.of(0, connectMaxNotifications));
+
+        List<List<NotificationResponse>> batches = new ArrayList<>();
+        List<NotificationResponse> batch = new ArrayList<>();
+        for (Notification notification : recent.reversed()) {
+            if (notification.getId() <= lastReadId) {
+                continue;
+            }
+            batch.add(new NotificationResponse(notification, false));
+            if (batch.size() == connectBatchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
@@ -3,8 +3,14 @@ package com.shop.backend.service;
 import com.shop.backend.dto.OrderItemRequest;
 import com.shop.backend.dto.OrderRequest;
 import com.shop.backend.entity.*;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.event.OrderPlacedEvent;
+import com.shop.backend.event.ProductChangedEvent;
 import com.shop.backend.exception.ResourceNotFoundException;
 import com.shop.backend.repository.*;
+import com.shop.backend.repository.projection.OrderHeaderRow;
+import com.shop.backend.repository.projection.OrderLineRow;
+import com.shop.backend.response.OrderItemResponse;
 import com.shop.backend.response.OrderResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -13,7 +19,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,48 +34,87 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final CartItemRepository cartItemRepository; // 장바구니 비우기를 위해 주입
+    private final DomainEventBus domainEventBus;
+    private final StockReservationService stockReservationService;
 
     // --- 주문 생성 ---
     public Order createOrder(OrderRequest orderRequest, User user) {
-        // 1. 주문 상품(OrderItem) 리스트 생성
+        boolean useReservation = stockReservationService.isEnabled();
+
+        // 0. 재고 선점 모드: 메모리에서 재고를 먼저 선점 (커밋 시 확정, 롤백 시 자동 해제)
+        if (useReservation) {
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            for (OrderItemRequest itemDto : orderRequest.getOrderItems()) {
+                quantities.merge(itemDto.getProductId(), itemDto.getQuantity(), Integer::sum);
+            }
+            stockReservationService.reserve(quantities);
+        }
+
+        // 1. 주문 상품들을 한 번의 쿼리로 조회
+        Set<Long> productIds = orderRequest.getOrderItems().stream()
+                .map(OrderItemRequest::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // 2. 주문 상품(OrderItem) 리스트 생성
         List<OrderItem> orderItems = new ArrayList<>();
         for (OrderItemRequest itemDto : orderRequest.getOrderItems()) {
-            Product product = productRepository.findById(itemDto.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("상품을 찾을 수 없습니다."));
+            Product product = products.get(itemDto.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("상품을 찾을 수 없습니다.");
+            }
 
-            // OrderItem 생성 (이때 Product의 재고 감소 로직이 호출됨)
-            orderItems.add(OrderItem.createOrderItem(product, itemDto.getQuantity()));
+            if (useReservation) {
+                // 재고는 이미 선점됨 (DB 반영은 StockReservationService가 비동기로 처리)
+                orderItems.add(OrderItem.createReservedOrderItem(product, itemDto.getQuantity()));
+            } else {
+                // OrderItem 생성 (이때 Product의 재고 감소 로직이 호출됨)
+                orderItems.add(OrderItem.createOrderItem(product, itemDto.getQuantity()));
+            }
         }
 
-        // 2. 주문(Order) 생성
+        // 3. 주문(Order) 생성
         Order order = Order.createOrder(user, orderItems);
 
-        // 3. 주문 저장 (Cascade 설정으로 OrderItem들도 함께 저장됨)
+        // 4. 주문 저장 (Cascade 설정으로 OrderItem들도 함께 저장됨, order_items는 JDBC 배치로 INSERT)
         orderRepository.save(order);
 
-        // 4. 장바구니에서 주문된 상품들 제거
-        clearCartItems(user, orderItems);
-
-        return order;
-    }
+        // 5. 장바구니에서 주문된 상품들을 한 번에 제거
+        cartItemRepository.deleteByUserAndProductIds(user, productIds);
 
-    // 장바구니에서 주문된 상품들 제거
-    private void clearCartItems(User user, List<OrderItem> orderItems) {
-        if (user.getCart() != null) {
+        // 6. 재고가 바뀐 상품들의 캐시 무효화 (커밋 이후 처리됨)
+        //    재고 선점 모드에서는 DB 반영 시점에 StockReservationService가 알린다
+        if (!useReservation) {
             for (OrderItem orderItem : orderItems) {
-                cartItemRepository.findByCartAndProduct(user.getCart(), orderItem.getProduct())
-                        .ifPresent(cartItemRepository::delete);
+                domainEventBus.publish(ProductChangedEvent.stockChanged(orderItem.getProduct()));
             }
         }
+
+        // 7. 매출 집계 등 주문 이후 처리 (커밋 이후 처리됨)
+        domainEventBus.publish(OrderPlacedEvent.of(order));
+
+        return order;
     }
 
     // 현재 로그인된 사용자의 주문 내역을 페이징하여 조회
+    // 주문마다 주문 상품/상품을 지연 로딩하지 않도록 두 번에 나눠 조회한다 (페이지 크기와 무관하게 쿼리 2~3번)
+    @Transactional(readOnly = true)
     public Page<OrderResponse> findMyOrders(User user, Pageable pageable) {
-        // 1. 리포지토리로부터 Page<Order> 엔티티를 조회한다
-        Page<Order> orderPage = orderRepository.findByUser(user, pageable);
+        // 1. 주문 ID와 주문 일시만 페이징하여 조회 (필요할 때만 COUNT 쿼리)
+        Page<OrderHeaderRow> headers = orderRepository.findHeadersByUserId(user.getId(), pageable);
+        if (headers.isEmpty()) {
+            return headers.map(header -> new OrderResponse(header.id(), header.orderDate(), List.of()));
+        }
+
+        // 2. 페이지에 포함된 주문들의 주문 상품과 상품 요약을 한 번에 조회하여 주문별로 묶는다
+        List<Long> orderIds = headers.map(OrderHeaderRow::id).getContent();
+        Map<Long, List<OrderItemResponse>> itemsByOrder = orderRepository.findLinesByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderLineRow::orderId,
+                        Collectors.mapping(OrderItemResponse::new, Collectors.toList())));
 
-        // 2. Page.map 기능을 사용하여 Page<Order>를 Page<OrderResponse>로 변환한다
-        return orderPage.map(OrderResponse::new);
+        return headers.map(header -> new OrderResponse(header.id(), header.orderDate(),
+                itemsByOrder.getOrDefault(header.id(), List.of())));
     }
 
     // --- 구매 이력 확인 ---
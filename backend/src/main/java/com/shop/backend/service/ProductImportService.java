@@ -0,0 +1,422 @@
+package com.shop.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.event.ProductsImportedEvent;
+import com.shop.backend.exception.ResourceNotFoundException;
+import com.shop.backend.repository.projection.ProductSearchRow;
+import com.shop.backend.response.ProductImportResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 상품 대량 등록 (CSV / JSON Lines)
+// - 요청 본문을 한 행씩 읽어 검증하고, batch-size개씩 JDBC 배치 INSERT 한다 (파일 전체를 메모리에 올리지 않음)
+// - id는 상품 엔티티와 같은 테이블 생성기(id_generators)에서 배치마다 블록으로 받아 둔다 (IDENTITY는 배치 INSERT 불가)
+// - 배치마다 커밋하고 ProductsImportedEvent로 캐시/검색 색인에 알린다. 중간에 실패해도 앞서 커밋된 배치는 남는다
+// - 잘못된 행은 건너뛰고 줄 번호와 이유를 기록한다. 배치 INSERT가 실패하면 그 배치만 한 행씩 다시 넣어 문제 행을 찾는다
+// - 진행 상황은 import id로 조회할 수 있다 (완료 후에도 일정 시간 보관)
+@Slf4j
+@Service
+public class ProductImportService {
+
+    public enum Format {
+        CSV, JSONL;
+
+        public static Format fromContentType(String contentType) {
+            String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")
+                    || type.startsWith("application/x-jsonlines")) {
+                return JSONL;
+            }
+            throw new IllegalArgumentException("지원하지 않는 형식입니다. text/csv 또는 application/x-ndjson으로 보내 주세요.");
+        }
+    }
+
+    public static final String ID_GENERATOR_NAME = "products";
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_JOBS = 1_000;
+
+    private static final String INSERT_SQL = "INSERT INTO products " +
+            "(id, name, price, description, stock, thumbnail, category, created_at, user_id, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // 검증을 통과한 행
+    private record ImportRow(long line, String name, int price, String description, int stock,
+                             String category, String thumbnail) {
+    }
+
+    // 한 행을 읽은 결과 (row와 error 중 하나만 있다)
+    private record ParsedRow(long line, ImportRow row, String error) {
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        ParsedRow next() throws IOException; // 파일 끝이면 null
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate idTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    private final Cache<String, ImportJob> jobs;
+
+    public ProductImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${app.product-import.batch-size:1000}") int batchSize,
+            @Value("${app.product-import.retention-minutes:60}") long retentionMinutes
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // id 블록 할당은 배치 INSERT와 분리된 짧은 트랜잭션으로 처리하여 생성기 행의 잠금을 바로 푼다
+        this.idTransaction = new TransactionTemplate(transactionManager);
+        this.idTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(batchSize, 1);
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(MAX_JOBS)
+                .expireAfterWrite(retentionMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public ProductImportResponse importProducts(InputStream input, Format format, User seller) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), seller.getId());
+        jobs.put(job.importId, job);
+        long start = System.currentTimeMillis();
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            RowSource source = format == Format.CSV ? csvSource(reader) : jsonLinesSource(reader);
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            ParsedRow parsed;
+            while ((parsed = source.next()) != null) {
+                job.processedRows.incrementAndGet();
+                if (parsed.error() != null) {
+                    job.addError(parsed.line(), parsed.error());
+                    continue;
+                }
+                batch.add(parsed.row());
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, seller, job);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(batch, seller, job);
+            }
+            job.finish("COMPLETED", null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("상품 대량 등록 중단 - importId: {}, {}", job.importId, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+        }
+
+        log.info("상품 대량 등록 완료 - importId: {}, 성공 {}건, 실패 {}건, {}ms",
+                job.importId, job.importedRows.get(), job.failedRows.get(), System.currentTimeMillis() - start);
+        return job.toResponse();
+    }
+
+    // 판매자의 최근 대량 등록 목록 (진행 중 포함, 최신순)
+    public List<ProductImportResponse> findImports(User seller) {
+        return jobs.asMap().values().stream()
+                .filter(job -> job.sellerId.equals(seller.getId()))
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+                .map(ImportJob::toResponse)
+                .toList();
+    }
+
+    public ProductImportResponse findImport(String importId, User seller) {
+        ImportJob job = jobs.getIfPresent(importId);
+        if (job == null || !job.sellerId.equals(seller.getId())) {
+            throw new ResourceNotFoundException("대량 등록 내역을 찾을 수 없습니다. id=" + importId);
+        }
+        return job.toResponse();
+    }
+
+    // 첫 줄은 헤더 (name, price, stock, category 필수 / description, thumbnail 선택, 순서 무관)
+    private RowSource csvSource(Reader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_RECORD_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = List.of("name", "price", "stock", "category").stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV 헤더에 필수 컬럼이 없습니다: " + String.join(", ", missing));
+        }
+
+        return () -> {
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            Map<String, String> values = new HashMap<>();
+            columns.forEach((column, index) -> values.put(column, index < fields.size() ? fields.get(index) : null));
+            return validate(csv.getRecordLine(), values);
+        };
+    }
+
+    // 한 줄에 JSON 객체 하나 ({"name": ..., "price": ..., "stock": ..., "category": ..., ...})
+    private RowSource jsonLinesSource(Reader reader) {
+        StringBuilder line = new StringBuilder();
+        long[] lineNumber = {0};
+        return () -> {
+            while (true) {
+                int result = readLine(reader, line);
+                if (result < 0) {
+                    return null;
+                }
+                lineNumber[0]++;
+                if (result > 0) {
+                    return new ParsedRow(lineNumber[0], null, "한 행이 " + MAX_RECORD_LENGTH + "자를 넘습니다.");
+                }
+                if (line.toString().isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(line.toString());
+                    if (!node.isObject()) {
+                        return new ParsedRow(lineNumber[0], null, "JSON 객체가 아닙니다.");
+                    }
+                    Map<String, String> values = new HashMap<>();
+                    node.properties().forEach(entry -> {
+                        JsonNode value = entry.getValue();
+                        values.put(entry.getKey().toLowerCase(Locale.ROOT), value.isNull() ? null : value.asText());
+                    });
+                    return validate(lineNumber[0], values);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(lineNumber[0], null, "JSON 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    // 한 줄을 line에 읽는다. 파일 끝이면 -1, 너무 긴 줄이면 나머지를 버리고 1, 정상이면 0
+    private static int readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return -1;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() < MAX_RECORD_LENGTH) {
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        return tooLong ? 1 : 0;
+    }
+
+    private static ParsedRow validate(long line, Map<String, String> values) {
+        String name = trimToNull(values.get("name"));
+        String category = trimToNull(values.get("category"));
+        String description = trimToNull(values.get("description"));
+        String thumbnail = trimToNull(values.get("thumbnail"));
+
+        String error = null;
+        Integer price = parseNonNegative(values.get("price"));
+        Integer stock = parseNonNegative(values.get("stock"));
+        if (name == null || name.length() > 100) {
+            error = "상품명은 1~100자여야 합니다.";
+        } else if (price == null) {
+            error = "가격은 0 이상의 정수여야 합니다.";
+        } else if (stock == null) {
+            error = "재고는 0 이상의 정수여야 합니다.";
+        } else if (category == null || category.length() > 50) {
+            error = "카테고리는 1~50자여야 합니다.";
+        } else if (description != null && description.length() > 500) {
+            error = "설명은 500자 이하여야 합니다.";
+        } else if (thumbnail != null && (thumbnail.length() > 500
+                || !(thumbnail.startsWith("https://") || thumbnail.startsWith("http://")))) {
+            error = "썸네일은 500자 이하의 http(s) URL이어야 합니다.";
+        }
+        if (error != null) {
+            return new ParsedRow(line, null, error);
+        }
+        return new ParsedRow(line, new ImportRow(line, name, price, description, stock, category, thumbnail), null);
+    }
+
+    private static Integer parseNonNegative(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            return parsed >= 0 ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private void insertBatch(List<ImportRow> batch, User seller, ImportJob job) {
+        long firstId = allocateIds(batch.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch, firstId, seller.getId(), now));
+            job.importedRows.addAndGet(batch.size());
+        } catch (DataAccessException e) {
+            // 배치 전체가 실패하면 한 행씩 다시 넣어 문제 행만 오류로 남긴다
+            log.warn("상품 대량 등록 배치 실패, 한 행씩 재시도 - importId: {}, {}", job.importId, e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                List<ImportRow> single = List.of(batch.get(i));
+                long id = firstId + i;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(single, id, seller.getId(), now));
+                    job.importedRows.incrementAndGet();
+                } catch (DataAccessException rowError) {
+                    job.addError(batch.get(i).line(), "저장 실패: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // 트랜잭션 안에서 호출. 커밋 이후 캐시/색인이 갱신되도록 이벤트도 함께 발행한다
+    private void insert(List<ImportRow> rows, long firstId, Long sellerId, Timestamp createdAt) {
+        List<ProductSearchRow> inserted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            inserted.add(new ProductSearchRow(firstId + i, row.name(), row.description(), row.category(), row.price()));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserted, inserted.size(), (ps, product) -> {
+            ImportRow row = rows.get((int) (product.id() - firstId));
+            ps.setLong(1, product.id());
+            ps.setString(2, row.name());
+            ps.setInt(3, row.price());
+            ps.setString(4, row.description());
+            ps.setInt(5, row.stock());
+            ps.setString(6, row.thumbnail());
+            ps.setString(7, row.category());
+            ps.setTimestamp(8, createdAt);
+            ps.setLong(9, sellerId);
+        });
+        eventPublisher.publishEvent(new ProductsImportedEvent(inserted));
+    }
+
+    // count개 이상의 연속된 id를 받아 첫 id를 반환한다
+    // Hibernate pooled 생성기는 읽은 값 v에 대해 (v + 1 - 할당 크기, v + 1] 구간을 쓰므로(next_val에 마지막으로 쓴 값 저장),
+    // 같은 규칙으로 블록 여러 개를 한 번에 가져가고 다음에 읽는 값의 구간이 가져간 id 바로 뒤에서 시작하도록 저장한다
+    private long allocateIds(int count) {
+        int allocationSize = Product.ID_ALLOCATION_SIZE;
+        Long first = idTransaction.execute(status -> {
+            Long current;
+            try {
+                current = jdbcTemplate.queryForObject(
+                        "SELECT next_val FROM id_generators WHERE name = ? FOR UPDATE", Long.class, ID_GENERATOR_NAME);
+            } catch (EmptyResultDataAccessException e) {
+                throw new IllegalStateException("상품 id 생성기가 초기화되지 않았습니다.", e);
+            }
+            long blocks = (count + allocationSize - 1) / allocationSize;
+            // 아직 한 번도 쓰지 않은 생성기는 1부터 시작한다
+            long start = Math.max(current - allocationSize + 2, 1);
+            long last = start + blocks * allocationSize - 1;
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE name = ?",
+                    last + allocationSize - 1, ID_GENERATOR_NAME);
+            return start;
+        });
+        return first;
+    }
+
+    // 진행 중/완료된 대량 등록 상태
+    private static final class ImportJob {
+        final String importId;
+        final Long sellerId;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicLong processedRows = new AtomicLong();
+        final AtomicLong importedRows = new AtomicLong();
+        final AtomicLong failedRows = new AtomicLong();
+        final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+        volatile String status = "RUNNING";
+        volatile String message;
+        volatile LocalDateTime finishedAt;
+
+        ImportJob(String importId, Long sellerId) {
+            this.importId = importId;
+            this.sellerId = sellerId;
+        }
+
+        void addError(long line, String message) {
+            failedRows.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ProductImportResponse.RowError(line, message));
+                }
+            }
+        }
+
+        void finish(String status, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        ProductImportResponse toResponse() {
+            List<ProductImportResponse.RowError> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors);
+            }
+            return new ProductImportResponse(importId, status, processedRows.get(), importedRows.get(),
+                    failedRows.get(), reported, message, startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.shop.backend.service;
+
+import com.shop.backend.entity.Product;
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.event.RatingsRebuiltEvent;
+import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.repository.ReviewRepository;
+import com.shop.backend.repository.projection.RatingCount;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 상품별 별점 집계(리뷰 수, 합계, 1~5점 분포) 관리
+@Slf4j
+@Service
+@Transactional
+public class ProductRatingService {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000; // 재계산 한 번(트랜잭션 하나)에 다루는 상품 ID 범위
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable ->
+            Thread.ofPlatform().name("rating-backfill").daemon(true).unstarted(runnable));
+
+    public ProductRatingService(
+            ProductRepository productRepository,
+            ReviewRepository reviewRepository,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.rating.backfill-on-startup:true}") boolean backfillOnStartup
+    ) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    // 리뷰 작성
+    public void addRating(Product product, int rating) {
+        adjust(product, 0, rating);
+    }
+
+    // 리뷰 별점 수정
+    public void changeRating(Product product, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            adjust(product, oldRating, newRating);
+        }
+    }
+
+    // 리뷰 삭제
+    public void removeRating(Product product, int rating) {
+        adjust(product, rating, 0);
+    }
+
+    private void adjust(Product product, int removed, int added) {
+        productRepository.adjustRating(product.getId(), removed, added);
+        eventPublisher.publishEvent(ProductChangedEvent.ratingChanged(product));
+    }
+
+    // 전체 상품의 별점 집계를 리뷰 테이블 기준으로 다시 계산 (집계 누락/불일치 복구용)
+    // 상품 ID 범위별로 트랜잭션을 나눠, 한 번에 잠기는 상품 행을 그 범위로 제한한다 (재고 반영 등 다른 UPDATE가 오래 기다리지 않도록)
+    @Scheduled(cron = "${app.rating.rebuild-cron:0 0 4 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildAll() {
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM products");
+        if (range.get("min_id") == null) {
+            return;
+        }
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+
+        int productCount = 0;
+        for (long from = minId; from <= maxId; from += REBUILD_CHUNK_SIZE) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + REBUILD_CHUNK_SIZE - 1, maxId);
+            productCount += transactionTemplate.execute(status -> rebuildRange(chunkFrom, chunkTo));
+        }
+
+        eventPublisher.publishEvent(new RatingsRebuiltEvent(productCount));
+        log.info("별점 집계 재계산 완료 - 리뷰가 있는 상품 {}개", productCount);
+    }
+
+    // from~to 범위 상품의 집계를 0으로 되돌린 뒤 리뷰 수로 채운다, 리뷰가 있는 상품 수를 돌려준다
+    // 먼저 범위의 행을 잠그므로, 그 사이 커밋되는 리뷰의 증분은 재계산 전(집계에 포함)이나 후(재계산 값에 더해짐)로 갈린다
+    private int rebuildRange(long from, long to) {
+        jdbcTemplate.update("UPDATE products SET rating_count = 0, rating_sum = 0, " +
+                "rating_1 = 0, rating_2 = 0, rating_3 = 0, rating_4 = 0, rating_5 = 0 WHERE id BETWEEN ? AND ?", from, to);
+
+        List<Object[]> batch = new ArrayList<>();
+        Long currentProductId = null;
+        long[] histogram = new long[6]; // 인덱스 1~5 사용
+        for (RatingCount row : reviewRepository.findRatingCounts(from, to)) {
+            if (currentProductId != null && !currentProductId.equals(row.productId())) {
+                batch.add(toBatchArgs(currentProductId, histogram));
+                histogram = new long[6];
+            }
+            currentProductId = row.productId();
+            if (row.rating() >= 1 && row.rating() <= 5) {
+                histogram[row.rating()] += row.count();
+            }
+        }
+        if (currentProductId != null) {
+            batch.add(toBatchArgs(currentProductId, histogram));
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE products SET rating_count = ?, rating_sum = ?, " +
+                    "rating_1 = ?, rating_2 = ?, rating_3 = ?, rating_4 = ?, rating_5 = ? WHERE id = ?", batch);
+        }
+        return batch.size();
+    }
+
+    private Object[] toBatchArgs(Long productId, long[] histogram) {
+        long count = 0;
+        long sum = 0;
+        for (int star = 1; star <= 5; star++) {
+            count += histogram[star];
+            sum += star * histogram[star];
+        }
+        return new Object[]{count, sum, histogram[1], histogram[2], histogram[3], histogram[4], histogram[5], productId};
+    }
+
+    // 리뷰는 있는데 집계가 모두 비어 있으면 (기능 도입 직후) 백그라운드에서 한 번 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        backfillExecutor.execute(() -> {
+            try {
+                Boolean empty = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM reviews) " +
+                        "AND NOT EXISTS (SELECT 1 FROM products WHERE rating_count > 0)", Boolean.class);
+                if (Boolean.TRUE.equals(empty)) {
+                    rebuildAll();
+                }
+            } catch (RuntimeException e) {
+                log.error("별점 집계 초기 채우기 실패", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+}
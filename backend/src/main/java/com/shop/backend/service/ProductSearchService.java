@@ -0,0 +1,96 @@
+package com.shop.backend.service;
+
+import com.shop.backend.entity.Product;
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.event.ProductsImportedEvent;
+import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.repository.projection.ProductSearchRow;
+import com.shop.backend.response.ProductResponse;
+import com.shop.backend.search.ProductSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 상품 키워드 검색
+// - 시작 시 전체 상품으로 메모리 역색인(ProductSearchIndex)을 만들고, 이후에는 상품 변경 이벤트로 갱신한다
+//   (색인을 만드는 동안 들어온 이벤트가 재구성이 읽은 예전 행에 덮어쓰이지 않도록 색인이 구분한다)
+// - 검색은 색인에서 상품 ID만 순위대로 꺼낸 뒤 한 번의 쿼리로 상품을 조회한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+    // 너무 깊은 페이지는 상위 결과를 모두 모아야 하므로 제한한다
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductRepository productRepository;
+
+    public Page<ProductResponse> search(String query, String category, Integer minPrice, Integer maxPrice, Pageable pageable) {
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("검색 결과는 " + MAX_RESULT_WINDOW + "번째까지만 조회할 수 있습니다.");
+        }
+
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(
+                query, category, minPrice, maxPrice, (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.productIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.totalHits());
+        }
+
+        // 색인이 매긴 순서대로 응답 (색인 반영 직전에 삭제된 상품은 빠진다)
+        Map<Long, Product> products = productRepository.findAllByIdIn(result.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> content = result.productIds().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(ProductResponse::new)
+                .toList();
+        return new PageImpl<>(content, pageable, result.totalHits());
+    }
+
+    // 전체 상품으로 색인을 다시 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        productSearchIndex.beginRebuild();
+        try (Stream<ProductSearchRow> rows = productRepository.streamSearchRows()) {
+            rows.forEach(productSearchIndex::addFromRebuild);
+        } finally {
+            productSearchIndex.completeRebuild();
+        }
+        log.info("상품 검색 색인 생성 완료 - {}개, {}ms", productSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    // 상품 등록/수정/삭제가 커밋된 뒤 색인에 반영 (재고/별점 변경은 검색 대상 필드가 아니므로 무시)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> productRepository.findSearchRowById(event.productId())
+                    .ifPresentOrElse(productSearchIndex::upsert, () -> productSearchIndex.remove(event.productId()));
+            case DELETED -> productSearchIndex.remove(event.productId());
+            default -> {
+            }
+        }
+    }
+
+    // 대량 등록 배치는 이벤트에 담긴 값으로 바로 색인한다 (상품별 재조회 없음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.products().forEach(productSearchIndex::upsert);
+    }
+}
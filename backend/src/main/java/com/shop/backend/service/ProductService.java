@@ -1,10 +1,18 @@
 package com.shop.backend.service;
 
+import com.shop.backend.cache.ProductCache;
+import com.shop.backend.cache.ProductPageKey;
+import com.shop.backend.dto.ProductCursor;
 import com.shop.backend.dto.ProductRequest;
 import com.shop.backend.entity.Product;
 import com.shop.backend.entity.User;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.event.ProductChangedEvent;
 import com.shop.backend.exception.ResourceNotFoundException;
 import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.search.ProductFacetIndex;
+import com.shop.backend.response.CursorResponse;
+import com.shop.backend.response.FacetResponse;
 import com.shop.backend.response.ProductResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
@@ -12,18 +20,25 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
-    private final CloudinaryService cloudinaryService;
+    private final ThumbnailUploadService thumbnailUploadService;
+    private final ProductCache productCache;
+    private final DomainEventBus domainEventBus;
+    private final ProductFacetIndex productFacetIndex;
 
     // 상품 등록
     public ProductResponse create(ProductRequest request, MultipartFile thumbnailFile, User user) {
 
-        String imageUrl = cloudinaryService.uploadFile(thumbnailFile); // Cloudinary에 이미지 업로드
+        // 이미지는 임시 파일로만 받아 두고, 업로드는 등록 이후 백그라운드에서 처리한다
+        ThumbnailUploadService.StagedImage image = thumbnailUploadService.stage(thumbnailFile);
 
         // Product.createProduct(...)를 사용하는 대신 직접 객체를 생성하고 값을 설정합니다.
         Product product = new Product();
@@ -32,22 +47,20 @@ public class ProductService {
         product.setDescription(request.getDescription());
         product.setStock(request.getStock());
         product.setCategory(request.getCategory());
-        product.setThumbnail(imageUrl);
+        product.setThumbnail(thumbnailUploadService.getPendingUrl()); // 업로드가 끝나면 실제 URL로 바뀐다
         product.setCreatedBy(user); // ⭐️⭐️⭐️ 이 한 줄이 모든 문제의 최종 해결책입니다.
 
-        Product saved = productRepository.save(product);
-
-        return new ProductResponse(
-                saved.getId(),
-                saved.getName(),
-                saved.getPrice(),
-                saved.getDescription(),
-                saved.getStock(),
-                saved.getThumbnail(),
-                saved.getCategory(),
-                saved.getCreatedAt(),
-                saved.getCreatedBy().getId()
-        );
+        Product saved;
+        try {
+            saved = productRepository.save(product);
+        } catch (RuntimeException e) {
+            thumbnailUploadService.discard(image); // 저장에 실패하면 업로드할 일이 없으므로 임시 파일을 지운다
+            throw e;
+        }
+        domainEventBus.publish(ProductChangedEvent.created(saved));
+        thumbnailUploadService.schedule(saved.getId(), image);
+
+        return new ProductResponse(saved);
     }
 
     // 상품 전체 조회
@@ -55,57 +68,81 @@ public class ProductService {
         // category가 'all'이면 null로 취급하여 전체 카테고리를 검색하도록 함
         String filterCategory = (category != null && category.equals("all")) ? null : category;
 
-        Page<Product> productPage = productRepository.findWithFilters(filterCategory, minPrice, maxPrice, pageable);
-
-        return productPage.map(product -> new ProductResponse(
-                product.getId(),
-                product.getName(),
-                product.getPrice(),
-                product.getDescription(),
-                product.getStock(),
-                product.getThumbnail(),
-                product.getCategory(),
-                product.getCreatedAt(),
-                product.getCreatedBy().getId()
-        ));
+        // 페이징 정보가 없는 요청은 캐시하지 않는다
+        if (pageable.isUnpaged()) {
+            return loadPage(filterCategory, minPrice, maxPrice, pageable);
+        }
+
+        ProductPageKey key = ProductPageKey.of(filterCategory, minPrice, maxPrice, pageable);
+        return productCache.getPage(key, () -> loadPage(filterCategory, minPrice, maxPrice, pageable));
+    }
+
+    // 현재 필터 기준 카테고리/가격대별 상품 수 (메모리 집계에서 계산)
+    public FacetResponse findFacets(String category, Integer minPrice, Integer maxPrice) {
+        String filterCategory = (category != null && category.equals("all")) ? null : category;
+        return productFacetIndex.getFacets(filterCategory, minPrice, maxPrice);
+    }
+
+    private Page<ProductResponse> loadPage(String category, Integer minPrice, Integer maxPrice, Pageable pageable) {
+        Page<Product> productPage = productRepository.findWithFilters(category, minPrice, maxPrice, pageable);
+
+        return productPage.map(ProductResponse::new);
     }
 
 
+    // 상품 전체 조회 (커서 기반, 전체 개수 없이 다음 커서만 반환)
+    public CursorResponse<ProductResponse> findAllByCursor(String category, Integer minPrice, Integer maxPrice,
+                                                           Sort sort, String cursorToken, int size) {
+        String filterCategory = (category != null && category.equals("all")) ? null : category;
+
+        // 정렬 조건은 하나만 허용 (createdAt, price, id)
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.desc("createdAt"));
+        if (!ProductCursor.SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + order.getProperty());
+        }
+
+        ProductCursor cursor = null;
+        if (cursorToken != null && !cursorToken.isBlank()) {
+            cursor = ProductCursor.decode(cursorToken);
+            if (!cursor.matches(order)) {
+                throw new IllegalArgumentException("커서의 정렬 조건이 요청과 다릅니다.");
+            }
+        }
+
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회
+        List<Product> products = productRepository.findWithFiltersAfter(filterCategory, minPrice, maxPrice, order, cursor, size + 1);
+        boolean hasNext = products.size() > size;
+        if (hasNext) {
+            products = products.subList(0, size);
+        }
+
+        String nextCursor = hasNext ? ProductCursor.of(products.get(products.size() - 1), order).encode() : null;
+        List<ProductResponse> content = products.stream()
+                .map(ProductResponse::new)
+                .toList();
+
+        return new CursorResponse<>(content, nextCursor, hasNext);
+    }
+
     // 상품 상세 조회
     public ProductResponse findById(Long id) {
+        return productCache.getById(id, this::loadById);
+    }
+
+    private ProductResponse loadById(Long id) {
         // 1. id를 이용하여 Product 엔티티를 조회합니다.
         Product product = productRepository.findById(id)
                 // 2. 만약 해당 id의 상품이 없다면 예외를 발생시킵니다.
                 .orElseThrow(() -> new ResourceNotFoundException("해당 상품을 찾을 수 없습니다. id=" + id));
 
         // 3. 조회된 엔티티를 DTO로 변환하여 반환합니다.
-        return new ProductResponse(
-                product.getId(),
-                product.getName(),
-                product.getPrice(),
-                product.getDescription(),
-                product.getStock(),
-                product.getThumbnail(),
-                product.getCategory(),
-                product.getCreatedAt(),
-                product.getCreatedBy().getId()
-        );
+        return new ProductResponse(product);
     }
 
     // 내가 올린 상품 목록 조회
     public Page<ProductResponse> findMyProducts(User user, Pageable pageable) {
         Page<Product> productPage = productRepository.findByCreatedBy(user, pageable);
-        return productPage.map(product -> new ProductResponse(
-                product.getId(),
-                product.getName(),
-                product.getPrice(),
-                product.getDescription(),
-                product.getStock(),
-                product.getThumbnail(),
-                product.getCategory(),
-                product.getCreatedAt(),
-                product.getCreatedBy().getId()
-        ));
+        return productPage.map(ProductResponse::new);
     }
 
     // 내가 올린 상품 목록 수정
@@ -119,29 +156,32 @@ public class ProductService {
             throw new AccessDeniedException("상품을 수정할 권한이 없습니다.");
         }
 
-        // 3. 썸네일 파일이 새로 첨부된 경우에만 Cloudinary에 업로드하고 URL을 교체합니다.
-        String newImageUrl = null;
+        // 3. 썸네일 파일이 새로 첨부된 경우에만 임시 파일로 받아 둡니다. (업로드가 끝날 때까지 기존 썸네일 유지)
+        ThumbnailUploadService.StagedImage image = null;
         if (thumbnailFile != null && !thumbnailFile.isEmpty()) {
-            newImageUrl = cloudinaryService.uploadFile(thumbnailFile);
+            image = thumbnailUploadService.stage(thumbnailFile);
+        }
+
+        // 4. DTO에 담겨온 정보로 상품 엔티티의 내용을 업데이트합니다. (캐시 무효화를 위해 변경 전 상태를 기억)
+        ProductChangedEvent.Snapshot before = ProductChangedEvent.Snapshot.of(product);
+
+        // 5. 수정된 상품 정보를 DB에 저장(flush)하고, DTO로 변환하여 반환합니다. (실패하면 받아 둔 임시 파일을 지웁니다)
+        Product updatedProduct;
+        try {
+            product.update(request, null);
+            updatedProduct = productRepository.save(product);
+        } catch (RuntimeException e) {
+            thumbnailUploadService.discard(image);
+            throw e;
+        }
+        domainEventBus.publish(ProductChangedEvent.updated(updatedProduct, before));
+
+        // 6. 새 썸네일은 백그라운드에서 업로드한 뒤 교체합니다.
+        if (image != null) {
+            thumbnailUploadService.schedule(updatedProduct.getId(), image);
         }
 
-        // 4. DTO에 담겨온 정보로 상품 엔티티의 내용을 업데이트합니다.
-        product.update(request, newImageUrl);
-
-        // 5. 수정된 상품 정보를 DB에 저장(flush)하고, DTO로 변환하여 반환합니다.
-        Product updatedProduct = productRepository.save(product);
-
-        return new ProductResponse(
-                updatedProduct.getId(),
-                updatedProduct.getName(),
-                updatedProduct.getPrice(),
-                updatedProduct.getDescription(),
-                updatedProduct.getStock(),
-                updatedProduct.getThumbnail(),
-                updatedProduct.getCategory(),
-                updatedProduct.getCreatedAt(),
-                product.getCreatedBy().getId()
-        );
+        return new ProductResponse(updatedProduct);
     }
 
     // 내가 올린 상품 목록 삭제
@@ -155,5 +195,6 @@ public class ProductService {
         }
 
         productRepository.delete(product);
+        domainEventBus.publish(ProductChangedEvent.deleted(product));
     }
 }
\ No newline at end of file
@@ -4,17 +4,21 @@ import com.shop.backend.dto.ReviewRequest;
 import com.shop.backend.entity.Product;
 import com.shop.backend.entity.Review;
 import com.shop.backend.entity.User;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.event.ReviewCreatedEvent;
 import com.shop.backend.exception.ResourceNotFoundException;
 import com.shop.backend.repository.OrderRepository;
 import com.shop.backend.repository.ProductRepository;
 import com.shop.backend.repository.ReviewRepository;
+import com.shop.backend.repository.projection.ReviewRow;
 
 import com.shop.backend.response.ReviewResponse;
-import com.shop.backend.response.NotificationResponse;
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,8 +26,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -33,7 +40,12 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final DomainEventBus domainEventBus;
+    private final ProductRatingService productRatingService;
+
+    // 시작 시 구매 여부가 비어 있는 이전 리뷰들을 채울지 여부
+    @Value("${app.review.backfill-verified-purchase:false}")
+    private boolean backfillVerifiedPurchase;
 
     // 리뷰 생성
     public ReviewResponse createReview(Long productId, ReviewRequest request, User user) {
@@ -50,39 +62,24 @@ public class ReviewService {
         review.setProduct(product);
         review.setContent(request.getContent());
         review.setRating(request.getRating());
+        review.setVerifiedPurchase(true); // 위에서 구매 이력을 확인했으므로 저장해두고 조회 시 재확인하지 않는다
 
         Review savedReview = reviewRepository.save(review);
+        productRatingService.addRating(product, savedReview.getRating());
 
         User reviewWriter = user;
         User productOwner = product.getCreatedBy();
 
-        // 본인 상품에 리뷰를 다는 경우를 제외하는 조건 확인
-        if (!productOwner.getId().equals(reviewWriter.getId())) {
-            log.info("✅ 조건 통과: 상품 소유자와 리뷰 작성자가 다릅니다. 알림 전송을 시도합니다.");
-            try {
-                String productOwnerUsername = productOwner.getUsername();
-
-                NotificationResponse notification = new NotificationResponse(
-                        "'" + product.getName() + "' 상품에 새로운 리뷰가 달렸습니다!",
-                        product.getId(),
-                        product.getName(),
-                        savedReview.getContent(),
-                        savedReview.getCreatedAt()
-                );
-
-                // 'hong'이라는 사용자를 찾는 대신, '/topic/notifications/hong' 이라는 주소로 직접 메시지를 보냅니다.
-                messagingTemplate.convertAndSend(
-                        "/topic/notifications/" + productOwnerUsername,
-                        notification
-                );
-                log.info("✅✅✅ `/topic/notifications/{}` 주소로 메시지 전송 성공! 수신자: '{}'", productOwnerUsername, productOwnerUsername);
-
-            } catch (Exception e) {
-                log.error("❌❌❌ 알림 전송 중 심각한 예외 발생: ", e);
-            }
-        } else {
-            log.warn("🟡 조건 실패: 상품 소유자와 리뷰 작성자가 동일하여 알림을 보내지 않습니다.");
-        }
+        // 상품 소유자 알림 등은 커밋 후 이벤트 구독자가 처리한다 (본인 상품 리뷰는 구독자가 걸러낸다)
+        domainEventBus.publish(new ReviewCreatedEvent(
+                savedReview.getId(),
+                product.getId(),
+                product.getName(),
+                productOwner.getId(),
+                productOwner.getUsername(),
+                reviewWriter.getId(),
+                savedReview.getContent()
+        ));
 
         return new ReviewResponse(savedReview, hasPurchased);
     }
@@ -90,20 +87,27 @@ public class ReviewService {
     // 상품별 리뷰 목록 조회
     @Transactional(readOnly = true)
     public Page<ReviewResponse> getReviewsByProduct(Long productId, Pageable pageable) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("상품을 찾을 수 없습니다."));
-
-        Page<Review> reviewPage = reviewRepository.findByProduct(product, pageable);
-
-
-        // 각 Review 엔티티를 순회하며, ReviewResponse DTO로 변환한다
-        return reviewPage.map(review -> {
-            // 이 리뷰를 작성한 유저가 이 상품을 구매했는지 확인한다
-            boolean hasPurchased = orderRepository.existsByUserAndProductInOrders(review.getUser(), review.getProduct());
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("상품을 찾을 수 없습니다.");
+        }
 
-            // DTO 생성자에 review 객체와 구매 여부(hasPurchased)를 함께 전달한다
-            return new ReviewResponse(review, hasPurchased);
-        });
+        // 1. 리뷰 + 작성자 + 상품 정보를 한 번의 쿼리로 조회한다
+        Page<ReviewRow> rowPage = reviewRepository.findRowsByProductId(productId, pageable);
+
+        // 2. 구매 여부가 저장되지 않은(이전) 리뷰의 작성자들만 모아 한 번에 구매 이력을 확인한다
+        Set<Long> uncheckedUserIds = rowPage.stream()
+                .filter(row -> row.verifiedPurchase() == null)
+                .map(ReviewRow::userId)
+                .collect(Collectors.toSet());
+        Set<Long> purchaserIds = uncheckedUserIds.isEmpty()
+                ? Collections.emptySet()
+                : orderRepository.findPurchaserIds(productId, uncheckedUserIds);
+
+        // 3. 저장된 구매 여부가 있으면 그대로 쓰고, 없으면 위에서 확인한 결과를 사용한다
+        return rowPage.map(row -> new ReviewResponse(
+                row,
+                row.verifiedPurchase() != null ? row.verifiedPurchase() : purchaserIds.contains(row.userId())
+        ));
     }
 
     // 리뷰 수정
@@ -117,9 +121,11 @@ public class ReviewService {
             throw new AccessDeniedException("리뷰를 수정할 권한이 없습니다.");
         }
 
-        // 3. 내용 및 별점 업데이트
+        // 3. 내용 및 별점 업데이트 (별점 집계도 함께 반영)
+        int oldRating = review.getRating();
         review.setContent(request.getContent());
         review.setRating(request.getRating());
+        productRatingService.changeRating(review.getProduct(), oldRating, review.getRating());
 
         // @Transactional에 의해 메소드 종료 시 자동 flush (DB에 변경사항 반영)
         // DTO로 변환하여 반환, 구매자 여부는 항상 true (작성자=구매자)
@@ -137,18 +143,29 @@ public class ReviewService {
             throw new AccessDeniedException("리뷰를 삭제할 권한이 없습니다.");
         }
 
-        // 3. 리뷰 삭제
+        // 3. 리뷰 삭제 (별점 집계에서도 제외)
         reviewRepository.delete(review);
+        productRatingService.removeRating(review.getProduct(), review.getRating());
     }
 
     // 현재 로그인된 사용자가 작성한 리뷰 내역을 페이징하여 조회
     @Transactional(readOnly = true)
     public Page<ReviewResponse> findMyReviews(User user, Pageable pageable) {
-        // 1. 리포지토리로부터 Page<Review> 엔티티를 조회한다
-        Page<Review> reviewPage = reviewRepository.findByUser(user, pageable);
+        // 1. 리뷰 + 상품 정보를 한 번의 쿼리로 조회한다
+        Page<ReviewRow> rowPage = reviewRepository.findRowsByUserId(user.getId(), pageable);
+
+        // 2. DTO로 변환한다 (내가 쓴 리뷰는 내가 구매한 상품에 대한 것이므로, hasPurchased는 항상 true가 된다)
+        return rowPage.map(row -> new ReviewResponse(row, true));
+    }
 
-        // 2. 각 리뷰에 대해 구매자 여부를 확인하고 DTO로 변환한다 (내가 쓴 리뷰는 내가 구매한 상품에 대한 것이므로, hasPurchased는 항상 true가 된다)
-        return reviewPage.map(review -> new ReviewResponse(review, true));
+    // 구매 여부가 저장되지 않은 이전 리뷰들을 한 번의 UPDATE로 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillVerifiedPurchase() {
+        if (!backfillVerifiedPurchase) {
+            return;
+        }
+        int updated = reviewRepository.backfillVerifiedPurchase();
+        log.info("리뷰 구매 여부 백필 완료 - {}건", updated);
     }
 
 
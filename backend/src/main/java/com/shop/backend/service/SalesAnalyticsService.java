@@ -0,0 +1,107 @@
+package com.shop.backend.service;
+
+import com.shop.backend.entity.ProductDailySales;
+import com.shop.backend.entity.SellerDailySales;
+import com.shop.backend.repository.ProductDailySalesRepository;
+import com.shop.backend.repository.SellerDailySalesRepository;
+import com.shop.backend.repository.projection.ProductSalesRow;
+import com.shop.backend.response.ProductSalesResponse;
+import com.shop.backend.response.SalesDailyResponse;
+import com.shop.backend.response.SalesSummaryResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 판매자 매출 조회 (SalesRollupService가 만든 일별 집계만 읽으므로 주문 수와 무관하게 기간 일수에 비례)
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalesAnalyticsService {
+
+    public static final int DEFAULT_RANGE_DAYS = 30;
+    public static final int MAX_RANGE_DAYS = 366;
+    public static final int MAX_TOP_LIMIT = 50;
+
+    public enum Ranking {
+        REVENUE, UNITS;
+
+        public static Ranking from(String value) {
+            try {
+                return Ranking.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + value + " (revenue, units)");
+            }
+        }
+    }
+
+    private final SellerDailySalesRepository sellerDailySalesRepository;
+    private final ProductDailySalesRepository productDailySalesRepository;
+
+    // 판매자 전체 매출
+    public SalesSummaryResponse getSales(Long sellerId, LocalDate from, LocalDate to) {
+        Range range = Range.of(from, to);
+
+        Map<LocalDate, SalesDailyResponse> byDate = new HashMap<>();
+        for (SellerDailySales row : sellerDailySalesRepository.findBySellerIdAndSalesDateBetweenOrderBySalesDate(sellerId, range.from(), range.to())) {
+            byDate.put(row.getSalesDate(), new SalesDailyResponse(row.getSalesDate(), row.getUnits(), row.getRevenue(), row.getOrderCount()));
+        }
+        return new SalesSummaryResponse(range.from(), range.to(), fillDays(range, byDate));
+    }
+
+    // 상품 하나의 매출
+    public SalesSummaryResponse getProductSales(Long sellerId, Long productId, LocalDate from, LocalDate to) {
+        Range range = Range.of(from, to);
+
+        Map<LocalDate, SalesDailyResponse> byDate = new HashMap<>();
+        for (ProductDailySales row : productDailySalesRepository
+                .findBySellerIdAndProductIdAndSalesDateBetweenOrderBySalesDate(sellerId, productId, range.from(), range.to())) {
+            byDate.put(row.getSalesDate(), new SalesDailyResponse(row.getSalesDate(), row.getUnits(), row.getRevenue(), row.getOrderCount()));
+        }
+        return new SalesSummaryResponse(range.from(), range.to(), fillDays(range, byDate));
+    }
+
+    // 기간 동안 많이 팔린 상품
+    public List<ProductSalesResponse> getTopProducts(Long sellerId, LocalDate from, LocalDate to, Ranking ranking, int limit) {
+        Range range = Range.of(from, to);
+
+        PageRequest page = PageRequest.of(0, Math.clamp(limit, 1, MAX_TOP_LIMIT));
+        List<ProductSalesRow> rows = ranking == Ranking.UNITS
+                ? productDailySalesRepository.findTopByUnits(sellerId, range.from(), range.to(), page)
+                : productDailySalesRepository.findTopByRevenue(sellerId, range.from(), range.to(), page);
+        return rows.stream().map(ProductSalesResponse::new).toList();
+    }
+
+    // 조회 기간 [from, to] (지정하지 않으면 오늘까지 최근 30일)
+    private record Range(LocalDate from, LocalDate to) {
+        static Range of(LocalDate from, LocalDate to) {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+            if (start.isAfter(end)) {
+                throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+            }
+            if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+                throw new IllegalArgumentException("조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+            }
+            return new Range(start, end);
+        }
+    }
+
+    // 판매가 없던 날도 0으로 채워 날짜가 끊기지 않게 한다
+    private static List<SalesDailyResponse> fillDays(Range range, Map<LocalDate, SalesDailyResponse> byDate) {
+        List<SalesDailyResponse> days = new ArrayList<>();
+        for (LocalDate date = range.from(); !date.isAfter(range.to()); date = date.plusDays(1)) {
+            SalesDailyResponse day = byDate.get(date);
+            days.add(day != null ? day : new SalesDailyResponse(date, 0, 0, 0));
+        }
+        return days;
+    }
+}
@@ -0,0 +1,280 @@
+package com.shop.backend.service;
+
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 판매자 매출 집계(seller_daily_sales / product_daily_sales) 갱신
+// - 주문이 커밋되면 도메인 이벤트 버스(sales-rollup 구독자)가 요청 스레드 밖에서 주문 상품을 (판매자, 상품, 날짜)별 증분으로
+//   메모리에 모으고, 주기적으로 배치 UPDATE로 더한다
+//   주문이 한 상품에 몰려도 집계 행 UPDATE는 주기마다 한 번이라 주문 트랜잭션이 집계 행 락을 기다리지 않는다
+// - 주문 트랜잭션에 아웃박스 행이 함께 저장되므로, 커밋 직후 전달 전에 죽어도 다음 시작 때 증분이 들어온다
+// - 반영 전에 종료되는 등으로 어긋난 값은 매일 최근 며칠을 원본(orders/order_items)에서 다시 계산하여 바로잡는다
+// - 집계 테이블이 비어 있으면 시작 시 어제까지의 주문 내역으로 채운다(backfill)
+// - 오늘 날짜는 증분만 반영한다. 주문이 계속 커밋되는 중이라 원본에서 다시 계산하면, 계산 직전에 커밋되어
+//   아직 증분으로 들어오지 않은 주문이 계산에도 잡히고 나중에 증분으로도 더해진다 (오늘 분은 다음 날 재계산으로 바로잡힌다)
+// ※ DB에는 더하기(UPDATE ... + ?)로만 반영하므로 여러 인스턴스가 각자 모아 반영해도 합이 맞는다
+@Slf4j
+@Service
+public class SalesRollupService {
+
+    private static final String INSERT_SELLER_ROW = "INSERT INTO seller_daily_sales " +
+            "(seller_id, sales_date, units, revenue, order_count) SELECT ?, ?, 0, 0, 0 FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM seller_daily_sales WHERE seller_id = ? AND sales_date = ?)";
+    private static final String ADD_SELLER_SALES = "UPDATE seller_daily_sales " +
+            "SET units = units + ?, revenue = revenue + ?, order_count = order_count + ? " +
+            "WHERE seller_id = ? AND sales_date = ?";
+    private static final String INSERT_PRODUCT_ROW = "INSERT INTO product_daily_sales " +
+            "(seller_id, product_id, sales_date, units, revenue, order_count) SELECT ?, ?, ?, 0, 0, 0 FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM product_daily_sales WHERE seller_id = ? AND product_id = ? AND sales_date = ?)";
+    private static final String ADD_PRODUCT_SALES = "UPDATE product_daily_sales " +
+            "SET units = units + ?, revenue = revenue + ?, order_count = order_count + ? " +
+            "WHERE seller_id = ? AND product_id = ? AND sales_date = ?";
+
+    // 원본에서 다시 계산 (주문 일시의 날짜 기준, 기간은 [from, to) 일시)
+    private static final String REBUILD_PRODUCT_SALES = "INSERT INTO product_daily_sales " +
+            "(seller_id, product_id, sales_date, units, revenue, order_count) " +
+            "SELECT p.user_id, oi.product_id, CAST(o.order_date AS DATE), SUM(oi.quantity), " +
+            "SUM(oi.order_price * oi.quantity), COUNT(DISTINCT o.id) " +
+            "FROM orders o JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.order_date >= ? AND o.order_date < ? " +
+            "GROUP BY p.user_id, oi.product_id, CAST(o.order_date AS DATE)";
+    private static final String REBUILD_SELLER_SALES = "INSERT INTO seller_daily_sales " +
+            "(seller_id, sales_date, units, revenue, order_count) " +
+            "SELECT p.user_id, CAST(o.order_date AS DATE), SUM(oi.quantity), " +
+            "SUM(oi.order_price * oi.quantity), COUNT(DISTINCT o.id) " +
+            "FROM orders o JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.order_date >= ? AND o.order_date < ? " +
+            "GROUP BY p.user_id, CAST(o.order_date AS DATE)";
+
+    private record SellerDay(Long sellerId, LocalDate date) {
+    }
+
+    private record ProductDay(Long sellerId, Long productId, LocalDate date) {
+    }
+
+    // 아직 DB에 더하지 않은 증분
+    private record Delta(long units, long revenue, long orderCount) {
+        Delta plus(Delta other) {
+            return new Delta(units + other.units, revenue + other.revenue, orderCount + other.orderCount);
+        }
+    }
+
+    private static final Comparator<SellerDay> SELLER_DAY_ORDER =
+            Comparator.comparing(SellerDay::sellerId).thenComparing(SellerDay::date);
+    private static final Comparator<ProductDay> PRODUCT_DAY_ORDER =
+            Comparator.comparing(ProductDay::sellerId).thenComparing(ProductDay::productId).thenComparing(ProductDay::date);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventBus domainEventBus;
+    private final boolean backfillOnStartup;
+    private final int backfillChunkDays;
+    private final int rebuildDays;
+
+    private final Map<SellerDay, Delta> pendingSellerSales = new ConcurrentHashMap<>();
+    private final Map<ProductDay, Delta> pendingProductSales = new ConcurrentHashMap<>();
+
+    // 증분 반영과 재계산이 같은 날짜를 동시에 건드리지 않도록 한다
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable ->
+            Thread.ofPlatform().name("sales-rollup-backfill").daemon(true).unstarted(runnable));
+
+    public SalesRollupService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DomainEventBus domainEventBus,
+            MeterRegistry meterRegistry,
+            @Value("${app.sales-rollup.backfill-on-startup:true}") boolean backfillOnStartup,
+            @Value("${app.sales-rollup.backfill-chunk-days:31}") int backfillChunkDays,
+            @Value("${app.sales-rollup.rebuild-days:3}") int rebuildDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.domainEventBus = domainEventBus;
+        this.backfillOnStartup = backfillOnStartup;
+        this.backfillChunkDays = Math.max(backfillChunkDays, 1);
+        this.rebuildDays = Math.max(rebuildDays, 1);
+        Gauge.builder("sales.rollup.pending", this, service -> service.pendingSellerSales.size() + service.pendingProductSales.size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        domainEventBus.subscribe("sales-rollup", OrderPlacedEvent.class, this::onOrderPlaced);
+    }
+
+    // 주문이 커밋된 뒤 이벤트 버스에서 증분을 모은다 (주문 수는 주문 하나당 집계 행마다 1)
+    void onOrderPlaced(OrderPlacedEvent event) {
+        LocalDate date = event.orderDate() != null ? event.orderDate().toLocalDate() : LocalDate.now();
+        Map<SellerDay, Delta> sellerSales = new HashMap<>();
+        Map<ProductDay, Delta> productSales = new HashMap<>();
+        for (OrderPlacedEvent.Line line : event.lines()) {
+            Delta delta = new Delta(line.quantity(), (long) line.orderPrice() * line.quantity(), 0);
+            sellerSales.merge(new SellerDay(line.sellerId(), date), delta, Delta::plus);
+            productSales.merge(new ProductDay(line.sellerId(), line.productId(), date), delta, Delta::plus);
+        }
+        sellerSales.forEach((key, delta) ->
+                pendingSellerSales.merge(key, new Delta(delta.units(), delta.revenue(), 1), Delta::plus));
+        productSales.forEach((key, delta) ->
+                pendingProductSales.merge(key, new Delta(delta.units(), delta.revenue(), 1), Delta::plus));
+    }
+
+    // 모아 둔 증분을 DB에 더한다 (없는 집계 행은 0으로 먼저 만든다)
+    @Scheduled(fixedDelayString = "${app.sales-rollup.flush-interval-ms:1000}")
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        Map<SellerDay, Delta> sellerSales = drain(pendingSellerSales);
+        Map<ProductDay, Delta> productSales = drain(pendingProductSales);
+        if (sellerSales.isEmpty() && productSales.isEmpty()) {
+            return;
+        }
+
+        // 여러 인스턴스가 같은 행을 갱신할 때 교착을 줄이도록 키 순서대로 반영한다
+        List<SellerDay> sellerKeys = sellerSales.keySet().stream().sorted(SELLER_DAY_ORDER).toList();
+        List<ProductDay> productKeys = productSales.keySet().stream().sorted(PRODUCT_DAY_ORDER).toList();
+        List<Object[]> sellerInserts = new ArrayList<>();
+        List<Object[]> sellerUpdates = new ArrayList<>();
+        for (SellerDay key : sellerKeys) {
+            Delta delta = sellerSales.get(key);
+            sellerInserts.add(new Object[]{key.sellerId(), key.date(), key.sellerId(), key.date()});
+            sellerUpdates.add(new Object[]{delta.units(), delta.revenue(), delta.orderCount(), key.sellerId(), key.date()});
+        }
+        List<Object[]> productInserts = new ArrayList<>();
+        List<Object[]> productUpdates = new ArrayList<>();
+        for (ProductDay key : productKeys) {
+            Delta delta = productSales.get(key);
+            productInserts.add(new Object[]{key.sellerId(), key.productId(), key.date(),
+                    key.sellerId(), key.productId(), key.date()});
+            productUpdates.add(new Object[]{delta.units(), delta.revenue(), delta.orderCount(),
+                    key.sellerId(), key.productId(), key.date()});
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SELLER_ROW, sellerInserts);
+                jdbcTemplate.batchUpdate(ADD_SELLER_SALES, sellerUpdates);
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT_ROW, productInserts);
+                jdbcTemplate.batchUpdate(ADD_PRODUCT_SALES, productUpdates);
+            });
+        } catch (RuntimeException e) {
+            // 다른 인스턴스와 같은 행을 동시에 만든 경우 등: 다음 주기에 다시 시도하도록 되돌린다
+            sellerSales.forEach((key, delta) -> pendingSellerSales.merge(key, delta, Delta::plus));
+            productSales.forEach((key, delta) -> pendingProductSales.merge(key, delta, Delta::plus));
+            log.error("매출 집계 반영 실패 - 다음 주기에 재시도합니다. 판매자 {}건, 상품 {}건", sellerKeys.size(), productKeys.size(), e);
+            return;
+        }
+        log.debug("매출 집계 반영 완료 - 판매자 {}건, 상품 {}건", sellerKeys.size(), productKeys.size());
+    }
+
+    private static <K> Map<K, Delta> drain(Map<K, Delta> pending) {
+        Map<K, Delta> drained = new HashMap<>();
+        for (K key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                drained.put(key, delta);
+            }
+        }
+        return drained;
+    }
+
+    // 어제까지 최근 며칠을 원본에서 다시 계산한다 (증분 반영 누락 보정)
+    @Scheduled(cron = "${app.sales-rollup.rebuild-cron:0 30 4 * * *}")
+    public void rebuildRecent() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday.minusDays(rebuildDays - 1), yesterday);
+    }
+
+    // 기간 [from, to]의 집계를 원본에서 다시 계산한다
+    // 먼저 모아 둔 증분을 반영한 뒤 지우고 다시 채우므로, 이미 증분으로 들어온 주문이 두 번 더해지지 않는다
+    // 주문이 아직 들어오는 날짜(오늘)를 넣으면 위 설명대로 중복될 수 있으므로, 정기 재계산과 backfill은 어제까지만 다시 계산한다
+    public void rebuild(LocalDate from, LocalDate to) {
+        long start = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            flushPending();
+            Timestamp fromTime = Timestamp.valueOf(from.atStartOfDay());
+            Timestamp toTime = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM seller_daily_sales WHERE sales_date BETWEEN ? AND ?", from, to);
+                jdbcTemplate.update("DELETE FROM product_daily_sales WHERE sales_date BETWEEN ? AND ?", from, to);
+                jdbcTemplate.update(REBUILD_SELLER_SALES, fromTime, toTime);
+                jdbcTemplate.update(REBUILD_PRODUCT_SALES, fromTime, toTime);
+            });
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("매출 집계 재계산 완료 - {} ~ {}, {}ms", from, to, System.currentTimeMillis() - start);
+    }
+
+    // 첫 주문일부터 어제까지 기간을 나눠 다시 계산한다 (기간마다 트랜잭션을 나눠 락과 undo 로그를 작게 유지)
+    public void backfill() {
+        Date firstOrderDate = jdbcTemplate.queryForObject("SELECT CAST(MIN(order_date) AS DATE) FROM orders", Date.class);
+        if (firstOrderDate == null) {
+            return;
+        }
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (LocalDate from = firstOrderDate.toLocalDate(); !from.isAfter(yesterday); from = from.plusDays(backfillChunkDays)) {
+            LocalDate to = from.plusDays(backfillChunkDays - 1);
+            rebuild(from, to.isAfter(yesterday) ? yesterday : to);
+        }
+    }
+
+    // 집계 테이블이 비어 있으면 (기능 도입 직후) 백그라운드에서 전체 주문 내역으로 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        backfillExecutor.execute(() -> {
+            try {
+                Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM seller_daily_sales)", Boolean.class);
+                if (!Boolean.TRUE.equals(exists)) {
+                    backfill();
+                }
+            } catch (RuntimeException e) {
+                log.error("매출 집계 초기 채우기 실패", e);
+            }
+        });
+    }
+
+    // 종료 시 남은 증분을 모두 DB에 반영
+    @PreDestroy
+    public void drain() {
+        backfillExecutor.shutdownNow();
+        flush();
+    }
+}
@@ -0,0 +1,309 @@
+package com.shop.backend.service;
+
+import com.shop.backend.entity.Product;
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.exception.ResourceNotFoundException;
+import com.shop.backend.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 메모리 기반 재고 선점(예약) 서비스
+// - 상품별 재고를 AtomicInteger로 관리하여 주문 시 DB 락/버전 충돌 없이 재고를 선점한다
+// - 주문 트랜잭션이 커밋되면 확정(commit), 롤백되면 선점을 해제(release)한다
+// - 차감량은 주문과 같은 트랜잭션에서 pending_stock_decrements에 기록하고 (products 행은 잠그지 않는다),
+//   주기적으로 products.stock에 배치 UPDATE로 반영하면서 같은 트랜잭션에서 기록을 지운다
+// - 반영 전에 프로세스가 죽어도 기록이 남으므로, 시작할 때(요청을 받기 전) 남은 기록을 먼저 반영한 뒤
+//   상품별 최초 접근 시 DB 값으로 카운터를 채운다
+// - 판매자가 재고를 수정하면 카운터를 DB 값 - 반영 대기 차감량으로 다시 채운다 (대기 중인 차감량은 버리지 않는다)
+//   판매자가 입력한 재고는 "판매자가 읽은 시점의 DB 재고"를 고친 값이다. 그 시점까지 확정되었지만 아직 반영되지 않은 주문은
+//   수정 이후의 주문과 마찬가지로 입력한 값에서 빠진다 (반영 시점과 관계없이 같은 결과)
+//   반영은 version도 올리므로, 판매자가 읽은 뒤 반영이 끼어들면 판매자의 저장이 덮어쓰지 않고 충돌(409)로 끝난다
+// ※ 단일 인스턴스 운영을 전제로 한다. 인스턴스마다 카운터를 따로 가지면 같은 재고를 중복으로 팔 수 있으므로
+//   여러 인스턴스를 띄우는 설정(app.cluster.transport=relay)에서는 시작을 거부한다 (enabled=false면 @Version 기반 DB 차감)
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    // 상품 ID -> 현재 주문 가능한 재고 (선점된 수량은 이미 빠져 있음)
+    private final Map<Long, AtomicInteger> availableStocks = new ConcurrentHashMap<>();
+
+    // 상품 ID -> 확정되었지만 아직 DB에 반영되지 않은 차감 수량
+    // 주문 커밋과 확정(afterCompletion) 사이에 반영이 먼저 일어나면 잠시 음수가 될 수 있다 (확정되면 0으로 돌아온다)
+    private final Map<Long, Integer> pendingDecrements = new ConcurrentHashMap<>();
+
+    // flush와 카운터 재설정이 겹치지 않도록 한다 (DB 값을 읽은 뒤 대기열에서 빠진 차감량이 두 번 빠지거나 누락되지 않게)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 선점한 카운터와 수량 (확정/해제는 선점한 카운터 기준으로 처리한다)
+    private record Reservation(AtomicInteger stock, int quantity) {
+    }
+
+    public StockReservationService(
+            ProductRepository productRepository,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.stock-reservation.enabled:true}") boolean enabled,
+            @Value("${app.cluster.transport:none}") String clusterTransport
+    ) {
+        if (enabled && "relay".equalsIgnoreCase(clusterTransport)) {
+            throw new IllegalStateException("메모리 재고 선점은 단일 인스턴스 전용입니다. " +
+                    "app.cluster.transport=relay에서는 app.stock-reservation.enabled=false로 설정하세요.");
+        }
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    // 지난 실행에서 반영하지 못한 차감을 카운터를 채우기 전에 반영한다
+    @PostConstruct
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Integer> applied = applyRecorded();
+        if (!applied.isEmpty()) {
+            log.warn("지난 실행에서 반영되지 않은 재고 차감 반영 - 상품 수: {}", applied.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 주문 상품들의 재고를 한 번에 선점 (전부 성공하거나 전부 실패)
+    // 현재 트랜잭션이 커밋되면 확정, 롤백되면 자동으로 해제된다
+    public void reserve(Map<Long, Integer> quantities) {
+        loadMissingStocks(quantities.keySet());
+
+        Map<Long, Reservation> reserved = new LinkedHashMap<>();
+        try {
+            quantities.forEach((productId, quantity) ->
+                    reserved.put(productId, new Reservation(reserveOne(productId, quantity), quantity)));
+            // 주문과 함께 커밋되도록 현재 트랜잭션에서 기록한다 (롤백되면 기록도 없다)
+            jdbcTemplate.batchUpdate("INSERT INTO pending_stock_decrements (product_id, quantity) VALUES (?, ?)",
+                    quantities.entrySet().stream().map(entry -> new Object[]{entry.getKey(), entry.getValue()}).toList());
+        } catch (RuntimeException e) {
+            reserved.values().forEach(this::release);
+            throw e;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        reserved.forEach(StockReservationService.this::commit);
+                    } else {
+                        reserved.values().forEach(StockReservationService.this::release);
+                    }
+                }
+            });
+        } else {
+            reserved.forEach(this::commit);
+        }
+    }
+
+    // CAS로 재고 선점 (DB 재시도 없음), 선점한 카운터를 돌려준다
+    private AtomicInteger reserveOne(Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalStateException("주문 수량이 올바르지 않습니다.");
+        }
+        AtomicInteger stock = availableStocks.computeIfAbsent(productId, this::loadStock);
+        while (true) {
+            int current = stock.get();
+            if (current < quantity) {
+                throw new IllegalStateException("재고가 부족합니다.");
+            }
+            if (stock.compareAndSet(current, current - quantity)) {
+                return stock;
+            }
+        }
+    }
+
+    // 선점 해제 (주문 실패 시 재고 복구)
+    // 선점한 카운터에 되돌린다. 그 사이 카운터가 다시 채워졌다면 새 카운터에는 애초에 빠져 있지 않으므로 건드리지 않는다
+    private void release(Reservation reservation) {
+        reservation.stock().addAndGet(reservation.quantity());
+    }
+
+    // 선점 확정 (DB 반영 대기열에 추가)
+    // 카운터 재설정과 같은 상품 키로 직렬화되어, 재설정 전 확정분은 새 카운터 계산에 포함되고 이후 확정분은 여기서 새 카운터에서 뺀다
+    private void commit(Long productId, Reservation reservation) {
+        availableStocks.compute(productId, (id, current) -> {
+            pendingDecrements.merge(id, reservation.quantity(), StockReservationService::sumOrRemove);
+            if (current != null && current != reservation.stock()) {
+                current.addAndGet(-reservation.quantity());
+            }
+            return current;
+        });
+    }
+
+    // 아직 카운터가 없는 상품들의 재고를 한 번의 쿼리로 채운다
+    private void loadMissingStocks(Collection<Long> productIds) {
+        List<Long> missing = productIds.stream()
+                .filter(id -> !availableStocks.containsKey(id))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(missing.size(), "?"));
+        jdbcTemplate.query(
+                "SELECT id, stock FROM products WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    availableStocks.putIfAbsent(rs.getLong("id"), new AtomicInteger(rs.getInt("stock")));
+                },
+                missing.toArray()
+        );
+    }
+
+    private AtomicInteger loadStock(Long productId) {
+        Integer stock = jdbcTemplate.query(
+                "SELECT stock FROM products WHERE id = ?",
+                rs -> rs.next() ? rs.getInt(1) : null,
+                productId
+        );
+        if (stock == null) {
+            throw new ResourceNotFoundException("상품을 찾을 수 없습니다.");
+        }
+        return new AtomicInteger(stock);
+    }
+
+    // 기록된 차감량을 products.stock에 배치로 반영
+    @Scheduled(fixedDelayString = "${app.stock-reservation.flush-interval-ms:200}")
+    public void flush() {
+        if (pendingDecrements.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> applied;
+        flushLock.lock();
+        try {
+            applied = applyRecorded();
+            // 반영한 만큼 대기량에서 뺀다 (아직 확정 전인 주문이 먼저 반영되었다면 확정될 때 다시 0이 된다)
+            applied.forEach((productId, quantity) -> pendingDecrements.merge(productId, -quantity, StockReservationService::sumOrRemove));
+        } catch (RuntimeException e) {
+            // 기록은 롤백되어 그대로 남으므로 다음 주기에 다시 반영된다
+            log.error("재고 차감 반영 실패 - 다음 주기에 재시도합니다.", e);
+            return;
+        } finally {
+            flushLock.unlock();
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        // DB 반영이 끝난 뒤에 재고 변경을 알려 캐시 등이 최신 값을 읽도록 한다
+        for (Product product : productRepository.findAllById(applied.keySet())) {
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(product));
+        }
+        log.debug("재고 차감 반영 완료 - 상품 수: {}", applied.size());
+    }
+
+    // 커밋된 차감 기록을 products.stock에 반영하고 지운다 (한 트랜잭션), 상품별 반영량을 반환
+    // 반영 중에 커밋되는 주문의 기록은 읽은 행만 지우므로 다음 주기에 반영된다
+    private Map<Long, Integer> applyRecorded() {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> deleted = new ArrayList<>();
+            Map<Long, Integer> quantities = new HashMap<>();
+            jdbcTemplate.query("SELECT id, product_id, quantity FROM pending_stock_decrements FOR UPDATE", rs -> {
+                deleted.add(new Object[]{rs.getLong("id")});
+                quantities.merge(rs.getLong("product_id"), rs.getInt("quantity"), Integer::sum);
+            });
+            if (deleted.isEmpty()) {
+                return Map.<Long, Integer>of();
+            }
+            List<Object[]> batchArgs = quantities.entrySet().stream()
+                    .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                    .toList();
+            jdbcTemplate.batchUpdate("UPDATE products SET stock = stock - ?, version = version + 1 WHERE id = ?", batchArgs);
+            jdbcTemplate.batchUpdate("DELETE FROM pending_stock_decrements WHERE id = ?", deleted);
+            return quantities;
+        });
+    }
+
+    private static Integer sumOrRemove(Integer current, Integer delta) {
+        int sum = current + delta;
+        return sum == 0 ? null : sum;
+    }
+
+    // 판매자가 상품(재고)을 수정하면 판매자가 정한 재고에서 아직 반영되지 않은 차감량을 뺀 값으로 카운터를 다시 채운다
+    // 대기 중인 차감량은 그대로 두어 다음 flush에서 새 재고에 반영된다 (판매자가 정한 재고는 읽은 시점의 DB 재고 기준, 클래스 설명 참고)
+    // 상품이 삭제되면 카운터와 대기열을 비운다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case UPDATED -> refresh(event.productId());
+            case DELETED -> remove(event.productId());
+            default -> {
+            }
+        }
+    }
+
+    private void refresh(Long productId) {
+        if (!availableStocks.containsKey(productId)) {
+            return; // 아직 카운터가 없으면 처음 선점할 때 DB 값으로 채워진다
+        }
+        flushLock.lock();
+        try {
+            Integer stock = jdbcTemplate.query(
+                    "SELECT stock FROM products WHERE id = ?",
+                    rs -> rs.next() ? rs.getInt(1) : null,
+                    productId
+            );
+            availableStocks.compute(productId, (id, current) ->
+                    stock == null ? null : new AtomicInteger(stock - pendingDecrements.getOrDefault(id, 0)));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 삭제된 상품은 반영할 곳이 없으므로 카운터와 기록을 함께 지운다
+    private void remove(Long productId) {
+        flushLock.lock();
+        try {
+            jdbcTemplate.update("DELETE FROM pending_stock_decrements WHERE product_id = ?", productId);
+            availableStocks.remove(productId);
+            pendingDecrements.remove(productId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 종료 시 남은 차감량을 모두 DB에 반영
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
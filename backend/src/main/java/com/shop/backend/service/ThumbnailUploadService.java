@@ -0,0 +1,431 @@
+package com.shop.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.exception.ThumbnailUploadBusyException;
+import com.shop.backend.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 상품 썸네일 비동기 업로드
+// - 요청 스레드는 업로드 파일을 임시 파일로 흘려 쓰면서 SHA-256 해시만 계산하고 바로 반환한다 (파일 전체를 메모리에 올리지 않음)
+// - 실제 업로드는 고정 크기 작업 스레드가 처리하고, 끝나면 Product.thumbnail을 업로드된 URL로 바꾼다
+//   원본과 함께 너비별 축소 이미지(ImageResizer)도 올려 Product.thumbnailVariants에 담는다
+//   (등록 직후에는 pending-url 자리표시 이미지가, 수정 시에는 기존 썸네일이 그동안 보인다)
+// - 실패하면 retry-backoff-ms부터 2배씩 늘려 가며 max-attempts번까지 다시 시도한다
+// - 내용 해시가 같은 이미지는 한 번만 올린다 (최근 업로드 결과를 기억하고, 올리는 중인 같은 이미지는 그 결과를 함께 기다린다)
+// - 예약은 pending_thumbnail_uploads에 기록하고 임시 파일은 썸네일이 반영될 때까지 남겨 둔다
+//   반영 전에 프로세스가 죽으면 다음 시작 후 resumePending이 기록된 임시 파일로 다시 업로드한다
+// - 대기열이 가득 차면 새 등록/수정은 503으로 거절한다 (요청 스레드에서 업로드하지 않음)
+//   커밋 뒤에 대기열에 넣지 못한 업로드는 기록을 남겨 두었다가 resumePending에서 다시 시도한다
+// - 같은 상품에 업로드가 여러 번 걸리면 마지막 요청의 결과만 반영한다
+@Slf4j
+@Service
+public class ThumbnailUploadService {
+
+    // 임시 파일로 옮겨 둔 업로드 이미지
+    public record StagedImage(Path file, String contentHash) {
+    }
+
+    // 업로드 결과 (원본 URL, 너비 -> 축소 이미지 URL)
+    public record UploadedThumbnail(String url, Map<Integer, String> variants) {
+    }
+
+    // 다시 올릴 예약 기록
+    private record PendingUpload(Long productId, String contentHash, Path file, LocalDateTime createdAt) {
+    }
+
+    private static final int UPLOADED_CACHE_SIZE = 10_000;
+
+    private final ImageUploader imageUploader;
+    private final ImageResizer imageResizer;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final String pendingUrl;
+    private final Path tempDir;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long missingFileRetentionMs;
+
+    private final ThreadPoolExecutor executor;
+
+    // 내용 해시 -> 업로드된 URL
+    private final Cache<String, UploadedThumbnail> uploadedByHash = Caffeine.newBuilder()
+            .maximumSize(UPLOADED_CACHE_SIZE)
+            .build();
+
+    // 올리는 중인 이미지 (내용 해시 -> 업로드 결과)
+    private final Map<String, CompletableFuture<UploadedThumbnail>> inFlight = new ConcurrentHashMap<>();
+
+    // 상품별 마지막 업로드 요청 번호
+    private final Map<Long, Long> latestTickets = new ConcurrentHashMap<>();
+    private final AtomicLong tickets = new AtomicLong();
+
+    public ThumbnailUploadService(
+            ImageUploader imageUploader,
+            ImageResizer imageResizer,
+            ProductRepository productRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.thumbnail.pending-url:/images/thumbnail-pending.png}") String pendingUrl,
+            @Value("${app.thumbnail.temp-dir:${java.io.tmpdir}/shop-thumbnails}") String tempDir,
+            @Value("${app.thumbnail.workers:4}") int workers,
+            @Value("${app.thumbnail.queue-capacity:100}") int queueCapacity,
+            @Value("${app.thumbnail.max-attempts:3}") int maxAttempts,
+            @Value("${app.thumbnail.retry-backoff-ms:500}") long retryBackoffMs,
+            @Value("${app.thumbnail.missing-file-retention-ms:86400000}") long missingFileRetentionMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.imageUploader = imageUploader;
+        this.imageResizer = imageResizer;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 커밋 직후 콜백(요청 스레드)에서 반영될 수도 있으므로 항상 새 트랜잭션으로 실행한다
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.pendingUrl = pendingUrl;
+        this.tempDir = Path.of(tempDir);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryBackoffMs = retryBackoffMs;
+        this.missingFileRetentionMs = missingFileRetentionMs;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                // 업로드는 대부분 네트워크 대기이므로 가상 스레드 모드에서는 가상 스레드로 실행한다 (동시 업로드 수는 workers로 제한)
+                virtualThreads
+                        ? Thread.ofVirtual().name("thumbnail-upload-", 0).factory()
+                        : Thread.ofPlatform().name("thumbnail-upload-", 0).daemon(true).factory(),
+                // 가득 차면 거절한다 (요청 스레드가 업로드를 떠안지 않도록)
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(tempDir);
+        // 이전 실행에서 남은 임시 파일 중 예약 기록이 없는 것(축소 이미지, 저장되지 않은 업로드)만 정리한다
+        Set<Path> pending = new HashSet<>();
+        for (String filePath : jdbcTemplate.queryForList("SELECT file_path FROM pending_thumbnail_uploads", String.class)) {
+            pending.add(Path.of(filePath));
+        }
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(tempDir, "*.upload")) {
+            for (Path leftover : leftovers) {
+                if (!pending.contains(leftover.toAbsolutePath())) {
+                    deleteQuietly(leftover);
+                }
+            }
+        }
+        Gauge.builder("thumbnail.upload.queue.size", executor.getQueue(), BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("썸네일 업로드 종료 대기 시간 초과 - 남은 작업 {}개", executor.getQueue().size());
+        }
+    }
+
+    // 새 상품에 업로드가 끝나기 전까지 보여 줄 이미지 URL
+    public String getPendingUrl() {
+        return pendingUrl;
+    }
+
+    // 업로드 파일을 임시 파일로 옮기면서 내용 해시를 계산한다 (대기열이 가득 찼으면 상품을 저장하기 전에 거절)
+    public StagedImage stage(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("썸네일 이미지 파일이 비어 있습니다.");
+        }
+        if (executor.isShutdown() || executor.getQueue().remainingCapacity() == 0) {
+            meterRegistry.counter("thumbnail.upload", "result", "rejected").increment();
+            throw new ThumbnailUploadBusyException("이미지 업로드 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        Path target = null;
+        try {
+            target = Files.createTempFile(tempDir, "thumbnail-", ".upload");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StagedImage(target, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e) {
+            deleteQuietly(target);
+            throw new RuntimeException("이미지 업로드 실패", e);
+        } catch (NoSuchAlgorithmException e) {
+            deleteQuietly(target);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 예약하지 못한 임시 파일을 지운다 (stage 이후 상품 저장이 실패한 경우)
+    public void discard(StagedImage image) {
+        if (image != null) {
+            deleteQuietly(image.file());
+        }
+    }
+
+    // 상품의 썸네일 업로드를 예약한다 (트랜잭션 안이면 같은 트랜잭션에 기록하고 커밋 이후에 시작)
+    public void schedule(Long productId, StagedImage image) {
+        long ticket = tickets.incrementAndGet();
+        latestTickets.put(productId, ticket);
+        try {
+            record(productId, image);
+        } catch (RuntimeException e) {
+            latestTickets.remove(productId, ticket);
+            deleteQuietly(image.file());
+            throw e;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        dispatch(productId, ticket, image);
+                    } else {
+                        latestTickets.remove(productId, ticket);
+                        deleteQuietly(image.file());
+                    }
+                }
+            });
+        } else {
+            dispatch(productId, ticket, image);
+        }
+    }
+
+    // 반영되지 않은 예약 기록을 다시 업로드한다 (재시작 전에 남은 것, 대기열이 가득 차 밀려난 것)
+    @Scheduled(fixedDelayString = "${app.thumbnail.resume-interval-ms:60000}")
+    public void resumePending() {
+        List<PendingUpload> rows = jdbcTemplate.query(
+                "SELECT product_id, content_hash, file_path, created_at FROM pending_thumbnail_uploads ORDER BY id",
+                (rs, rowNum) -> new PendingUpload(
+                        rs.getLong("product_id"),
+                        rs.getString("content_hash"),
+                        Path.of(rs.getString("file_path")),
+                        rs.getTimestamp("created_at").toLocalDateTime()));
+
+        // 같은 상품에 기록이 여럿이면 마지막 것만 올린다
+        Map<Long, PendingUpload> latest = new LinkedHashMap<>();
+        for (PendingUpload row : rows) {
+            PendingUpload previous = latest.put(row.productId(), row);
+            if (previous != null) {
+                forget(previous.productId(), previous.file());
+            }
+        }
+
+        LocalDateTime expired = LocalDateTime.now().minusNanos(missingFileRetentionMs * 1_000_000);
+        for (PendingUpload row : latest.values()) {
+            if (latestTickets.containsKey(row.productId())) {
+                continue; // 이 노드에서 진행 중
+            }
+            if (!Files.exists(row.file())) {
+                // 임시 파일은 노드마다 따로 두므로 다른 노드가 올리는 중일 수 있다 (오래된 기록만 지운다)
+                if (row.createdAt().isBefore(expired)) {
+                    log.warn("썸네일 임시 파일이 없어 다시 업로드할 수 없습니다 - productId: {}, file: {}", row.productId(), row.file());
+                    forget(row.productId(), row.file());
+                }
+                continue;
+            }
+            long ticket = tickets.incrementAndGet();
+            if (latestTickets.putIfAbsent(row.productId(), ticket) == null) {
+                meterRegistry.counter("thumbnail.upload", "result", "resumed").increment();
+                dispatch(row.productId(), ticket, new StagedImage(row.file(), row.contentHash()));
+            }
+        }
+    }
+
+    private void dispatch(Long productId, long ticket, StagedImage image) {
+        String hash = image.contentHash();
+        UploadedThumbnail uploaded = uploadedByHash.getIfPresent(hash);
+        if (uploaded != null) {
+            meterRegistry.counter("thumbnail.upload", "result", "deduplicated").increment();
+            submit(productId, ticket, () -> applyThumbnail(productId, ticket, image, uploaded));
+            return;
+        }
+
+        CompletableFuture<UploadedThumbnail> created = new CompletableFuture<>();
+        CompletableFuture<UploadedThumbnail> existing = inFlight.putIfAbsent(hash, created);
+        CompletableFuture<UploadedThumbnail> result = existing != null ? existing : created;
+        if (existing != null) {
+            meterRegistry.counter("thumbnail.upload", "result", "deduplicated").increment();
+        } else if (!submit(productId, ticket, () -> upload(image, created))) {
+            // 같은 이미지를 기다리던 요청도 함께 미룬다
+            inFlight.remove(hash, created);
+            created.completeExceptionally(new RejectedExecutionException("썸네일 업로드 대기열이 가득 찼습니다."));
+            return;
+        }
+
+        // 업로드를 끝낸 작업 스레드에서 이어서 반영한다
+        result.whenComplete((thumbnail, error) -> {
+            if (error == null) {
+                applyThumbnail(productId, ticket, image, thumbnail);
+            } else if (error instanceof RejectedExecutionException || error instanceof InterruptedException) {
+                defer(productId, ticket);
+            } else {
+                latestTickets.remove(productId, ticket);
+                forget(productId, image.file());
+                deleteQuietly(image.file());
+                log.error("썸네일 업로드 최종 실패 - productId: {}", productId, error);
+            }
+        });
+    }
+
+    private boolean submit(Long productId, long ticket, Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            defer(productId, ticket);
+            return false;
+        }
+    }
+
+    // 대기열이 가득 찼거나 종료 중이라 올리지 못했다 (기록과 임시 파일을 남겨 두고 resumePending에서 다시 시도)
+    private void defer(Long productId, long ticket) {
+        latestTickets.remove(productId, ticket);
+        meterRegistry.counter("thumbnail.upload", "result", "deferred").increment();
+        log.warn("썸네일 업로드를 나중에 다시 시도합니다 - productId: {}", productId);
+    }
+
+    private void upload(StagedImage image, CompletableFuture<UploadedThumbnail> result) {
+        String hash = image.contentHash();
+        List<ImageResizer.Variant> resized = List.of();
+        try {
+            // 디코딩/축소는 한 번만 하고, 재시도 때는 아직 올리지 못한 파일만 다시 올린다
+            try {
+                resized = imageResizer.resize(image.file(), tempDir);
+            } catch (IOException | RuntimeException e) {
+                log.warn("썸네일 축소 실패, 원본만 업로드 - {}", e.getMessage());
+            }
+
+            String url = null;
+            Map<Integer, String> variants = new TreeMap<>();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    if (url == null) {
+                        url = imageUploader.upload(image.file(), hash);
+                    }
+                    for (ImageResizer.Variant variant : resized) {
+                        if (!variants.containsKey(variant.width())) {
+                            variants.put(variant.width(), imageUploader.upload(variant.file(), hash + "_w" + variant.width()));
+                        }
+                    }
+                    UploadedThumbnail uploaded = new UploadedThumbnail(url, variants);
+                    uploadedByHash.put(hash, uploaded);
+                    meterRegistry.counter("thumbnail.upload", "result", "uploaded").increment();
+                    result.complete(uploaded);
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts) {
+                        meterRegistry.counter("thumbnail.upload", "result", "failed").increment();
+                        result.completeExceptionally(e);
+                        return;
+                    }
+                    log.warn("썸네일 업로드 실패, 재시도 {}/{} - {}", attempt, maxAttempts - 1, e.getMessage());
+                    meterRegistry.counter("thumbnail.upload.retries").increment();
+                    TimeUnit.MILLISECONDS.sleep(retryBackoffMs << (attempt - 1));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } finally {
+            // 원본 임시 파일은 썸네일이 반영될 때까지 남겨 둔다 (applyThumbnail에서 지움)
+            inFlight.remove(hash, result);
+            for (ImageResizer.Variant variant : resized) {
+                deleteQuietly(variant.file());
+            }
+        }
+    }
+
+    // 이 상품의 마지막 업로드 요청일 때만 썸네일을 바꾸고 캐시에 알린다 (재고 카운터/검색 색인은 건드리지 않도록 썸네일 변경으로 알린다)
+    // 반영과 같은 트랜잭션에서 예약 기록을 지운다 (반영에 실패하면 기록과 임시 파일이 남아 다시 시도된다)
+    private void applyThumbnail(Long productId, long ticket, StagedImage image, UploadedThumbnail thumbnail) {
+        if (!latestTickets.remove(productId, ticket)) {
+            // 새 요청에 밀렸다 (기록은 새 예약이 이미 지웠다)
+            deleteQuietly(image.file());
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            forget(productId, image.file());
+            if (productRepository.updateThumbnail(productId, thumbnail.url(), thumbnail.variants()) == 0) {
+                return; // 업로드 중에 삭제된 상품
+            }
+            productRepository.findById(productId).ifPresent(product ->
+                    eventPublisher.publishEvent(ProductChangedEvent.thumbnailChanged(product)));
+        });
+        deleteQuietly(image.file());
+        log.debug("썸네일 반영 - productId: {}, url: {}, 변형 {}개", productId, thumbnail.url(), thumbnail.variants().size());
+    }
+
+    // 같은 상품의 이전 기록을 지우고 새 예약을 남긴다
+    private void record(Long productId, StagedImage image) {
+        jdbcTemplate.update("DELETE FROM pending_thumbnail_uploads WHERE product_id = ?", productId);
+        jdbcTemplate.update(
+                "INSERT INTO pending_thumbnail_uploads (product_id, content_hash, file_path, created_at) VALUES (?, ?, ?, ?)",
+                productId, image.contentHash(), image.file().toAbsolutePath().toString(), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private void forget(Long productId, Path file) {
+        jdbcTemplate.update("DELETE FROM pending_thumbnail_uploads WHERE product_id = ? AND file_path = ?",
+                productId, file.toAbsolutePath().toString());
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패 - {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.shop.backend.cache;
+
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.event.ProductChangedEvent.Snapshot;
+import com.shop.backend.response.ProductResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductCacheTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    private final ProductCache productCache = new ProductCache(100, 100, 60, new SimpleMeterRegistry());
+
+    @Test
+    void categoryChange_evictsPagesForOldAndNewCategoryOnly() {
+        ProductPageKey all = page(null, null, null);
+        ProductPageKey oldCategory = page("electronics", null, null);
+        ProductPageKey newCategory = page("books", null, null);
+        ProductPageKey otherCategory = page("clothing", null, null);
+        ProductPageKey oldCategoryOtherPrice = page("electronics", 50000, 100000);
+        cache(all, oldCategory, newCategory, otherCategory, oldCategoryOtherPrice);
+
+        productCache.onProductChanged(updated(new Snapshot("electronics", 15000), new Snapshot("books", 15000)));
+
+        assertThat(isCached(all)).isFalse();
+        assertThat(isCached(oldCategory)).isFalse();
+        assertThat(isCached(newCategory)).isFalse(); // 이제 이 상품이 들어가야 하는 목록
+        assertThat(isCached(otherCategory)).isTrue();
+        assertThat(isCached(oldCategoryOtherPrice)).isTrue();
+    }
+
+    @Test
+    void priceChange_evictsRangesContainingOldOrNewPriceOnly() {
+        ProductPageKey oldRange = page("electronics", 10000, 20000);
+        ProductPageKey newRange = page("electronics", 40000, 50000);
+        ProductPageKey rangeBetween = page("electronics", 20001, 39999);
+        ProductPageKey openMinimum = page("electronics", null, 12000);
+        ProductPageKey otherCategory = page("books", 10000, 50000);
+        cache(oldRange, newRange, rangeBetween, openMinimum, otherCategory);
+
+        productCache.onProductChanged(updated(new Snapshot("electronics", 15000), new Snapshot("electronics", 45000)));
+
+        assertThat(isCached(oldRange)).isFalse();
+        assertThat(isCached(newRange)).isFalse();
+        assertThat(isCached(rangeBetween)).isTrue();
+        assertThat(isCached(openMinimum)).isTrue();
+        assertThat(isCached(otherCategory)).isTrue();
+    }
+
+    @Test
+    void created_evictsPagesForNewValueAndDetail() {
+        ProductPageKey matching = page("electronics", 10000, 20000);
+        ProductPageKey unrelated = page("electronics", 30000, null);
+        cache(matching, unrelated);
+        productCache.getById(PRODUCT_ID, id -> mock(ProductResponse.class));
+
+        productCache.onProductChanged(new ProductChangedEvent(PRODUCT_ID, ProductChangedEvent.Type.CREATED,
+                null, new Snapshot("electronics", 15000)));
+
+        assertThat(isCached(matching)).isFalse();
+        assertThat(isCached(unrelated)).isTrue();
+        AtomicBoolean reloaded = new AtomicBoolean();
+        productCache.getById(PRODUCT_ID, id -> {
+            reloaded.set(true);
+            return mock(ProductResponse.class);
+        });
+        assertThat(reloaded).isTrue();
+    }
+
+    private static ProductChangedEvent updated(Snapshot before, Snapshot after) {
+        return new ProductChangedEvent(PRODUCT_ID, ProductChangedEvent.Type.UPDATED, before, after);
+    }
+
+    private static ProductPageKey page(String category, Integer minPrice, Integer maxPrice) {
+        return new ProductPageKey(category, minPrice, maxPrice, 0, 20, "createdAt: DESC");
+    }
+
+    private void cache(ProductPageKey... keys) {
+        for (ProductPageKey key : keys) {
+            productCache.getPage(key, ProductCacheTest::emptyPage);
+        }
+    }
+
+    // 캐시에 있으면 loader를 부르지 않는다 (확인하느라 다시 채워진 값은 이후 확인에 영향 없음)
+    private boolean isCached(ProductPageKey key) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        productCache.getPage(key, () -> {
+            loaded.set(true);
+            return emptyPage();
+        });
+        return !loaded.get();
+    }
+
+    private static Page<ProductResponse> emptyPage() {
+        return new PageImpl<>(List.of());
+    }
+}
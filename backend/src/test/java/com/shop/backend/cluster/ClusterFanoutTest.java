@@ -0,0 +1,157 @@
+package com.shop.backend.cluster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// 내장 릴레이 서버 하나에 두 인스턴스(A, B)를 연결하여 인스턴스 간 전달을 확인한다
+class ClusterFanoutTest {
+
+    private static final String NOTIFICATIONS = "/topic/notifications/seller";
+    private static final String SECRET = "cluster-secret";
+
+    private ClusterRelayServer relay;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        relay = new ClusterRelayServer("127.0.0.1", 0, SECRET, 100, new SimpleMeterRegistry());
+        relay.start();
+        nodeA = new Node(relay.getPort(), SECRET);
+        nodeB = new Node(relay.getPort(), SECRET);
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> nodeA.transport.isConnected() && nodeB.transport.isConnected());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.transport.close();
+        nodeB.transport.close();
+        relay.stop();
+    }
+
+    @Test
+    void messageReachesOnlyNodesSubscribedToItsDestination() {
+        nodeB.fanout.onSubscribe(subscribeEvent("session-1", "sub-0", NOTIFICATIONS));
+        nodeB.fanout.onSubscribe(subscribeEvent("session-2", "sub-0", NOTIFICATIONS));
+        await().atMost(Duration.ofSeconds(5)).until(() -> relay.getSubscriberCount(NOTIFICATIONS) == 1);
+
+        nodeA.fanout.preSend(brokerMessage("/topic/chat/1", "{\"other\":true}"), nodeA.brokerChannel);
+        nodeA.fanout.preSend(brokerMessage(NOTIFICATIONS, "{\"message\":\"새 리뷰\"}"), nodeA.brokerChannel);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !nodeB.delivered.isEmpty());
+        Message<?> delivered = nodeB.delivered.getFirst();
+        assertThat(SimpMessageHeaderAccessor.getDestination(delivered.getHeaders())).isEqualTo(NOTIFICATIONS);
+        assertThat(new String((byte[]) delivered.getPayload(), StandardCharsets.UTF_8)).isEqualTo("{\"message\":\"새 리뷰\"}");
+        assertThat(delivered.getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(nodeB.meterRegistry.timer("cluster.fanout.latency").count()).isEqualTo(1);
+
+        // 받은 메시지가 B의 brokerChannel을 지날 때 다시 내보내지 않는다
+        nodeB.fanout.preSend(delivered, nodeB.brokerChannel);
+        assertThat(nodeB.meterRegistry.counter("cluster.fanout.messages", "result", "published").count()).isZero();
+        assertThat(nodeA.delivered).isEmpty();
+        assertThat(nodeB.delivered).hasSize(1);
+    }
+
+    @Test
+    void nodeStopsReceivingWhenLastLocalSessionLeaves() {
+        nodeB.fanout.onSubscribe(subscribeEvent("session-1", "sub-0", NOTIFICATIONS));
+        nodeB.fanout.onSubscribe(subscribeEvent("session-2", "sub-0", NOTIFICATIONS));
+        await().atMost(Duration.ofSeconds(5)).until(() -> relay.getSubscriberCount(NOTIFICATIONS) == 1);
+
+        nodeB.fanout.onDisconnect(disconnectEvent("session-1"));
+        assertThat(relay.getSubscriberCount(NOTIFICATIONS)).isEqualTo(1);
+
+        nodeB.fanout.onDisconnect(disconnectEvent("session-2"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> relay.getSubscriberCount(NOTIFICATIONS) == 0);
+    }
+
+    @Test
+    void nodeWithWrongSecretIsRejected() {
+        Node intruder = new Node(relay.getPort(), "wrong-secret");
+        try {
+            intruder.fanout.onSubscribe(subscribeEvent("session-9", "sub-0", NOTIFICATIONS));
+            await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(2))
+                    .until(() -> !intruder.transport.isConnected() && relay.getSubscriberCount(NOTIFICATIONS) == 0);
+
+            nodeA.fanout.preSend(brokerMessage(NOTIFICATIONS, "{\"message\":\"새 리뷰\"}"), nodeA.brokerChannel);
+            await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(2)).until(intruder.delivered::isEmpty);
+        } finally {
+            intruder.transport.close();
+        }
+    }
+
+    @Test
+    void subscriptionFramesAreNotDroppedWhenQueueIsFull() throws Exception {
+        // 쓰기 스레드 없이 대기열만 채운다
+        try (Socket socket = new Socket()) {
+            RelayConnection connection = new RelayConnection(socket, "test", 1, frame -> { }, () -> { });
+            ClusterMessage message = new ClusterMessage(NOTIFICATIONS, null, new byte[0], System.currentTimeMillis());
+
+            assertThat(connection.send(RelayConnection.Frame.message(message))).isTrue();
+            assertThat(connection.send(RelayConnection.Frame.message(message))).isFalse();
+            assertThat(connection.send(RelayConnection.Frame.subscribe(NOTIFICATIONS))).isTrue();
+            assertThat(connection.send(RelayConnection.Frame.unsubscribe(NOTIFICATIONS))).isTrue();
+        }
+    }
+
+    private static Message<byte[]> brokerMessage(String destination, String json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private static SessionSubscribeEvent subscribeEvent(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return new SessionSubscribeEvent(new Object(), MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    private static SessionDisconnectEvent disconnectEvent(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        return new SessionDisconnectEvent(new Object(), MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()),
+                sessionId, CloseStatus.NORMAL);
+    }
+
+    // 인스턴스 하나: 릴레이 클라이언트 + 팬아웃, 이 인스턴스의 브로커로 넘어온 메시지를 모은다
+    private static final class Node {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+        final MessageChannel brokerChannel = (message, timeout) -> delivered.add(message);
+        final RelayClusterTransport transport;
+        final ClusterFanout fanout;
+
+        Node(int relayPort, String secret) {
+            transport = new RelayClusterTransport("localhost", relayPort, secret, 100, 100);
+            fanout = new ClusterFanout(transport, brokerChannel, meterRegistry);
+            fanout.start();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.shop.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketSessionConfigTest {
+
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void dropPolicy_discardsOldestFramesWhileSlowSessionStaysOpen() throws Exception {
+        Counter dropped = new SimpleMeterRegistry().counter("websocket.sessions.slow", "action", "dropped");
+        WebSocketSession raw = slowSession();
+        WebSocketSession session = handler(OverflowStrategy.DROP, dropped).decorateSession(raw);
+
+        // 첫 전송이 끝나지 않는 동안 보낸 프레임(7바이트)은 버퍼(한도 10바이트)에 쌓이고, 넘치면 오래된 것부터 버려진다
+        Thread slow = sendInBackground(session);
+        sending.await();
+        for (int i = 0; i < 5; i++) {
+            session.sendMessage(new TextMessage("frame-" + i));
+        }
+        release.countDown();
+        slow.join();
+
+        assertThat(delivered).containsExactly("first", "frame-4");
+        assertThat(dropped.count()).isEqualTo(4);
+        verify(raw, never()).close(any());
+    }
+
+    @Test
+    void terminatePolicy_failsSendOnceBufferOverflows() throws Exception {
+        WebSocketSession raw = slowSession();
+        WebSocketSession session = handler(OverflowStrategy.TERMINATE, new SimpleMeterRegistry().counter("dropped"))
+                .decorateSession(raw);
+
+        Thread slow = sendInBackground(session);
+        sending.await();
+        session.sendMessage(new TextMessage("frame-0"));
+        assertThatThrownBy(() -> session.sendMessage(new TextMessage("frame-1")))
+                .isInstanceOf(SessionLimitExceededException.class);
+        release.countDown();
+        slow.join();
+
+        assertThatThrownBy(() -> new WebSocketSessionConfig(new SimpleMeterRegistry(), "block"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private WebSocketSessionConfig.SlowConsumerHandler handler(OverflowStrategy strategy, Counter dropped) {
+        WebSocketSessionConfig.SlowConsumerHandler handler = new WebSocketSessionConfig.SlowConsumerHandler(
+                new ExecutorSubscribableChannel(), new ExecutorSubscribableChannel(), strategy, dropped);
+        handler.setSendTimeLimit(60_000);
+        handler.setSendBufferSizeLimit(10);
+        return handler;
+    }
+
+    // "first" 전송은 release될 때까지 끝나지 않는 세션
+    private WebSocketSession slowSession() throws IOException {
+        WebSocketSession raw = mock(WebSocketSession.class);
+        when(raw.getId()).thenReturn("slow");
+        doAnswer(invocation -> {
+            TextMessage message = invocation.getArgument(0);
+            if (message.getPayload().equals("first")) {
+                sending.countDown();
+                release.await();
+            }
+            delivered.add(message.getPayload());
+            return null;
+        }).when(raw).sendMessage(any());
+        return raw;
+    }
+
+    private Thread sendInBackground(WebSocketSession session) {
+        return Thread.ofPlatform().start(() -> {
+            try {
+                session.sendMessage(new TextMessage("first"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.shop.backend.controller;
+
+import com.shop.backend.response.ChatMessageResponse;
+import com.shop.backend.response.CursorResponse;
+import com.shop.backend.service.ChatMessageWriter;
+import com.shop.backend.service.ChatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 한 번에 조회할 수 있는 메시지 수의 범위 (history 1~100, since 1~500)
+class ChatControllerTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    private final ChatService chatService = mock(ChatService.class);
+    private final ChatController chatController =
+            new ChatController(chatService, mock(SimpMessagingTemplate.class), mock(ChatMessageWriter.class));
+
+    @Test
+    void history_rejectsPageSizeOutsideBounds() {
+        when(chatService.getMessagesBefore(any(), any(), anyInt())).thenReturn(emptyPage());
+
+        assertThat(chatController.getRoomMessageHistory(ROOM_ID, null, 0).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(chatController.getRoomMessageHistory(ROOM_ID, null, 101).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(chatService, never()).getMessagesBefore(any(), any(), anyInt());
+
+        assertThat(chatController.getRoomMessageHistory(ROOM_ID, null, 1).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(chatController.getRoomMessageHistory(ROOM_ID, null, 100).getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(chatService).getMessagesBefore(ROOM_ID, null, 100);
+    }
+
+    @Test
+    void since_rejectsPageSizeOutsideBounds() {
+        when(chatService.getMessagesSince(any(), anyLong(), anyInt())).thenReturn(emptyPage());
+
+        assertThat(chatController.getRoomMessagesSince(ROOM_ID, 10L, 0).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(chatController.getRoomMessagesSince(ROOM_ID, 10L, 501).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(chatService, never()).getMessagesSince(any(), anyLong(), anyInt());
+
+        assertThat(chatController.getRoomMessagesSince(ROOM_ID, 10L, 500).getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(chatService).getMessagesSince(ROOM_ID, 10L, 500);
+    }
+
+    private static CursorResponse<ChatMessageResponse> emptyPage() {
+        return new CursorResponse<>(List.of(), null, false);
+    }
+}
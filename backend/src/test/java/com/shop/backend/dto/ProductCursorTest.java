@@ -0,0 +1,43 @@
+package com.shop.backend.dto;
+
+import com.shop.backend.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCursorTest {
+
+    @Test
+    void encodeDecode_keepsTypedSortValue() {
+        Product last = Product.builder().id(42L).price(15_000).createdAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15)).build();
+
+        ProductCursor byCreatedAt = ProductCursor.decode(ProductCursor.of(last, Sort.Order.desc("createdAt")).encode());
+        assertThat(byCreatedAt.value()).isEqualTo(LocalDateTime.of(2024, 5, 1, 12, 30, 15));
+        assertThat(byCreatedAt.id()).isEqualTo(42L);
+        assertThat(byCreatedAt.matches(Sort.Order.desc("createdAt"))).isTrue();
+
+        ProductCursor byPrice = ProductCursor.decode(ProductCursor.of(last, Sort.Order.asc("price")).encode());
+        assertThat(byPrice.value()).isEqualTo(15_000);
+    }
+
+    @Test
+    void decode_rejectsTamperedValueAsIllegalArgument() {
+        // 형식은 맞지만 정렬 값이 날짜/숫자가 아닌 커서는 조회 전에 400으로 거절된다
+        assertThatThrownBy(() -> ProductCursor.decode(token("createdAt|DESC|not-a-date|1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductCursor.decode(token("price|ASC|cheap|1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.shop.backend.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// 커밋/롤백에 따른 전달을 확인하기 위해 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.events.retry-delay-ms=0",
+        "app.events.poll-interval-ms=3600000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({DomainEventBus.class, SimpleMeterRegistry.class})
+class DomainEventBusTest {
+
+    record Ping(String text) implements DomainEvent {
+    }
+
+    record Pong(String text) implements DomainEvent {
+    }
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM domain_event_outbox");
+    }
+
+    @Test
+    void publish_deliversOnlyAfterCommit() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        domainEventBus.subscribe("ping", Ping.class, event -> received.add(event.text()));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventBus.publish(new Ping("committed"));
+            assertThat(outboxCount()).isEqualTo(1);
+            assertThat(received).isEmpty();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventBus.publish(new Ping("rolled back"));
+            status.setRollbackOnly();
+        });
+        domainEventBus.publish(new Ping("no transaction"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 2 && outboxCount() == 0);
+        assertThat(received).containsExactlyInAnyOrder("committed", "no transaction");
+    }
+
+    @Test
+    void failedOrUndeliveredEventsAreRedeliveredFromOutbox() {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> received = new CopyOnWriteArrayList<>();
+        domainEventBus.subscribe("pong", Pong.class, event -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("일시적인 실패");
+            }
+            received.add(event.text());
+        });
+
+        // 처음 처리는 실패하여 롤백되고, 아웃박스 행이 재시도 횟수와 함께 남는다
+        domainEventBus.publish(new Pong("retried"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(attempts), 0) FROM domain_event_outbox", Integer.class) == 1);
+        assertThat(received).isEmpty();
+
+        // 전달 전에 종료되어 아웃박스에만 남은 이벤트
+        jdbcTemplate.update("INSERT INTO domain_event_outbox (subscriber, event_type, payload, attempts, available_at) " +
+                "VALUES ('pong', 'Pong', '{\"text\":\"recovered\"}', 0, 0)");
+
+        domainEventBus.poll();
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 2 && outboxCount() == 0);
+        assertThat(received).containsExactlyInAnyOrder("retried", "recovered");
+    }
+
+    private int outboxCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM domain_event_outbox", Integer.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.shop.backend.search;
+
+import com.shop.backend.repository.projection.ProductPopularityRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AutocompleteIndexTest {
+
+    private final AutocompleteIndex index = new AutocompleteIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.completeRebuild(List.of(
+                new ProductPopularityRow(1L, "삼성 무선 이어폰", "audio", 50),
+                new ProductPopularityRow(2L, "무선 마우스", "pc", 80),
+                new ProductPopularityRow(3L, "무선 충전기", "etc", 10),
+                new ProductPopularityRow(4L, "무선 이어폰 케이스", "etc", 5),
+                new ProductPopularityRow(5L, "무선 마우스", "pc", 3)
+        ), index.beginRebuild());
+    }
+
+    @Test
+    void suggest_matchesPrefixOfEveryWordStartInPopularityOrder() {
+        assertThat(texts("무선", 10)).containsExactly("무선 마우스", "삼성 무선 이어폰", "무선 충전기", "무선 이어폰 케이스");
+        assertThat(texts("이어", 10)).containsExactly("삼성 무선 이어폰", "무선 이어폰 케이스");
+        // 띄어쓰기와 대소문자는 무시한다
+        assertThat(texts("삼성 무", 10)).containsExactly("삼성 무선 이어폰");
+        assertThat(texts("무선", 2)).containsExactly("무선 마우스", "삼성 무선 이어폰");
+        assertThat(texts("없는", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_returnsCategoriesAndDeduplicatesSameText() {
+        List<AutocompleteIndex.Suggestion> categories = index.suggest("P", 10);
+        assertThat(categories).extracting(AutocompleteIndex.Suggestion::text).containsExactly("pc");
+        assertThat(categories.get(0).type()).isEqualTo(AutocompleteIndex.Type.CATEGORY);
+        assertThat(categories.get(0).popularity()).isEqualTo(85); // 소속 상품 인기도 합 + 상품 수
+
+        // 같은 이름의 상품은 인기도가 높은 쪽 하나만 나온다
+        List<AutocompleteIndex.Suggestion> mice = index.suggest("마우스", 10);
+        assertThat(mice).extracting(AutocompleteIndex.Suggestion::productId).containsExactly(2L);
+    }
+
+    @Test
+    void overlay_mergesChangesSinceLastRebuild() {
+        index.upsert(6L, "무선 헤드셋", "audio");        // 새 상품 (인기도 0)
+        index.upsert(3L, "무선 고속 충전기", "etc");      // 이름 변경 (인기도 유지)
+        index.remove(2L);
+        index.upsert(7L, "캠핑 의자", "outdoor");        // 새 카테고리
+
+        assertThat(texts("무선", 10)).containsExactly("삼성 무선 이어폰", "무선 고속 충전기", "무선 이어폰 케이스", "무선 마우스", "무선 헤드셋");
+        assertThat(index.suggest("무선마우스", 10)).extracting(AutocompleteIndex.Suggestion::productId).containsExactly(5L);
+        assertThat(texts("충전기", 10)).containsExactly("무선 고속 충전기");
+        assertThat(texts("out", 10)).containsExactly("outdoor");
+    }
+
+    @Test
+    void rebuild_keepsChangesMadeAfterItStarted() {
+        index.upsert(8L, "유선 이어폰", "audio"); // 재구성 전 변경: 새 기본 색인에 들어간다
+
+        long rebuildSeq = index.beginRebuild();
+        index.remove(1L);                        // 재구성이 읽은 뒤에 삭제됨
+        index.upsert(9L, "무선 키보드", "pc");     // 재구성이 읽은 뒤에 등록됨
+        index.completeRebuild(List.of(
+                new ProductPopularityRow(1L, "삼성 무선 이어폰", "audio", 50),
+                new ProductPopularityRow(8L, "유선 이어폰", "audio", 7)
+        ), rebuildSeq);
+
+        assertThat(index.suggest("이어폰", 10)).extracting(AutocompleteIndex.Suggestion::productId).containsExactly(8L);
+        assertThat(index.suggest("이어폰", 10).get(0).popularity()).isEqualTo(7);
+        assertThat(texts("무선", 10)).containsExactly("무선 키보드");
+    }
+
+    private List<String> texts(String prefix, int limit) {
+        return index.suggest(prefix, limit).stream().map(AutocompleteIndex.Suggestion::text).toList();
+    }
+}
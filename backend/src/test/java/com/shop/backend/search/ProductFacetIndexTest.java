@@ -0,0 +1,115 @@
+package com.shop.backend.search;
+
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.repository.projection.ProductFacetRow;
+import com.shop.backend.response.FacetResponse;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductFacetIndexTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    // 가격대: [0, 10000), [10000, 30000), [30000, ~)
+    private final ProductFacetIndex index = new ProductFacetIndex(productRepository, new int[]{30_000, 10_000});
+
+    @Test
+    void getFacets_countsCategoriesAndPriceBuckets() {
+        rebuildWith(
+                new ProductFacetRow(1L, "audio", 5_000),
+                new ProductFacetRow(2L, "audio", 15_000),
+                new ProductFacetRow(3L, "pc", 25_000),
+                new ProductFacetRow(4L, "pc", 40_000),
+                new ProductFacetRow(5L, "etc", 9_999)
+        );
+
+        FacetResponse all = index.getFacets(null, null, null);
+        assertThat(categories(all)).containsExactly(tuple("audio", 2L), tuple("pc", 2L), tuple("etc", 1L));
+        assertThat(buckets(all)).containsExactly(2L, 2L, 1L);
+        assertThat(all.getPriceBuckets()).extracting(FacetResponse.PriceBucketCount::getMinPrice, FacetResponse.PriceBucketCount::getMaxPrice)
+                .containsExactly(tuple(0, 9_999), tuple(10_000, 29_999), tuple(30_000, null));
+
+        // 카테고리 조건은 가격대 개수에만, 가격 조건은 카테고리 개수에만 적용된다
+        FacetResponse pc = index.getFacets("pc", 10_000, 29_999);
+        assertThat(buckets(pc)).containsExactly(0L, 1L, 1L);
+        assertThat(categories(pc)).containsExactly(tuple("audio", 1L), tuple("pc", 1L));
+
+        // 경계와 맞지 않는 가격 조건은 상품별 열 배열을 훑어 센다
+        assertThat(categories(index.getFacets(null, 20_000, 45_000))).containsExactly(tuple("pc", 2L));
+        assertThat(buckets(index.getFacets("none", null, null))).containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    void productEvents_moveAndRemoveCounts() {
+        rebuildWith(
+                new ProductFacetRow(1L, "audio", 5_000),
+                new ProductFacetRow(2L, "pc", 40_000)
+        );
+
+        index.onProductChanged(new ProductChangedEvent(1L, ProductChangedEvent.Type.UPDATED,
+                new ProductChangedEvent.Snapshot("audio", 5_000), new ProductChangedEvent.Snapshot("pc", 35_000)));
+        index.onProductChanged(new ProductChangedEvent(2L, ProductChangedEvent.Type.DELETED,
+                new ProductChangedEvent.Snapshot("pc", 40_000), null));
+        index.onProductChanged(new ProductChangedEvent(3L, ProductChangedEvent.Type.CREATED,
+                null, new ProductChangedEvent.Snapshot("etc", 1_000)));
+        index.onProductChanged(new ProductChangedEvent(3L, ProductChangedEvent.Type.STOCK_CHANGED,
+                new ProductChangedEvent.Snapshot("etc", 1_000), new ProductChangedEvent.Snapshot("etc", 1_000)));
+
+        FacetResponse all = index.getFacets(null, null, null);
+        assertThat(categories(all)).containsExactly(tuple("etc", 1L), tuple("pc", 1L));
+        assertThat(buckets(all)).containsExactly(1L, 0L, 1L);
+        // 삭제된 자리를 재사용한 상품도 열 배열 집계에 잡힌다
+        assertThat(categories(index.getFacets(null, 500, 2_000))).containsExactly(tuple("etc", 1L));
+    }
+
+    @Test
+    void rebuild_doesNotOverwriteChangesMadeWhileStreaming() {
+        // 첫 행을 읽은 직후 2번이 삭제되고 3번이 수정된다 (스트림은 그 전 상태를 계속 돌려준다)
+        when(productRepository.streamFacetRows()).thenAnswer(invocation -> Stream.of(
+                new ProductFacetRow(1L, "audio", 5_000),
+                new ProductFacetRow(2L, "audio", 15_000),
+                new ProductFacetRow(3L, "pc", 25_000)
+        ).peek(row -> {
+            if (row.id() == 1L) {
+                index.onProductChanged(new ProductChangedEvent(2L, ProductChangedEvent.Type.DELETED,
+                        new ProductChangedEvent.Snapshot("audio", 15_000), null));
+                index.onProductChanged(new ProductChangedEvent(3L, ProductChangedEvent.Type.UPDATED,
+                        new ProductChangedEvent.Snapshot("pc", 25_000), new ProductChangedEvent.Snapshot("etc", 1_000)));
+            }
+        }));
+        index.rebuild();
+
+        FacetResponse all = index.getFacets(null, null, null);
+        assertThat(categories(all)).containsExactly(tuple("audio", 1L), tuple("etc", 1L));
+        assertThat(buckets(all)).containsExactly(2L, 0L, 0L);
+
+        // 재구성이 끝난 뒤의 변경은 평소처럼 반영된다
+        index.onProductChanged(new ProductChangedEvent(2L, ProductChangedEvent.Type.CREATED,
+                null, new ProductChangedEvent.Snapshot("audio", 15_000)));
+        assertThat(categories(index.getFacets(null, null, null))).containsExactly(tuple("audio", 2L), tuple("etc", 1L));
+    }
+
+    private void rebuildWith(ProductFacetRow... rows) {
+        when(productRepository.streamFacetRows()).thenAnswer(invocation -> Stream.of(rows));
+        index.rebuild();
+    }
+
+    private static List<Tuple> categories(FacetResponse response) {
+        return response.getCategories().stream()
+                .map(count -> tuple(count.getCategory(), count.getCount()))
+                .toList();
+    }
+
+    private static List<Long> buckets(FacetResponse response) {
+        return response.getPriceBuckets().stream().map(FacetResponse.PriceBucketCount::getCount).toList();
+    }
+}
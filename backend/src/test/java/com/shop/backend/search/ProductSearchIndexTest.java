@@ -0,0 +1,97 @@
+package com.shop.backend.search;
+
+import com.shop.backend.repository.projection.ProductSearchRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @Test
+    void search_ranksNameMatchesAboveDescriptionMatches() {
+        index.upsert(row(1L, "무선 이어폰", "블루투스", "audio", 50_000));
+        index.upsert(row(2L, "유선 이어폰", "가성비", "audio", 10_000));
+        index.upsert(row(3L, "키보드", "무선 키보드", "pc", 30_000));
+
+        // 이름에 나온 토큰은 2배로 세므로 이름에 "무선"이 있는 상품이 앞선다
+        ProductSearchIndex.SearchResult result = index.search("무선", null, null, null, 0, 10);
+        assertThat(result.productIds()).containsExactly(1L, 3L);
+        assertThat(result.totalHits()).isEqualTo(2);
+
+        // 질의 토큰이 3개 이상이면 75% 이상 포함해야 한다 (가성, 성비, 이어, 어폰 중 이어/어폰만 있는 1번은 빠진다)
+        assertThat(index.search("가성비 이어폰", null, null, null, 0, 10).productIds()).containsExactly(2L);
+        assertThat(index.search("없는상품", null, null, null, 0, 10).totalHits()).isZero();
+    }
+
+    @Test
+    void search_appliesCategoryAndPriceFiltersAndPaging() {
+        index.upsert(row(1L, "무선 이어폰", null, "audio", 50_000));
+        index.upsert(row(2L, "유선 이어폰", null, "audio", 10_000));
+        index.upsert(row(3L, "이어폰 케이스", null, "etc", 5_000));
+
+        assertThat(index.search("이어폰", "audio", null, null, 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("이어폰", null, 6_000, 20_000, 0, 10).productIds()).containsExactly(2L);
+
+        ProductSearchIndex.SearchResult secondPage = index.search("이어폰", null, null, null, 2, 2);
+        assertThat(secondPage.productIds()).hasSize(1);
+        assertThat(secondPage.totalHits()).isEqualTo(3);
+    }
+
+    @Test
+    void upsertAndRemove_replaceIndexedContent() {
+        index.upsert(row(1L, "무선 이어폰", null, "audio", 50_000));
+        index.upsert(row(1L, "무선 마우스", null, "pc", 20_000));
+
+        assertThat(index.search("이어폰", null, null, null, 0, 10).totalHits()).isZero();
+        assertThat(index.search("마우스", "pc", null, null, 0, 10).productIds()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1L);
+        assertThat(index.search("마우스", null, null, null, 0, 10).totalHits()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void compaction_keepsRemainingProductsSearchable() {
+        // 삭제 표시가 1,000개 이상이고 전체의 1/4을 넘으면 정리된다
+        LongStream.rangeClosed(1, 2_000).forEach(id -> index.upsert(row(id, "상품 " + (id % 2 == 0 ? "짝수" : "홀수"), null, "etc", 1_000)));
+        LongStream.rangeClosed(1, 1_500).forEach(index::remove);
+
+        ProductSearchIndex.SearchResult result = index.search("짝수", null, null, null, 0, 1_000);
+        assertThat(result.totalHits()).isEqualTo(250);
+        assertThat(result.productIds()).allMatch(id -> id > 1_500 && id % 2 == 0);
+        assertThat(index.size()).isEqualTo(500);
+    }
+
+    @Test
+    void rebuild_doesNotOverwriteChangesMadeWhileRebuilding() {
+        index.upsert(row(1L, "무선 이어폰", null, "audio", 50_000));
+
+        // 재구성이 상품을 읽는 동안 2번이 삭제되고 3번이 수정된다
+        index.beginRebuild();
+        index.remove(2L);
+        index.upsert(row(3L, "무선 마우스", null, "pc", 20_000));
+        index.addFromRebuild(row(1L, "무선 이어폰", null, "audio", 50_000));
+        index.addFromRebuild(row(2L, "유선 이어폰", null, "audio", 10_000)); // 삭제 전에 읽은 행
+        index.addFromRebuild(row(3L, "무선 키보드", null, "pc", 30_000));   // 수정 전에 읽은 행
+        index.completeRebuild();
+
+        assertThat(index.search("이어폰", null, null, null, 0, 10).productIds()).containsExactly(1L);
+        assertThat(index.search("마우스", null, null, null, 0, 10).productIds()).containsExactly(3L);
+        assertThat(index.search("키보드", null, null, null, 0, 10).totalHits()).isZero();
+
+        // 재구성이 끝난 뒤의 변경은 평소처럼 반영된다
+        index.remove(3L);
+        index.upsert(row(2L, "유선 이어폰", null, "audio", 10_000));
+        assertThat(index.search("이어폰", null, null, null, 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static ProductSearchRow row(Long id, String name, String description, String category, int price) {
+        return new ProductSearchRow(id, name, description, category, price);
+    }
+}
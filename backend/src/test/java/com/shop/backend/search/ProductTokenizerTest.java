@@ -0,0 +1,30 @@
+package com.shop.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductTokenizerTest {
+
+    @Test
+    void tokenize_splitsHangulIntoBigramsAndKeepsLatinWords() {
+        assertThat(ProductTokenizer.tokenize("무선이어폰")).containsExactly("무선", "선이", "이어", "어폰");
+        assertThat(ProductTokenizer.tokenize("Galaxy S24 Ultra")).containsExactly("galaxy", "s24", "ultra");
+        // 한글과 영문/숫자가 붙어 있으면 경계에서 나누고, 한 글자 한글 단어는 그대로 둔다
+        assertThat(ProductTokenizer.tokenize("아이폰15Pro 케이스, 책")).containsExactly("아이", "이폰", "15pro", "케이", "이스", "책");
+    }
+
+    @Test
+    void tokenize_normalizesWidthAndCaseAndIgnoresEmptyInput() {
+        assertThat(ProductTokenizer.tokenize("ＡＢＣ-123")).containsExactly("abc", "123");
+        assertThat(ProductTokenizer.tokenize(null)).isEmpty();
+        assertThat(ProductTokenizer.tokenize("  -- ")).isEmpty();
+    }
+
+    @Test
+    void normalizeForPrefix_removesWhitespaceAndLowercases() {
+        assertThat(ProductTokenizer.normalizeForPrefix("무선 이어폰")).isEqualTo("무선이어폰");
+        assertThat(ProductTokenizer.normalizeForPrefix(" Galaxy\tS24 ")).isEqualTo("galaxys24");
+        assertThat(ProductTokenizer.normalizeForPrefix(null)).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.shop.backend.security;
+
+import com.shop.backend.entity.User;
+import com.shop.backend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 사용자 수정이 커밋된 뒤의 캐시 제거(UserCacheEvictionListener)를 확인하기 위해 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AuthenticatedUserCache.class, UserCacheEvictionListener.class, SimpleMeterRegistry.class})
+class AuthenticatedUserCacheTest {
+
+    // 캐시 빈은 테스트끼리 공유되므로 테스트마다 다른 토큰을 쓴다
+    private final String token = "token-" + UUID.randomUUID();
+
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private JwtProvider jwtProvider;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void getUser_servesRepeatedTokenFromSnapshotWithoutSharingInstances() {
+        User saved = saveUser("buyer");
+        givenToken("buyer", 60_000);
+
+        User first = authenticatedUserCache.getUser(token);
+        first.setUsername("changed by request"); // 한 요청이 고친 값이 다른 요청에 보이면 안 된다
+        User second = authenticatedUserCache.getUser(token);
+
+        verify(jwtProvider, times(1)).parseClaims(token);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(saved.getId());
+        assertThat(second.getUsername()).isEqualTo("buyer");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void getUser_rejectsCachedTokenAfterItExpires() {
+        saveUser("buyer");
+        givenToken("buyer", 200);
+
+        assertThat(authenticatedUserCache.getUser(token)).isNotNull();
+
+        // 캐시 TTL보다 토큰 만료가 먼저 오면 적중해도 거절한다
+        await().atMost(Duration.ofSeconds(5)).until(() -> authenticatedUserCache.getUser(token) == null);
+        verify(jwtProvider, times(1)).parseClaims(token);
+    }
+
+    @Test
+    void updatingUser_evictsCachedPrincipal() {
+        User saved = saveUser("seller");
+        givenToken("seller", 60_000);
+        assertThat(authenticatedUserCache.getUser(token).getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+
+        saved.setRole("ADMIN");
+        userRepository.save(saved);
+
+        assertThat(authenticatedUserCache.getUser(token).getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(jwtProvider, times(2)).parseClaims(token);
+    }
+
+    private void givenToken(String username, long validForMillis) {
+        Claims claims = Jwts.claims()
+                .setSubject(username)
+                .setExpiration(new Date(System.currentTimeMillis() + validForMillis));
+        when(jwtProvider.parseClaims(token)).thenReturn(claims);
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@shop.com")
+                .role("USER")
+                .build());
+    }
+}
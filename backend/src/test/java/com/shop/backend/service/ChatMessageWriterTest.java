@@ -0,0 +1,131 @@
+package com.shop.backend.service;
+
+import com.shop.backend.config.IdGeneratorInitializer;
+import com.shop.backend.dto.ChatMessageRequest;
+import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.entity.ChatRoom;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.repository.ChatMessageRepository;
+import com.shop.backend.response.ChatMessageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// 별도 스레드의 배치 저장을 확인하기 위해 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.chat.write-behind.enabled=true",
+        "app.chat.write-behind.flush-interval-ms=20"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ChatMessageWriter.class, IdGeneratorInitializer.class, SimpleMeterRegistry.class})
+class ChatMessageWriterTest {
+
+    @Autowired
+    private ChatMessageWriter chatMessageWriter;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User buyer;
+    private ChatRoom room;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            User seller = User.builder().username("seller").password("password").email("seller@shop.com").role("USER").build();
+            buyer = User.builder().username("buyer").password("password").email("buyer@shop.com").role("USER").build();
+            entityManager.persist(seller);
+            entityManager.persist(buyer);
+            Product product = Product.builder().name("상품").price(1000).stock(10).category("etc").createdBy(seller).build();
+            entityManager.persist(product);
+            room = ChatRoom.builder().product(product).buyer(buyer).build();
+            entityManager.persist(room);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM chat_message");
+        jdbcTemplate.update("DELETE FROM chat_room");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void messagesBroadcastDuringOutage_areStoredAfterRecovery() {
+        jdbcTemplate.execute("ALTER TABLE chat_message RENAME TO chat_message_offline");
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                ids.add(submit("장애 중 메시지 " + i).getId());
+            }
+            // 저장에 실패하는 동안에도 버리지 않고 대기 목록에 남아 있다
+            await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(2))
+                    .until(() -> chatMessageWriter.getPendingMessages(room.getId()).size() == 3);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE chat_message_offline RENAME TO chat_message");
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> storedIds().containsAll(ids));
+        assertThat(chatMessageWriter.getPendingMessages(room.getId())).isEmpty();
+    }
+
+    @Test
+    void writerAndEntityIds_comeFromSameGenerator() {
+        // 바로 저장(엔티티)과 write-behind 저장이 섞여도 id가 겹치지 않는다
+        // 양쪽이 할당 블록(100개)을 여러 번 새로 받도록 블록 경계를 넘겨 번갈아 저장한다
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ChatMessage.ID_ALLOCATION_SIZE * 2 + 10; i++) {
+            ids.add(transactionTemplate.execute(status -> chatMessageRepository.save(
+                    ChatMessage.builder().chatRoom(entityManager.getReference(ChatRoom.class, room.getId()))
+                            .sender(entityManager.getReference(User.class, buyer.getId()))
+                            .message("바로 저장").build()).getId()));
+            ids.add(submit("write-behind").getId());
+        }
+
+        assertThat(ids).doesNotHaveDuplicates();
+        await().atMost(Duration.ofSeconds(5)).until(() -> storedIds().containsAll(ids));
+    }
+
+    private ChatMessageResponse submit(String message) {
+        ChatMessageRequest request = new ChatMessageRequest();
+        ReflectionTestUtils.setField(request, "roomId", room.getId());
+        ReflectionTestUtils.setField(request, "message", message);
+        return chatMessageWriter.submit(request, buyer, response -> { });
+    }
+
+    private List<Long> storedIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM chat_message", Long.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.shop.backend.service;
+
+import com.shop.backend.config.IdGeneratorInitializer;
+import com.shop.backend.entity.ChatMessage;
+import com.shop.backend.entity.ChatRoom;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.repository.ChatMessageRepository;
+import com.shop.backend.response.ChatMessageResponse;
+import com.shop.backend.response.CursorResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({ChatService.class, ChatMessageWriter.class, IdGeneratorInitializer.class, SimpleMeterRegistry.class})
+class ChatServiceTest {
+
+    private static final int MESSAGES = 25;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ChatRoom room;
+    private List<Long> messageIds; // 보낸 순서 (id 오름차순)
+
+    @BeforeEach
+    void setUp() {
+        User seller = persistUser("seller");
+        User buyer = persistUser("buyer");
+        Product product = Product.builder().name("상품").price(1000).stock(10).category("etc").createdBy(seller).build();
+        entityManager.persist(product);
+        room = ChatRoom.builder().product(product).buyer(buyer).build();
+        entityManager.persist(room);
+
+        messageIds = new ArrayList<>();
+        for (int i = 0; i < MESSAGES; i++) {
+            ChatMessage message = chatMessageRepository.save(ChatMessage.builder()
+                    .chatRoom(room)
+                    .sender(i % 2 == 0 ? buyer : seller)
+                    .message("메시지" + i)
+                    .build());
+            messageIds.add(message.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getMessagesBefore_pagesNewestFirstUntilHistoryIsExhausted() {
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        Long before = null;
+        CursorResponse<ChatMessageResponse> page;
+        do {
+            page = chatService.getMessagesBefore(room.getId(), before, 10);
+            page.getContent().forEach(message -> seen.add(message.getId()));
+            pageSizes.add(page.getContent().size());
+            before = page.getNextCursor() != null ? Long.valueOf(page.getNextCursor()) : null;
+        } while (page.isHasNext());
+
+        assertThat(pageSizes).containsExactly(10, 10, 5);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(seen).isEqualTo(messageIds.reversed());
+    }
+
+    @Test
+    void getMessagesSince_returnsOlderFirstAndContinuesFromCursor() {
+        CursorResponse<ChatMessageResponse> first = chatService.getMessagesSince(room.getId(), messageIds.get(4), 10);
+
+        assertThat(first.getContent()).extracting(ChatMessageResponse::getId).isEqualTo(messageIds.subList(5, 15));
+        assertThat(first.isHasNext()).isTrue();
+
+        CursorResponse<ChatMessageResponse> rest = chatService.getMessagesSince(room.getId(), Long.valueOf(first.getNextCursor()), 10);
+        assertThat(rest.getContent()).extracting(ChatMessageResponse::getId).isEqualTo(messageIds.subList(15, MESSAGES));
+        assertThat(rest.isHasNext()).isFalse();
+    }
+
+    @Test
+    void getMessagesSince_withNoNewerMessagesReturnsEmptyPage() {
+        CursorResponse<ChatMessageResponse> page = chatService.getMessagesSince(room.getId(), messageIds.getLast(), 10);
+
+        // 클라이언트는 같은 afterId로 다시 요청하면 된다
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private User persistUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@shop.com")
+                .role("USER")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,107 @@
+package com.shop.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.backend.entity.Order;
+import com.shop.backend.entity.OrderItem;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ExportService.class)
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User seller;
+    private User buyer;
+
+    @BeforeEach
+    void setUp() {
+        seller = persistUser("seller");
+        buyer = persistUser("buyer");
+        Product earphone = persistProduct("무선 이어폰, \"화이트\"", 39000);
+        Product mouse = persistProduct("마우스", 15000);
+
+        Order order = Order.createOrder(buyer, List.of(
+                OrderItem.createReservedOrderItem(earphone, 2), OrderItem.createReservedOrderItem(mouse, 1)));
+        entityManager.persist(order);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportProducts_writesEscapedCsvWithHeader() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportProducts(seller.getId(), ExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).replace("﻿", "").split("\r\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines[0]).isEqualTo("id,name,category,price,stock,description,thumbnail,created_at,rating_count,rating_sum");
+        assertThat(lines[1]).contains("\"무선 이어폰, \"\"화이트\"\"\",electronics,39000,10");
+        assertThat(lines).hasSize(3);
+    }
+
+    @Test
+    void exportOrdersAndSales_writeOneJsonObjectPerOrderLine() throws Exception {
+        ByteArrayOutputStream orders = new ByteArrayOutputStream();
+        ByteArrayOutputStream sales = new ByteArrayOutputStream();
+
+        exportService.exportOrders(buyer.getId(), ExportService.Format.JSONL, orders);
+        exportService.exportSales(seller.getId(), ExportService.Format.JSONL, sales);
+
+        List<String> orderLines = orders.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(orderLines).hasSize(2);
+        JsonNode first = objectMapper.readTree(orderLines.get(0));
+        assertThat(first.get("product_name").asText()).isEqualTo("무선 이어폰, \"화이트\"");
+        assertThat(first.get("line_total").asLong()).isEqualTo(78000);
+        assertThat(sales.toString(StandardCharsets.UTF_8).lines()).hasSize(2);
+        assertThat(exportService.exportOrders(seller.getId(), ExportService.Format.JSONL, new ByteArrayOutputStream())).isZero();
+    }
+
+    private Product persistProduct(String name, int price) {
+        Product product = Product.builder()
+                .name(name)
+                .price(price)
+                .stock(10)
+                .category("electronics")
+                .createdBy(seller)
+                .build();
+        entityManager.persist(product);
+        return product;
+    }
+
+    private User persistUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@shop.com")
+                .role("USER")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,66 @@
+package com.shop.backend.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 외부 저장소 대신 호출 내역만 기록하는 테스트용 업로더
+// failuresBeforeSuccess만큼 실패한 뒤 성공하여 재시도 동작을 확인할 수 있다
+// hold()하면 release()할 때까지 업로드가 멈춰 대기열이 찬 상황을 만들 수 있다
+public class FakeImageUploader implements ImageUploader {
+
+    private final List<String> uploadedIds = new CopyOnWriteArrayList<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicInteger remainingFailures = new AtomicInteger();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @Override
+    public String upload(Path file, String publicId) {
+        attempts.incrementAndGet();
+        try {
+            gate.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("업로드할 임시 파일이 없습니다: " + file);
+        }
+        if (remainingFailures.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+            throw new RuntimeException("이미지 업로드 실패 (테스트)");
+        }
+        uploadedIds.add(publicId);
+        return "https://images.test/products/" + publicId + ".jpg";
+    }
+
+    public void failNext(int count) {
+        remainingFailures.set(count);
+    }
+
+    public void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void release() {
+        gate.countDown();
+    }
+
+    public List<String> getUploadedIds() {
+        return uploadedIds;
+    }
+
+    public int getAttempts() {
+        return attempts.get();
+    }
+
+    public void reset() {
+        release();
+        uploadedIds.clear();
+        attempts.set(0);
+        remainingFailures.set(0);
+    }
+}
@@ -0,0 +1,56 @@
+package com.shop.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTest {
+
+    private final ImageResizer imageResizer = new ImageResizer(new int[]{160, 320, 640, 1280}, 0.85f);
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void resize_createsJpegPerWidthKeepingAspectRatio() throws Exception {
+        Path source = writePng(3000, 1500);
+
+        List<ImageResizer.Variant> variants = imageResizer.resize(source, tempDir);
+
+        assertThat(variants).extracting(ImageResizer.Variant::width).containsExactly(160, 320, 640, 1280);
+        for (ImageResizer.Variant variant : variants) {
+            BufferedImage image = ImageIO.read(variant.file().toFile());
+            assertThat(image.getWidth()).isEqualTo(variant.width());
+            assertThat(image.getHeight()).isEqualTo(variant.width() / 2);
+        }
+    }
+
+    @Test
+    void resize_skipsWidthsNotSmallerThanOriginal() throws Exception {
+        Path source = writePng(320, 320);
+
+        List<ImageResizer.Variant> variants = imageResizer.resize(source, tempDir);
+
+        assertThat(variants).extracting(ImageResizer.Variant::width).containsExactly(160);
+    }
+
+    @Test
+    void resize_returnsNothingForNonImage() throws Exception {
+        Path source = Files.writeString(tempDir.resolve("not-image.upload"), "not an image");
+
+        assertThat(imageResizer.resize(source, tempDir)).isEmpty();
+    }
+
+    private Path writePng(int width, int height) throws Exception {
+        Path file = tempDir.resolve("source.png");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,116 @@
+package com.shop.backend.service;
+
+import com.shop.backend.entity.Notification;
+import com.shop.backend.entity.User;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.response.CursorResponse;
+import com.shop.backend.response.NotificationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 커밋 이후 처리(실시간 전송, 안 읽은 수 갱신)를 확인하기 위해 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.notifications.connect-batch-size=2",
+        "app.notifications.connect-max=5"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({NotificationService.class, DomainEventBus.class, SimpleMeterRegistry.class})
+class NotificationServiceTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM notifications");
+        jdbcTemplate.update("DELETE FROM notification_cursors");
+    }
+
+    @Test
+    void unreadCountFollowsNewNotificationsAndIdempotentMarkRead() {
+        User seller = User.builder().id(1L).username("seller").build();
+        Notification first = notify(seller);
+        Notification second = notify(seller);
+        assertThat(notificationService.getUnreadCount(seller.getId())).isEqualTo(2);
+
+        Notification third = notify(seller); // 메모리의 안 읽은 수에 더해진다
+        assertThat(notificationService.getUnreadCount(seller.getId())).isEqualTo(3);
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/topic/notifications/seller"), any(NotificationResponse.class));
+
+        assertThat(notificationService.markRead(seller.getId(), second.getId())).isEqualTo(1);
+        assertThat(notificationService.markRead(seller.getId(), second.getId())).isEqualTo(1);
+        assertThat(notificationService.markRead(seller.getId(), first.getId())).isEqualTo(1); // 이미 더 뒤까지 읽었으면 그대로
+        assertThat(notificationService.getUnreadCount(seller.getId())).isEqualTo(1);
+
+        // 아직 받지 않은 ID를 보내도 받은 알림까지만 읽음 처리되어, 이후 알림은 안 읽은 상태로 남는다
+        assertThat(notificationService.markRead(seller.getId(), third.getId() + 1000)).isZero();
+        Notification fourth = notify(seller);
+        assertThat(notificationService.getUnreadCount(seller.getId())).isEqualTo(1);
+
+        CursorResponse<NotificationResponse> page = notificationService.getNotifications(seller.getId(), null, 3);
+        assertThat(page.getContent()).extracting(NotificationResponse::getId)
+                .containsExactly(fourth.getId(), third.getId(), second.getId());
+        assertThat(page.getContent()).extracting(NotificationResponse::isRead).containsExactly(false, true, true);
+        assertThat(page.isHasNext()).isTrue();
+
+        CursorResponse<NotificationResponse> next = notificationService.getNotifications(
+                seller.getId(), Long.valueOf(page.getNextCursor()), 3);
+        assertThat(next.getContent()).extracting(NotificationResponse::getId).containsExactly(first.getId());
+        assertThat(next.isHasNext()).isFalse();
+    }
+
+    @Test
+    void unreadBatches_sendMostRecentUnreadOldestFirstInChunks() {
+        User seller = User.builder().id(2L).username("seller2").build();
+        User other = User.builder().id(3L).username("other").build();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(notify(seller).getId());
+        }
+        notify(other);
+        notificationService.markRead(seller.getId(), ids.getFirst());
+
+        // 안 읽은 알림 6개 중 최근 5개를 2개씩 묶는다
+        List<List<NotificationResponse>> batches = notificationService.getUnreadBatches(seller.getId());
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(batches.stream().flatMap(List::stream).map(NotificationResponse::getId).toList())
+                .isEqualTo(ids.subList(2, 7));
+
+        notificationService.markRead(seller.getId(), null);
+        assertThat(notificationService.getUnreadBatches(seller.getId())).isEmpty();
+        assertThat(notificationService.getUnreadCount(other.getId())).isEqualTo(1);
+    }
+
+    private Notification notify(User recipient) {
+        return notificationService.notify(recipient.getId(), recipient.getUsername(), Notification.Type.REVIEW, "'무선 이어폰' 상품에 새로운 리뷰가 달렸습니다!",
+                10L, "무선 이어폰", "좋아요");
+    }
+}
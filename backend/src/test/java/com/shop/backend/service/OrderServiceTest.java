@@ -0,0 +1,166 @@
+package com.shop.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.backend.config.IdGeneratorInitializer;
+import com.shop.backend.dto.OrderRequest;
+import com.shop.backend.entity.Cart;
+import com.shop.backend.entity.CartItem;
+import com.shop.backend.entity.Order;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.response.OrderItemResponse;
+import com.shop.backend.response.OrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.BaseSessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session.events.auto=com.shop.backend.service.OrderServiceTest$JdbcRoundTripCounter"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderService.class, StockReservationService.class, DomainEventBus.class, SimpleMeterRegistry.class, IdGeneratorInitializer.class})
+class OrderServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User buyer;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        buyer = persistUser("buyer");
+        Cart cart = Cart.createCart(buyer);
+        entityManager.persist(cart);
+
+        // 여러 판매자의 상품을 장바구니에 담아둔다
+        List<User> sellers = List.of(persistUser("seller1"), persistUser("seller2"), persistUser("seller3"));
+        products = new ArrayList<>();
+        for (int i = 0; i < 22; i++) {
+            Product product = Product.builder()
+                    .name("상품" + i)
+                    .price(1000 + i)
+                    .stock(100)
+                    .category("etc")
+                    .createdBy(sellers.get(i % sellers.size()))
+                    .build();
+            entityManager.persist(product);
+            entityManager.persist(CartItem.createCartItem(cart, product, 1));
+            products.add(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void createOrder_issuesConstantStatementCountRegardlessOfLineCount() throws Exception {
+        // id 할당 등 최초 1회성 쿼리를 제외하기 위해 먼저 한 번 주문한다
+        placeOrder(products.subList(0, 1));
+
+        long singleLine = countStatements(() -> placeOrder(products.subList(1, 2)));
+        long twentyLines = countStatements(() -> placeOrder(products.subList(2, 22)));
+
+        assertThat(twentyLines).isEqualTo(singleLine);
+    }
+
+    @Test
+    void createOrder_removesOrderedProductsFromCart() throws Exception {
+        Order order = placeOrder(products.subList(0, 20));
+
+        assertThat(order.getOrderItems()).hasSize(20);
+        Long remaining = entityManager.createQuery(
+                        "SELECT COUNT(ci) FROM CartItem ci WHERE ci.cart.user.id = :userId", Long.class)
+                .setParameter("userId", buyer.getId())
+                .getSingleResult();
+        assertThat(remaining).isEqualTo(2L);
+    }
+
+    @Test
+    void findMyOrders_loadsItemsAndProductsWithoutPerOrderQueries() {
+        placeOrder(products.subList(0, 3));
+        placeOrder(products.subList(3, 8));
+        placeOrder(products.subList(8, 9));
+        User user = entityManager.find(User.class, buyer.getId());
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "orderDate", "id"));
+
+        List<Page<OrderResponse>> result = new ArrayList<>();
+        long statements = countStatements(() -> result.add(orderService.findMyOrders(user, pageable)));
+
+        // 주문 ID 페이지 + COUNT + 주문 상품/상품 요약 한 번
+        assertThat(statements).isEqualTo(3);
+        Page<OrderResponse> page = result.getFirst();
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(response -> response.orderItems().size()).containsExactly(1, 5);
+        OrderItemResponse item = page.getContent().getFirst().orderItems().getFirst();
+        assertThat(item.productName()).isEqualTo("상품8");
+        assertThat(page.getContent().get(1).totalPrice()).isEqualTo(1003 + 1004 + 1005 + 1006 + 1007);
+    }
+
+    private Order placeOrder(List<Product> lines) {
+        List<Map<String, Object>> items = lines.stream()
+                .map(product -> Map.<String, Object>of("productId", product.getId(), "quantity", 1))
+                .toList();
+        OrderRequest request = objectMapper.convertValue(Map.of("orderItems", items), OrderRequest.class);
+
+        Order order = orderService.createOrder(request, entityManager.find(User.class, buyer.getId()));
+        entityManager.flush();
+        return order;
+    }
+
+    // 실행된 JDBC 구문 수 (배치는 한 번으로 계산)
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        long before = JdbcRoundTripCounter.COUNT.get();
+        action.run();
+        return JdbcRoundTripCounter.COUNT.get() - before;
+    }
+
+    public static class JdbcRoundTripCounter extends BaseSessionEventListener {
+        static final AtomicLong COUNT = new AtomicLong();
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            COUNT.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            COUNT.incrementAndGet();
+        }
+    }
+
+    private User persistUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@shop.com")
+                .role("USER")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,176 @@
+package com.shop.backend.service;
+
+import com.shop.backend.config.IdGeneratorInitializer;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.repository.UserRepository;
+import com.shop.backend.response.ProductImportResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 배치마다 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.product-import.batch-size=100"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProductImportService.class, IdGeneratorInitializer.class})
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        seller = userRepository.save(User.builder()
+                .username("seller")
+                .password("password")
+                .email("seller@shop.com")
+                .role("USER")
+                .build());
+    }
+
+    // 엔티티 리스너(사용자 캐시 무효화)를 거치지 않도록 SQL로 지운다
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void importCsv_insertsValidRowsAndReportsInvalidOnes() {
+        String csv = """
+                name,price,stock,category,description
+                "무선 이어폰, 화이트",39000,10,electronics,"줄바꿈이
+                있는 설명"
+                ,1000,1,etc,이름 없음
+                키보드,-5,1,electronics,
+                "따옴표 ""특가"" 마우스",15000,3,electronics,
+                """;
+
+        ProductImportResponse result = productImportService.importProducts(stream(csv), ProductImportService.Format.CSV, seller);
+
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getProcessedRows()).isEqualTo(4);
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ProductImportResponse.RowError::getLine).containsExactly(4L, 5L);
+        assertThat(productRepository.findAll()).extracting(Product::getName)
+                .containsExactlyInAnyOrder("무선 이어폰, 화이트", "따옴표 \"특가\" 마우스");
+        assertThat(productRepository.findAll()).extracting(Product::getDescription).contains("줄바꿈이\n있는 설명");
+    }
+
+    @Test
+    void importJsonLines_insertsValidRowsAndReportsInvalidOnes() {
+        String jsonLines = """
+                {"name": "텀블러", "price": 12000, "stock": 5, "category": "kitchen"}
+                {"name": "머그컵", "price": "8000", "stock": 2, "category": "kitchen", "thumbnail": "https://images.test/mug.jpg"}
+                {"name": "접시", "price": 1.5, "stock": 1, "category": "kitchen"}
+                not json
+                """;
+
+        ProductImportResponse result = productImportService.importProducts(stream(jsonLines), ProductImportService.Format.JSONL, seller);
+
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getFailedRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ProductImportResponse.RowError::getLine).containsExactly(3L, 4L);
+        assertThat(productImportService.findImport(result.getImportId(), seller).getStatus()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void importCsv_allocatesIdsThatDoNotCollideWithEntityInserts() {
+        Product before = productRepository.save(product("등록 상품 1"));
+
+        StringBuilder csv = new StringBuilder("name,price,stock,category\n");
+        for (int i = 0; i < 250; i++) {
+            csv.append("상품").append(i).append(",1000,1,etc\n");
+        }
+        ProductImportResponse result = productImportService.importProducts(stream(csv.toString()), ProductImportService.Format.CSV, seller);
+        Product after = productRepository.save(product("등록 상품 2"));
+
+        assertThat(result.getImportedRows()).isEqualTo(250);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM products", Long.class);
+        Set<Long> distinct = new HashSet<>(ids);
+        assertThat(distinct).hasSize(252).contains(before.getId(), after.getId());
+    }
+
+    @Test
+    void importsInterleavedWithEntitySaves_neverReuseIds() {
+        // 등록과 가져오기가 번갈아 할당 블록(100개)을 끝까지 쓰고 경계를 여러 번 넘는다
+        // (블록의 마지막 id를 등록이 쓰는 시점에 가져오기 블록의 첫 id와 겹치는지 확인)
+        int savesPerRound = Product.ID_ALLOCATION_SIZE / 2 + 10;
+        int rowsPerImport = Product.ID_ALLOCATION_SIZE / 2 + 7;
+        for (int round = 0; round < 4; round++) {
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < savesPerRound; i++) {
+                products.add(product("등록 상품 " + round + "-" + i));
+            }
+            productRepository.saveAll(products);
+
+            StringBuilder csv = new StringBuilder("name,price,stock,category\n");
+            for (int i = 0; i < rowsPerImport; i++) {
+                csv.append("상품").append(round).append('-').append(i).append(",1000,1,etc\n");
+            }
+            ProductImportResponse result = productImportService.importProducts(
+                    stream(csv.toString()), ProductImportService.Format.CSV, seller);
+            assertThat(result.getImportedRows()).isEqualTo(rowsPerImport);
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class))
+                .isEqualTo(4 * (savesPerRound + rowsPerImport));
+    }
+
+    @Test
+    void importCsv_failsWhenRequiredColumnIsMissing() {
+        ProductImportResponse result = productImportService.importProducts(
+                stream("name,price\n상품,1000\n"), ProductImportService.Format.CSV, seller);
+
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getMessage()).contains("stock", "category");
+        assertThat(result.getImportedRows()).isZero();
+    }
+
+    private Product product(String name) {
+        return Product.builder()
+                .name(name)
+                .price(1000)
+                .stock(1)
+                .category("etc")
+                .createdBy(seller)
+                .build();
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+package com.shop.backend.service;
+
+import com.shop.backend.config.IdGeneratorInitializer;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.Review;
+import com.shop.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// 재계산이 상품 ID 범위마다 별도 트랜잭션으로 실행되는지 확인하기 위해 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductRatingService.class, IdGeneratorInitializer.class})
+class ProductRatingServiceTest {
+
+    @Autowired
+    private ProductRatingService productRatingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 상품 0: 5점, 3점 / 상품 1: 4점 / 상품 2: 리뷰 없음
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = User.builder().username("reviewer").password("password").email("reviewer@shop.com").role("USER").build();
+            entityManager.persist(user);
+            for (int i = 0; i < 3; i++) {
+                Product product = Product.builder().name("상품" + i).price(1000).stock(10).category("etc").createdBy(user).build();
+                entityManager.persist(product);
+                productIds.add(product.getId());
+            }
+            persistReview(user, 0, 5);
+            persistReview(user, 0, 3);
+            persistReview(user, 1, 4);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM reviews");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void rebuildAll_restoresAggregatesFromReviews() {
+        jdbcTemplate.update("UPDATE products SET rating_count = 7, rating_sum = 30, rating_5 = 7");
+
+        productRatingService.rebuildAll();
+
+        assertThat(aggregate(0)).containsExactly(2L, 8L, 0L, 0L, 1L, 0L, 1L);
+        assertThat(aggregate(1)).containsExactly(1L, 4L, 0L, 0L, 0L, 1L, 0L);
+        assertThat(aggregate(2)).containsExactly(0L, 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    void backfillIfEmpty_fillsAggregatesOnlyWhenAllAreEmpty() {
+        // 집계가 하나라도 있으면 건드리지 않는다
+        jdbcTemplate.update("UPDATE products SET rating_count = 1, rating_sum = 1, rating_1 = 1 WHERE id = ?", productIds.get(2));
+        productRatingService.backfillIfEmpty();
+        await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(2))
+                .until(() -> aggregate(0).getFirst() == 0L);
+
+        // 배포 직후처럼 모두 비어 있으면 리뷰로 채운다
+        jdbcTemplate.update("UPDATE products SET rating_count = 0, rating_sum = 0, rating_1 = 0");
+        productRatingService.backfillIfEmpty();
+        await().atMost(Duration.ofSeconds(5)).until(() -> aggregate(0).getFirst() == 2L);
+        assertThat(aggregate(1)).containsExactly(1L, 4L, 0L, 0L, 0L, 1L, 0L);
+    }
+
+    private void persistReview(User user, int productIndex, int rating) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setProduct(entityManager.find(Product.class, productIds.get(productIndex)));
+        review.setContent("리뷰");
+        review.setRating(rating);
+        entityManager.persist(review);
+    }
+
+    private List<Long> aggregate(int productIndex) {
+        return jdbcTemplate.queryForObject("SELECT rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5 " +
+                        "FROM products WHERE id = ?",
+                (rs, rowNum) -> {
+                    List<Long> values = new ArrayList<>();
+                    for (int i = 1; i <= 7; i++) {
+                        values.add(rs.getLong(i));
+                    }
+                    return values;
+                },
+                productIds.get(productIndex));
+    }
+}
@@ -0,0 +1,176 @@
+package com.shop.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.backend.config.IdGeneratorInitializer;
+import com.shop.backend.dto.ReviewRequest;
+import com.shop.backend.entity.Order;
+import com.shop.backend.entity.OrderItem;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.Review;
+import com.shop.backend.entity.User;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.response.ReviewResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.BaseSessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session.events.auto=com.shop.backend.service.ReviewServiceTest$JdbcRoundTripCounter"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ReviewService.class, ProductRatingService.class, DomainEventBus.class, SimpleMeterRegistry.class, IdGeneratorInitializer.class})
+class ReviewServiceTest {
+
+    private static final int REVIEWERS = 24;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User seller;
+    private Product product;
+    private List<User> reviewers;
+
+    // 리뷰 작성자마다 (구매 여부 저장 / 이전 데이터면서 구매함 / 이전 데이터면서 구매하지 않음)을 돌아가며 둔다
+    @BeforeEach
+    void setUp() {
+        seller = persistUser("seller");
+        product = Product.builder()
+                .name("무선 이어폰")
+                .price(39000)
+                .stock(100)
+                .category("electronics")
+                .createdBy(seller)
+                .build();
+        entityManager.persist(product);
+
+        reviewers = new ArrayList<>();
+        for (int i = 0; i < REVIEWERS; i++) {
+            User reviewer = persistUser("reviewer" + i);
+            reviewers.add(reviewer);
+            Boolean stored = i % 3 == 0 ? Boolean.TRUE : null;
+            if (i % 3 != 2) {
+                entityManager.persist(Order.createOrder(reviewer, List.of(OrderItem.createReservedOrderItem(product, 1))));
+            }
+            persistReview(reviewer, "리뷰" + i, stored);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getReviewsByProduct_issuesConstantStatementCountRegardlessOfPageSize() {
+        List<Page<ReviewResponse>> pages = new ArrayList<>();
+
+        long small = countStatements(() -> pages.add(reviewService.getReviewsByProduct(product.getId(), page(4))));
+        long large = countStatements(() -> pages.add(reviewService.getReviewsByProduct(product.getId(), page(12))));
+
+        // 상품 존재 확인 + 리뷰 행 + COUNT + 이전 리뷰 작성자들의 구매 여부 한 번
+        assertThat(small).isEqualTo(4);
+        assertThat(large).isEqualTo(small);
+        assertThat(pages.get(1).getContent()).hasSize(12);
+    }
+
+    @Test
+    void getReviewsByProduct_usesStoredFlagAndChecksOrdersOnlyForLegacyReviews() {
+        Page<ReviewResponse> page = reviewService.getReviewsByProduct(product.getId(), page(REVIEWERS));
+
+        assertThat(page.getContent()).hasSize(REVIEWERS);
+        for (ReviewResponse review : page.getContent()) {
+            int index = Integer.parseInt(review.getContent().substring("리뷰".length()));
+            assertThat(review.isPurchased()).as(review.getContent()).isEqualTo(index % 3 != 2);
+        }
+    }
+
+    @Test
+    void createReview_storesVerifiedPurchaseForBuyerAndRejectsOthers() {
+        User buyer = persistUser("buyer");
+        User stranger = persistUser("stranger");
+        entityManager.persist(Order.createOrder(buyer, List.of(OrderItem.createReservedOrderItem(product, 1))));
+        entityManager.flush();
+
+        ReviewResponse response = reviewService.createReview(product.getId(), request("좋아요", 5), buyer);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(response.isPurchased()).isTrue();
+        assertThat(entityManager.find(Review.class, response.getReviewId()).getVerifiedPurchase()).isTrue();
+        assertThatThrownBy(() -> reviewService.createReview(product.getId(), request("별로", 1), stranger))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static PageRequest page(int size) {
+        return PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    private ReviewRequest request(String content, int rating) {
+        return objectMapper.convertValue(Map.of("content", content, "rating", rating), ReviewRequest.class);
+    }
+
+    // 실행된 JDBC 구문 수 (배치는 한 번으로 계산)
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        long before = JdbcRoundTripCounter.COUNT.get();
+        action.run();
+        return JdbcRoundTripCounter.COUNT.get() - before;
+    }
+
+    public static class JdbcRoundTripCounter extends BaseSessionEventListener {
+        static final AtomicLong COUNT = new AtomicLong();
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            COUNT.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            COUNT.incrementAndGet();
+        }
+    }
+
+    private void persistReview(User user, String content, Boolean verifiedPurchase) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setProduct(product);
+        review.setContent(content);
+        review.setRating(4);
+        review.setVerifiedPurchase(verifiedPurchase);
+        entityManager.persist(review);
+    }
+
+    private User persistUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@shop.com")
+                .role("USER")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,179 @@
+package com.shop.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.backend.entity.Order;
+import com.shop.backend.entity.OrderItem;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.event.DomainEventBus;
+import com.shop.backend.event.OrderPlacedEvent;
+import com.shop.backend.response.ProductSalesResponse;
+import com.shop.backend.response.SalesSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({SalesRollupService.class, SalesAnalyticsService.class, DomainEventBus.class, SimpleMeterRegistry.class})
+class SalesRollupServiceTest {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User seller;
+    private User buyer;
+    private Product earphone;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        seller = persistUser("seller");
+        buyer = persistUser("buyer");
+        earphone = persistProduct("무선 이어폰", 39000);
+        mouse = persistProduct("마우스", 15000);
+    }
+
+    @Test
+    void flush_addsOrderDeltasToDailyRollups() {
+        placeOrder(OrderItem.createReservedOrderItem(earphone, 2), OrderItem.createReservedOrderItem(mouse, 1));
+        placeOrder(OrderItem.createReservedOrderItem(mouse, 3));
+
+        salesRollupService.flush();
+        placeOrder(OrderItem.createReservedOrderItem(earphone, 1)); // 이미 있는 집계 행에 더해진다
+        salesRollupService.flush();
+
+        LocalDate today = LocalDate.now();
+        SalesSummaryResponse sales = salesAnalyticsService.getSales(seller.getId(), today.minusDays(6), today);
+        assertThat(sales.getDaily()).hasSize(7);
+        assertThat(sales.getUnits()).isEqualTo(7);
+        assertThat(sales.getRevenue()).isEqualTo(39000 * 3 + 15000 * 4);
+        assertThat(sales.getOrderCount()).isEqualTo(3);
+        assertThat(sales.getDaily().getFirst().getRevenue()).isZero();
+
+        List<ProductSalesResponse> byUnits = salesAnalyticsService.getTopProducts(
+                seller.getId(), today, today, SalesAnalyticsService.Ranking.UNITS, 10);
+        assertThat(byUnits).extracting(ProductSalesResponse::getProductName).containsExactly("마우스", "무선 이어폰");
+        assertThat(byUnits.getFirst().getOrderCount()).isEqualTo(2);
+        List<ProductSalesResponse> byRevenue = salesAnalyticsService.getTopProducts(
+                seller.getId(), today, today, SalesAnalyticsService.Ranking.REVENUE, 1);
+        assertThat(byRevenue).extracting(ProductSalesResponse::getProductName).containsExactly("무선 이어폰");
+
+        assertThat(salesAnalyticsService.getSales(buyer.getId(), null, null).getRevenue()).isZero();
+    }
+
+    @Test
+    void rebuild_recomputesFromOrdersWithoutCountingPendingDeltasTwice() {
+        placeOrder(OrderItem.createReservedOrderItem(earphone, 2), OrderItem.createReservedOrderItem(mouse, 1));
+        salesRollupService.flush();
+        placeOrder(OrderItem.createReservedOrderItem(earphone, 1)); // 아직 반영되지 않은 증분
+        // 증분 반영 누락으로 어긋난 집계
+        entityManager.createNativeQuery("UPDATE seller_daily_sales SET revenue = 1").executeUpdate();
+
+        LocalDate today = LocalDate.now();
+        salesRollupService.rebuild(today, today);
+        salesRollupService.flush();
+
+        SalesSummaryResponse sales = salesAnalyticsService.getSales(seller.getId(), today, today);
+        assertThat(sales.getUnits()).isEqualTo(4);
+        assertThat(sales.getRevenue()).isEqualTo(39000 * 3 + 15000);
+        assertThat(sales.getOrderCount()).isEqualTo(2);
+        SalesSummaryResponse earphoneSales = salesAnalyticsService.getProductSales(seller.getId(), earphone.getId(), today, today);
+        assertThat(earphoneSales.getUnits()).isEqualTo(3);
+        assertThat(earphoneSales.getOrderCount()).isEqualTo(2);
+    }
+
+    @Test
+    void backfill_leavesTodayToDeltas() {
+        Order yesterdayOrder = persistOrder(OrderItem.createReservedOrderItem(mouse, 1));
+        entityManager.createNativeQuery("UPDATE orders SET order_date = ? WHERE id = ?")
+                .setParameter(1, LocalDate.now().minusDays(1).atTime(12, 0))
+                .setParameter(2, yesterdayOrder.getId())
+                .executeUpdate();
+        // 커밋은 끝났지만 증분(커밋 이후 이벤트)은 backfill이 원본을 읽은 뒤에 도착하는 오늘 주문
+        Order todayOrder = persistOrder(OrderItem.createReservedOrderItem(earphone, 2));
+
+        salesRollupService.backfill();
+        salesRollupService.onOrderPlaced(OrderPlacedEvent.of(todayOrder));
+        salesRollupService.flush();
+
+        LocalDate today = LocalDate.now();
+        SalesSummaryResponse todaySales = salesAnalyticsService.getSales(seller.getId(), today, today);
+        assertThat(todaySales.getUnits()).isEqualTo(2);
+        assertThat(todaySales.getOrderCount()).isEqualTo(1);
+        SalesSummaryResponse yesterdaySales = salesAnalyticsService.getSales(seller.getId(), today.minusDays(1), today.minusDays(1));
+        assertThat(yesterdaySales.getUnits()).isEqualTo(1);
+        assertThat(yesterdaySales.getRevenue()).isEqualTo(15000);
+    }
+
+    @Test
+    void orderPlacedEvent_canBeRedeliveredFromOutbox() throws Exception {
+        OrderPlacedEvent event = OrderPlacedEvent.of(persistOrder(
+                OrderItem.createReservedOrderItem(earphone, 2), OrderItem.createReservedOrderItem(mouse, 1)));
+
+        // 아웃박스에는 JSON으로 저장되므로 다시 읽은 이벤트로도 같은 증분이 나와야 한다
+        OrderPlacedEvent redelivered = objectMapper.readValue(objectMapper.writeValueAsString(event), OrderPlacedEvent.class);
+        assertThat(redelivered).isEqualTo(event);
+
+        salesRollupService.onOrderPlaced(redelivered);
+        salesRollupService.flush();
+
+        LocalDate today = LocalDate.now();
+        assertThat(salesAnalyticsService.getSales(seller.getId(), today, today).getRevenue()).isEqualTo(39000 * 2 + 15000);
+    }
+
+    // 주문을 저장하고 커밋 이후 이벤트가 전달된 것처럼 집계 서비스에 알린다
+    private void placeOrder(OrderItem... items) {
+        salesRollupService.onOrderPlaced(OrderPlacedEvent.of(persistOrder(items)));
+    }
+
+    private Order persistOrder(OrderItem... items) {
+        Order order = Order.createOrder(buyer, List.of(items));
+        entityManager.persist(order);
+        entityManager.flush();
+        return order;
+    }
+
+    private Product persistProduct(String name, int price) {
+        Product product = Product.builder()
+                .name(name)
+                .price(price)
+                .stock(10)
+                .category("electronics")
+                .createdBy(seller)
+                .build();
+        entityManager.persist(product);
+        return product;
+    }
+
+    private User persistUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@shop.com")
+                .role("USER")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
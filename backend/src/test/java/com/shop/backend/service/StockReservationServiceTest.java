@@ -0,0 +1,148 @@
+package com.shop.backend.service;
+
+import com.shop.backend.config.IdGeneratorInitializer;
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.event.ProductChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 주문 트랜잭션 커밋/롤백 후 처리를 확인하기 위해 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.stock-reservation.flush-interval-ms=3600000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({StockReservationService.class, IdGeneratorInitializer.class})
+class StockReservationServiceTest {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        productId = transactionTemplate.execute(status -> {
+            User seller = User.builder().username("seller").password("password").email("seller@shop.com").role("USER").build();
+            entityManager.persist(seller);
+            Product product = Product.builder().name("상품").price(1000).stock(10).category("etc").createdBy(seller).build();
+            entityManager.persist(product);
+            return product.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM pending_stock_decrements");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void sellerStockUpdate_keepsPendingDecrementsAndInFlightReservations() {
+        order(3, true); // 확정되었지만 아직 DB에 반영되지 않은 차감 3
+
+        // 2개를 선점한 주문이 끝나기 전에 판매자가 재고를 20으로 수정한다
+        transactionTemplate.executeWithoutResult(status -> {
+            stockReservationService.reserve(Map.of(productId, 2));
+            TransactionTemplate sellerTransaction = new TransactionTemplate(transactionManager);
+            sellerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            sellerTransaction.executeWithoutResult(s -> jdbcTemplate.update("UPDATE products SET stock = 20 WHERE id = ?", productId));
+            stockReservationService.onProductChanged(new ProductChangedEvent(productId, ProductChangedEvent.Type.UPDATED, null, null));
+        });
+        order(1, false); // 새 카운터에서 선점했다가 롤백
+
+        stockReservationService.flush();
+        assertThat(dbStock()).isEqualTo(15); // 20 - 3 - 2
+
+        // 카운터도 DB와 같은 15개만 팔 수 있다
+        order(15, true);
+        assertThatThrownBy(() -> order(1, true)).isInstanceOf(IllegalStateException.class);
+        stockReservationService.flush();
+        assertThat(dbStock()).isZero();
+    }
+
+    @Test
+    void lateReleaseAfterRefresh_doesNotInflateNewCounter() {
+        order(1, true); // 카운터를 만들어 둔다
+
+        // 선점한 주문이 롤백되기 전에 카운터가 다시 채워진다
+        transactionTemplate.executeWithoutResult(status -> {
+            stockReservationService.reserve(Map.of(productId, 4));
+            stockReservationService.onProductChanged(new ProductChangedEvent(productId, ProductChangedEvent.Type.UPDATED, null, null));
+            status.setRollbackOnly();
+        });
+
+        // DB 10 - 대기 1 = 9개만 남아 있어야 한다 (해제된 4개가 새 카운터에 더해지면 13개)
+        order(9, true);
+        assertThatThrownBy(() -> order(1, true)).isInstanceOf(IllegalStateException.class);
+        stockReservationService.flush();
+        assertThat(dbStock()).isZero();
+    }
+
+    @Test
+    void committedDecrement_isAppliedOnRestartWhenProcessDiesBeforeFlush() {
+        order(3, true); // 주문은 커밋되었지만 아직 products.stock에는 반영되지 않았다
+        assertThat(dbStock()).isEqualTo(10);
+
+        // 재시작: 새 인스턴스가 요청을 받기 전에 남은 기록을 반영한다
+        StockReservationService restarted = new StockReservationService(
+                null, jdbcTemplate, event -> { }, transactionManager, true, "none");
+        restarted.recover();
+        assertThat(dbStock()).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pending_stock_decrements", Integer.class)).isZero();
+
+        // 새 카운터도 7개만 팔 수 있다
+        assertThatThrownBy(() -> restarted.reserve(Map.of(productId, 8))).isInstanceOf(IllegalStateException.class);
+        restarted.reserve(Map.of(productId, 7));
+    }
+
+    @Test
+    void relayClusterMode_refusesInMemoryReservation() {
+        // 인스턴스마다 카운터를 가지면 같은 재고를 중복으로 팔 수 있다
+        assertThatThrownBy(() -> new StockReservationService(null, jdbcTemplate, event -> { }, transactionManager, true, "relay"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(new StockReservationService(null, jdbcTemplate, event -> { }, transactionManager, false, "relay").isEnabled()).isFalse();
+    }
+
+    private void order(int quantity, boolean commit) {
+        transactionTemplate.executeWithoutResult(status -> {
+            stockReservationService.reserve(Map.of(productId, quantity));
+            if (!commit) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private int dbStock() {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
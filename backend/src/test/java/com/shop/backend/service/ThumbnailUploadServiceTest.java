@@ -0,0 +1,273 @@
+package com.shop.backend.service;
+
+import com.shop.backend.entity.Product;
+import com.shop.backend.entity.User;
+import com.shop.backend.event.ProductChangedEvent;
+import com.shop.backend.exception.ThumbnailUploadBusyException;
+import com.shop.backend.repository.ProductRepository;
+import com.shop.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// 업로드 작업 스레드가 커밋된 상품을 읽고 고쳐야 하므로 테스트 트랜잭션 없이 실행한다
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.thumbnail.retry-backoff-ms=10",
+        "app.thumbnail.workers=1",
+        "app.thumbnail.queue-capacity=2",
+        "app.thumbnail.temp-dir=${java.io.tmpdir}/shop-thumbnails-test"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ThumbnailUploadService.class, ImageResizer.class, FakeImageUploader.class, SimpleMeterRegistry.class,
+        ThumbnailUploadServiceTest.ProductEventRecorder.class})
+class ThumbnailUploadServiceTest {
+
+    @Autowired
+    private ThumbnailUploadService thumbnailUploadService;
+
+    @Autowired
+    private FakeImageUploader imageUploader;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductEventRecorder productEvents;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        imageUploader.reset();
+        productEvents.events.clear();
+        seller = userRepository.save(User.builder()
+                .username("seller")
+                .password("password")
+                .email("seller@shop.com")
+                .role("USER")
+                .build());
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 엔티티 리스너(사용자 캐시 무효화)를 거치지 않도록 SQL로 지운다
+    @AfterEach
+    void tearDown() {
+        imageUploader.release();
+        jdbcTemplate.update("DELETE FROM pending_thumbnail_uploads");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void schedule_uploadsSameImageOnceAndPatchesEveryProduct() {
+        Product first = saveProduct("상품1");
+        Product second = saveProduct("상품2");
+
+        thumbnailUploadService.schedule(first.getId(), thumbnailUploadService.stage(image("same image")));
+        thumbnailUploadService.schedule(second.getId(), thumbnailUploadService.stage(image("same image")));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(thumbnailOf(first)).startsWith("https://images.test/");
+            assertThat(thumbnailOf(second)).startsWith("https://images.test/");
+        });
+        assertThat(imageUploader.getUploadedIds()).hasSize(1);
+        assertThat(thumbnailOf(first)).isEqualTo(thumbnailOf(second));
+    }
+
+    @Test
+    void schedule_announcesThumbnailChangeOnly() {
+        Product product = saveProduct("상품");
+
+        thumbnailUploadService.schedule(product.getId(), thumbnailUploadService.stage(image("announced image")));
+
+        // 수정(UPDATED)으로 알리면 재고 카운터가 다시 채워지고 검색 색인이 다시 읽히므로 썸네일 변경으로만 알린다
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(productEvents.events).extracting(ProductChangedEvent::type)
+                        .containsExactly(ProductChangedEvent.Type.THUMBNAIL_CHANGED));
+        assertThat(productEvents.events.get(0).productId()).isEqualTo(product.getId());
+    }
+
+    @Test
+    void discard_deletesStagedFile() {
+        ThumbnailUploadService.StagedImage staged = thumbnailUploadService.stage(image("discarded image"));
+
+        thumbnailUploadService.discard(staged);
+
+        assertThat(Files.exists(staged.file())).isFalse();
+    }
+
+    @Test
+    void schedule_retriesFailedUpload() {
+        Product product = saveProduct("상품");
+        imageUploader.failNext(2);
+
+        ThumbnailUploadService.StagedImage staged = thumbnailUploadService.stage(image("retried image"));
+        thumbnailUploadService.schedule(product.getId(), staged);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(thumbnailOf(product)).startsWith("https://images.test/"));
+        assertThat(imageUploader.getAttempts()).isEqualTo(3);
+        assertThat(Files.exists(staged.file())).isFalse();
+    }
+
+    @Test
+    void schedule_appliesOnlyLatestUploadForProduct() {
+        Product product = saveProduct("상품");
+
+        ThumbnailUploadService.StagedImage older = thumbnailUploadService.stage(image("older image"));
+        ThumbnailUploadService.StagedImage newer = thumbnailUploadService.stage(image("newer image"));
+        thumbnailUploadService.schedule(product.getId(), older);
+        thumbnailUploadService.schedule(product.getId(), newer);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(thumbnailOf(product)).contains(newer.contentHash());
+            assertThat(Files.exists(older.file())).isFalse(); // 밀려난 업로드도 끝나면 임시 파일을 지운다
+        });
+    }
+
+    @Test
+    void schedule_storesResizedVariantsNarrowerThanOriginal() throws Exception {
+        Product product = saveProduct("상품");
+
+        thumbnailUploadService.schedule(product.getId(), thumbnailUploadService.stage(png(800, 600)));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(productRepository.findById(product.getId()).orElseThrow().getThumbnailVariants())
+                        .containsOnlyKeys(160, 320, 640));
+        assertThat(imageUploader.getUploadedIds()).hasSize(4);
+    }
+
+    @Test
+    void resumePending_reuploadsRecordedUploadLeftByPreviousRun() throws Exception {
+        Product product = saveProduct("상품");
+
+        // 이전 실행이 예약만 기록하고 업로드 전에 죽었다
+        ThumbnailUploadService.StagedImage staged = thumbnailUploadService.stage(image("crashed image"));
+        jdbcTemplate.update(
+                "INSERT INTO pending_thumbnail_uploads (product_id, content_hash, file_path, created_at) VALUES (?, ?, ?, ?)",
+                product.getId(), staged.contentHash(), staged.file().toAbsolutePath().toString(), Timestamp.valueOf(LocalDateTime.now()));
+        Path stray = Files.createTempFile(staged.file().getParent(), "thumbnail-", ".upload");
+
+        // 다시 시작하면 기록된 임시 파일은 남기고 이어서 올린다
+        thumbnailUploadService.start();
+        assertThat(Files.exists(stray)).isFalse();
+        assertThat(Files.exists(staged.file())).isTrue();
+
+        thumbnailUploadService.resumePending();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(thumbnailOf(product)).contains(staged.contentHash()));
+        assertThat(pendingUploads()).isZero();
+        assertThat(Files.exists(staged.file())).isFalse();
+    }
+
+    @Test
+    void stage_rejectsWhenQueueIsFull_andDeferredUploadIsResumedLater() {
+        Product running = saveProduct("업로드 중");
+        Product queued = saveProduct("대기 중");
+        Product queuedToo = saveProduct("대기 중 2");
+        Product deferred = saveProduct("밀려남");
+        ThumbnailUploadService.StagedImage late = thumbnailUploadService.stage(image("late image"));
+
+        imageUploader.hold();
+        thumbnailUploadService.schedule(running.getId(), thumbnailUploadService.stage(image("running image")));
+        await().atMost(Duration.ofSeconds(5)).until(() -> imageUploader.getAttempts() == 1);
+        thumbnailUploadService.schedule(queued.getId(), thumbnailUploadService.stage(image("queued image")));
+        thumbnailUploadService.schedule(queuedToo.getId(), thumbnailUploadService.stage(image("queued image 2")));
+
+        // 대기열이 가득 차면 요청 스레드에서 올리지 않고 거절한다 (상품을 저장하기 전)
+        assertThatThrownBy(() -> thumbnailUploadService.stage(image("rejected image")))
+                .isInstanceOf(ThumbnailUploadBusyException.class);
+
+        // 커밋 뒤에 대기열에 넣지 못한 업로드는 기록과 임시 파일을 남겨 둔다
+        thumbnailUploadService.schedule(deferred.getId(), late);
+        assertThat(thumbnailOf(deferred)).isEqualTo(thumbnailUploadService.getPendingUrl());
+        assertThat(Files.exists(late.file())).isTrue();
+
+        imageUploader.release();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(thumbnailOf(running)).startsWith("https://images.test/");
+            assertThat(thumbnailOf(queued)).startsWith("https://images.test/");
+            assertThat(thumbnailOf(queuedToo)).startsWith("https://images.test/");
+        });
+        assertThat(pendingUploads()).isEqualTo(1);
+
+        thumbnailUploadService.resumePending();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(thumbnailOf(deferred)).contains(late.contentHash()));
+        assertThat(pendingUploads()).isZero();
+    }
+
+    private int pendingUploads() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pending_thumbnail_uploads", Integer.class);
+    }
+
+    private Product saveProduct(String name) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(1000)
+                .stock(10)
+                .category("etc")
+                .thumbnail(thumbnailUploadService.getPendingUrl())
+                .createdBy(seller)
+                .build());
+    }
+
+    private String thumbnailOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getThumbnail();
+    }
+
+    private MockMultipartFile png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("thumbnail", "thumbnail.png", "image/png", out.toByteArray());
+    }
+
+    private MockMultipartFile image(String content) {
+        return new MockMultipartFile("thumbnail", "thumbnail.jpg", "image/jpeg", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 업로드 작업 스레드에서 발행되는 상품 변경 이벤트를 모은다
+    static class ProductEventRecorder {
+        final List<ProductChangedEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onProductChanged(ProductChangedEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import { createContext, useState, useContext, useMemo, useCallback } from 'react';
 import { useAuth } from './AuthContext';
 import { useNotifications } from '../hooks/useNotifications';
+import api from '../api/config';
 
 const NotificationContext = createContext();
 
@@ -9,12 +10,12 @@ export function NotificationProvider({ children }) {
     const { user } = useAuth();
 
     const addNotification = useCallback((newNotification) => {
-        const notificationWithMeta = { 
-            ...newNotification, 
-            id: Date.now(), // 고유 ID 부여
-            read: false // 초기 '읽지 않음' 상태
-        };
-        setNotifications((prev) => [notificationWithMeta, ...prev]);
+        // 서버 알림함의 ID를 그대로 쓴다 (재접속 시 다시 받은 알림은 한 번만 보여준다)
+        setNotifications((prev) =>
+            prev.some((n) => n.id === newNotification.id)
+                ? prev
+                : [{ ...newNotification, read: Boolean(newNotification.read) }, ...prev]
+        );
     }, []);
     
     // useNotifications 훅을 호출하고, 콜백으로 addNotification 함수를 전달합니다.
@@ -25,11 +26,16 @@ export function NotificationProvider({ children }) {
     }, []);
 
     const markAllAsRead = useCallback(() => {
+        const upToId = Math.max(0, ...notifications.map((n) => n.id));
         setNotifications((prev) => prev.map((n) => ({ 
           ...n, 
           read: true 
         })));
-    }, []);
+        // 서버에도 읽음 처리하여 다음 접속 때 다시 전달되지 않게 한다
+        api.post('/notifications/read', { upToId }).catch((error) => {
+            console.error('🔴 알림 읽음 처리 실패:', error);
+        });
+    }, [notifications]);
 
     const unreadCount = useMemo(
         () => notifications.filter((n) => !n.read).length,
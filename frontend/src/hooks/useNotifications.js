@@ -17,9 +17,11 @@ export const useNotifications = (onNotificationReceived) => {
             // 2. 구독 실행
             const subscription = stompClient.subscribe(personalTopic, (message) => {
                 try {
-                    const notification = JSON.parse(message.body);
+                    // 실시간 알림은 하나씩, 접속 시 읽지 않은 알림은 배열로 묶여서 온다
+                    const payload = JSON.parse(message.body);
+                    const notifications = Array.isArray(payload) ? payload : [payload];
                     if (typeof onNotificationReceived === 'function') {
-                        onNotificationReceived(notification);
+                        notifications.forEach(onNotificationReceived);
                     }
                 } catch (error) {
                     console.error('🔴 알림 메시지 파싱 중 오류 발생:', error);